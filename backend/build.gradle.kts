@@ -30,6 +30,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-oauth2-client")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.projectlombok:lombok")
 
     // ✅ Kotlin 관련 라이브러리
@@ -44,6 +45,7 @@ dependencies {
     // ✅ [Redis 관련 (Spring Data Redis)]
     implementation("org.springframework.boot:spring-boot-starter-data-redis") // Spring Data Redis
     implementation("org.redisson:redisson-spring-boot-starter:3.18.0") // Redisson (Redis 클라이언트)
+    implementation("com.github.ben-manes.caffeine:caffeine") // 로컬 캐시
 
 
     // ✅ API 문서화 (Swagger)
@@ -75,6 +77,8 @@ dependencies {
     testImplementation("org.springframework.security:spring-security-test")
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher") // JUnit 플랫폼 런처 추가
+    testImplementation("org.openjdk.jmh:jmh-core:1.37") // 파서 벤치마크 (-Dbenchmark=true)
+    testAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 
     // ✅ perplexity 사용하기 위함
     implementation(platform("org.springframework.ai:spring-ai-bom:1.0.0-SNAPSHOT")) // Spring AI BOM
@@ -97,4 +101,6 @@ allOpen {
 
 tasks.withType<Test> {
     useJUnitPlatform()
+    // 벤치마크 테스트는 -Dbenchmark=true 일 때만 실행되므로 테스트 JVM에 값을 넘김
+    systemProperty("benchmark", System.getProperty("benchmark") ?: "false")
 }
@@ -0,0 +1,19 @@
+package com.project.backend.domain.book.client
+
+import com.project.backend.domain.book.dto.BookDTOInterface
+import com.project.backend.domain.book.dto.KakaoDTO
+import com.project.backend.domain.book.dto.NaverDTO
+
+/**
+ * -- 외부 도서 API 제공자 --
+ *
+ * @param -- responseKey 응답 JSON에서 도서 배열이 담긴 필드 이름 --
+ * @param -- dtoType 도서 하나를 받는 DTO 타입 --
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+enum class ApiProvider(val responseKey: String, val dtoType: Class<out BookDTOInterface>) {
+    NAVER("items", NaverDTO::class.java),
+    KAKAO("documents", KakaoDTO::class.java)
+}
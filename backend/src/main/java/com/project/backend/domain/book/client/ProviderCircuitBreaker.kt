@@ -0,0 +1,188 @@
+package com.project.backend.domain.book.client
+
+import com.project.backend.domain.book.exception.BookErrorCode
+import com.project.backend.domain.book.exception.BookException
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import org.slf4j.LoggerFactory
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+/**
+ * -- API 제공자별 서킷 브레이커 --
+ * 최근 windowSize번의 호출 결과를 링 버퍼에 기록하고 minimumCalls 이상 호출된 상태에서
+ * 실패율이 failureRateThreshold(%) 이상이면 OPEN으로 바꿔 openDuration 동안 요청 없이 바로 실패시킨다
+ * openDuration이 지나면 HALF_OPEN에서 halfOpenCalls번만 시험 요청을 보내고 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ *
+ * 상태는 book.api.circuit.state 게이지(0 CLOSED, 1 OPEN, 2 HALF_OPEN)로,
+ * 호출 지연 시간은 book.api.request 타이머 히스토그램으로 /actuator/metrics에 노출된다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+class ProviderCircuitBreaker(
+    private val provider: ApiProvider,
+    private val windowSize: Int,
+    private val minimumCalls: Int,
+    private val failureRateThreshold: Int,
+    private val openDuration: Duration,
+    private val halfOpenCalls: Int,
+    private val meterRegistry: MeterRegistry
+) {
+    private val logger = LoggerFactory.getLogger(ProviderCircuitBreaker::class.java)
+
+    enum class State(val code: Int) { CLOSED(0), OPEN(1), HALF_OPEN(2) }
+
+    private var state = State.CLOSED
+    private val outcomes = BooleanArray(windowSize)
+    private var recorded = 0
+    private var failures = 0
+    private var cursor = 0
+    private var openedAt = 0L
+    private var halfOpenInFlight = 0
+    private var halfOpenSucceeded = 0
+
+    private val successTimer = requestTimer("success")
+    private val failureTimer = requestTimer("failure")
+
+    init {
+        Gauge.builder("book.api.circuit.state", this) { it.currentState().code.toDouble() }
+            .description("외부 도서 API 서킷 브레이커 상태 (0 CLOSED, 1 OPEN, 2 HALF_OPEN)")
+            .tag("provider", provider.name.lowercase())
+            .register(meterRegistry)
+    }
+
+    /**
+     * -- 서킷 브레이커 안에서 실행 메소드 --
+     * OPEN이면 요청 없이 API_CIRCUIT_OPEN 예외를 던지고 아니면 실행 결과와 지연 시간을 기록한다
+     *
+     * @param -- block 실행할 요청 --
+     * @return -- T 요청 결과 --
+     */
+    fun <T> execute(block: () -> T): T {
+        if (!tryAcquire()) {
+            reject()
+        }
+
+        val start = System.nanoTime()
+        try {
+            val result = block()
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS)
+            onResult(true)
+            return result
+        } catch (e: Throwable) {
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS)
+            onResult(false)
+            throw e
+        }
+    }
+
+    /**
+     * -- OPEN이면 바로 실패시키는 메소드 --
+     * 요청 제한기에서 기다리기 전에 호출하여 열린 서킷의 요청이 동시 실행 허가와 시작 시각을 차지하지 않게 한다
+     * 시험 요청 수는 차지하지 않으므로 HALF_OPEN 허가는 execute에서 받는다
+     */
+    fun rejectIfOpen() {
+        if (currentState() == State.OPEN) {
+            reject()
+        }
+    }
+
+    /**
+     * -- 현재 상태 조회 메소드 --
+     * OPEN 유지 시간이 지났으면 HALF_OPEN으로 본다
+     */
+    @Synchronized
+    fun currentState(): State {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDuration.toNanos()) {
+            transition(State.HALF_OPEN)
+        }
+        return state
+    }
+
+    private fun reject(): Nothing {
+        meterRegistry.counter("book.api.circuit.rejected", "provider", provider.name.lowercase()).increment()
+        throw BookException(BookErrorCode.API_CIRCUIT_OPEN)
+    }
+
+    @Synchronized
+    private fun tryAcquire(): Boolean {
+        return when (currentState()) {
+            State.CLOSED -> true
+            State.OPEN -> false
+            State.HALF_OPEN -> if (halfOpenInFlight + halfOpenSucceeded < halfOpenCalls) {
+                halfOpenInFlight++
+                true
+            } else {
+                false
+            }
+        }
+    }
+
+    @Synchronized
+    private fun onResult(success: Boolean) {
+        when (state) {
+            State.HALF_OPEN -> {
+                halfOpenInFlight = maxOf(0, halfOpenInFlight - 1)
+                if (!success) {
+                    transition(State.OPEN)
+                } else if (++halfOpenSucceeded >= halfOpenCalls) {
+                    transition(State.CLOSED)
+                }
+            }
+
+            State.CLOSED -> {
+                record(success)
+                if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+                    transition(State.OPEN)
+                }
+            }
+
+            State.OPEN -> {}
+        }
+    }
+
+    private fun record(success: Boolean) {
+        if (recorded == windowSize) {
+            if (!outcomes[cursor]) {
+                failures--
+            }
+        } else {
+            recorded++
+        }
+        outcomes[cursor] = success
+        if (!success) {
+            failures++
+        }
+        cursor = (cursor + 1) % windowSize
+    }
+
+    private fun transition(next: State) {
+        if (state == next) {
+            return
+        }
+        logger.warn("{} API 서킷 브레이커 {} -> {}", provider, state, next)
+
+        state = next
+        halfOpenInFlight = 0
+        halfOpenSucceeded = 0
+        when (next) {
+            State.OPEN -> openedAt = System.nanoTime()
+            State.CLOSED -> {
+                recorded = 0
+                failures = 0
+                cursor = 0
+            }
+            State.HALF_OPEN -> {}
+        }
+    }
+
+    private fun requestTimer(outcome: String): Timer =
+        Timer.builder("book.api.request")
+            .description("외부 도서 API 호출 지연 시간")
+            .tag("provider", provider.name.lowercase())
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+}
@@ -0,0 +1,40 @@
+package com.project.backend.domain.book.client
+
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * -- API 제공자별 요청 제한기 --
+ * 동시에 진행중인 요청 수는 Semaphore로, 초당 요청 수는 요청 시작 시각을 일정 간격으로 예약하는 방식으로 제한한다
+ * 가상 스레드에서 호출되므로 기다리는 동안 플랫폼 스레드를 점유하지 않는다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+class ProviderLimiter(maxConcurrency: Int, ratePerSecond: Int) {
+    private val permits = Semaphore(maxConcurrency, true)
+    private val intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond
+    private val nextSlot = AtomicLong(System.nanoTime())
+
+    /**
+     * -- 제한 안에서 실행 메소드 --
+     * 동시 실행 허가를 받은 뒤 예약된 시작 시각까지 기다렸다가 실행한다
+     *
+     * @param -- block 실행할 요청 --
+     * @return -- T 요청 결과 --
+     */
+    fun <T> execute(block: () -> T): T {
+        permits.acquire()
+        try {
+            val slot = nextSlot.getAndUpdate { maxOf(it, System.nanoTime()) + intervalNanos }
+            val wait = maxOf(slot, System.nanoTime()) - System.nanoTime()
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait)
+            }
+            return block()
+        } finally {
+            permits.release()
+        }
+    }
+}
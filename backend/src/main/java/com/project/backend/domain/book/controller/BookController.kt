@@ -1,8 +1,11 @@
 package com.project.backend.domain.book.controller
 
 import com.project.backend.domain.book.dto.BookDTO
+import com.project.backend.domain.book.dto.BookSearchResponseDTO
+import com.project.backend.domain.book.service.BookSearchService
 import com.project.backend.domain.book.service.BookService
 import com.project.backend.global.authority.CustomUserDetails
+import com.project.backend.global.pagination.CursorSliceDTO
 import com.project.backend.global.response.GenericResponse
 import io.swagger.v3.oas.annotations.Operation
 import io.swagger.v3.oas.annotations.security.SecurityRequirement
@@ -23,16 +26,21 @@ import org.springframework.web.bind.annotation.*
 @RestController
 @RequestMapping("/book")
 @SecurityRequirement(name = "bearerAuth")
-class BookController(private val bookService: BookService) {
+class BookController(
+    private val bookService: BookService,
+    private val bookSearchService: BookSearchService
+) {
 
     /**
      * -- 베스트셀러 반환 --
      * DB에서 yes24의 실시간 베스트셀러 정보 가져옴
      * 랭킹 1위부터 100까지 있음 1위부터 정렬되어 반환
      * DB 무결성 유지를 위해 isbn이 존재하지 않는 책은 반환하지 않음
+     * category를 지정하지 않으면 종합(001) 베스트셀러 반환
      *
      * @param -- page 페이지 --
      * @param -- size 한 페이지에 보여주는 책 수량 --
+     * @param -- category yes24 카테고리 번호 --
      * @return -- ResponseEntity<GenericResponse<Page<BookDTO>>> --
      * @author -- 정재익 --
      * @since -- 3월 01일 --
@@ -40,9 +48,10 @@ class BookController(private val bookService: BookService) {
     @GetMapping
     @Operation(summary = "베스트셀러")
     fun mainPage(@RequestParam(name = "page") page: Int = 0,
-                 @RequestParam(name = "size") size: Int = 49
+                 @RequestParam(name = "size") size: Int = 49,
+                 @RequestParam(name = "category", defaultValue = BookService.DEFAULT_BESTSELLER_CATEGORY) category: String
     ): ResponseEntity<GenericResponse<Page<BookDTO>>> {
-        val bestSellers = bookService.searchBestSellersDB(page, size)
+        val bestSellers = bookService.searchBestSellersDB(page, size, category)
         return ResponseEntity.ok(GenericResponse.of(bestSellers))
     }
 
@@ -65,10 +74,58 @@ class BookController(private val bookService: BookService) {
         @RequestParam(name = "page") page: Int = 0,
         @RequestParam(name = "size") size: Int = 10
     ): ResponseEntity<GenericResponse<Page<BookDTO>>> {
-        val books = bookService.searchBooks(query, page, size)
+        val books = bookSearchService.searchBooks(query, page, size)
         return ResponseEntity.ok(GenericResponse.of(books))
     }
 
+    /**
+     * -- 도서 통합 검색 (커서) --
+     * 페이지 번호 대신 이전 응답의 nextCursor로 다음 결과를 이어서 조회함
+     * 전체 개수를 세지 않으므로 깊은 페이지도 일정한 비용으로 조회됨
+     *
+     * @param -- query(검색어)
+     * @param -- cursor 이전 응답의 nextCursor, 첫 조회는 생략 --
+     * @param -- size 한 번에 보여주는 책 수량 (1 ~ CursorSliceDTO.MAX_SIZE로 맞춤) --
+     * @return -- ResponseEntity<GenericResponse<CursorSliceDTO<BookDTO>>> --
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @GetMapping("/search/cursor")
+    @Operation(summary = "도서 검색 (커서)")
+    fun searchBooksCursor(
+        @RequestParam(name = "query") query: String,
+        @RequestParam(name = "cursor", required = false) cursor: String?,
+        @RequestParam(name = "size") size: Int = 10
+    ): ResponseEntity<GenericResponse<CursorSliceDTO<BookDTO>>> {
+        val books = bookSearchService.searchBooksCursor(query, cursor, CursorSliceDTO.coerceSize(size))
+        return ResponseEntity.ok(GenericResponse.of(books))
+    }
+
+    /**
+     * -- 도서 통합 검색 (부분 결과) --
+     * DB의 전문검색 결과를 즉시 반환하고 네이버,카카오 API 보충은 백그라운드에서 진행함
+     * 보충이 진행중이면 partial = true로 응답하며 완료 후 재요청하거나 SSE search 이벤트를 받아 갱신할 수 있음
+     *
+     * @param -- query(검색어)
+     * @param -- page 페이지 --
+     * @param -- size 한 페이지에 보여주는 책 수량 --
+     * @param -- customUserDetails 로그인한 사용자 정보, 비로그인시 null --
+     * @return -- ResponseEntity<GenericResponse<BookSearchResponseDTO>> --
+     * @author -- 정재익 --
+     * @since -- 3월 12일 --
+     */
+    @GetMapping("/search/partial")
+    @Operation(summary = "도서 검색 (부분 결과)")
+    fun searchBooksPartial(
+        @RequestParam(name = "query") query: String,
+        @RequestParam(name = "page") page: Int = 0,
+        @RequestParam(name = "size") size: Int = 10,
+        @AuthenticationPrincipal customUserDetails: CustomUserDetails?
+    ): ResponseEntity<GenericResponse<BookSearchResponseDTO>> {
+        val result = bookSearchService.searchBooksPartial(query, page, size, customUserDetails?.username)
+        return ResponseEntity.ok(GenericResponse.of(result))
+    }
+
     /**
      * -- 도서 상세 검색 --
      * book isbn으로 DB의 정보를 가져옴
@@ -0,0 +1,97 @@
+package com.project.backend.domain.book.controller
+
+import com.project.backend.domain.book.crawling.CrawlingJobRunner
+import com.project.backend.domain.book.dto.CrawlJobStatusDTO
+import com.project.backend.domain.book.exception.BookErrorCode
+import com.project.backend.domain.book.exception.BookException
+import com.project.backend.global.authority.CustomUserDetails
+import com.project.backend.global.response.GenericResponse
+import io.swagger.v3.oas.annotations.Operation
+import io.swagger.v3.oas.annotations.security.SecurityRequirement
+import io.swagger.v3.oas.annotations.tags.Tag
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.http.HttpStatus
+import org.springframework.http.ResponseEntity
+import org.springframework.security.core.annotation.AuthenticationPrincipal
+import org.springframework.web.bind.annotation.*
+
+/**
+ * -- 크롤링 관리자 컨트롤러 --
+ * 앱을 재시작하지 않고 베스트셀러 재크롤링을 실행하고 진행 상황을 보거나 중단한다
+ * book.crawling.admin-usernames에 등록된 회원만 사용할 수 있다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Tag(name = "CrawlingAdminController", description = "크롤링 관리자 컨트롤러")
+@RestController
+@RequestMapping("/book/admin/crawling")
+@SecurityRequirement(name = "bearerAuth")
+class CrawlingAdminController(
+    private val crawlingJobRunner: CrawlingJobRunner,
+    @Value("\${book.crawling.admin-usernames:}") adminUsernames: List<String>
+) {
+    private val adminUsernames = adminUsernames.filter { it.isNotBlank() }.toSet()
+
+    /**
+     * -- 크롤링 실행 --
+     * 정해진 스케줄과 별개의 슬롯으로 실행되며 force면 변경 여부와 상관없이 모든 상세페이지를 다시 확인함
+     *
+     * @param -- force 전체 재크롤링 여부 --
+     * @param -- customUserDetails 로그인한 사용자 정보 --
+     * @return -- ResponseEntity<GenericResponse<CrawlJobStatusDTO>> --
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @PostMapping
+    @Operation(summary = "크롤링 실행")
+    fun startCrawling(
+        @RequestParam(name = "force", defaultValue = "false") force: Boolean,
+        @AuthenticationPrincipal customUserDetails: CustomUserDetails
+    ): ResponseEntity<GenericResponse<CrawlJobStatusDTO>> {
+        val username = checkAdmin(customUserDetails)
+        val status = crawlingJobRunner.start("manual:${System.currentTimeMillis()}", username, force)
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(GenericResponse.of(status, "크롤링 작업이 시작되었습니다."))
+    }
+
+    /**
+     * -- 크롤링 진행 상황 조회 --
+     *
+     * @param -- customUserDetails 로그인한 사용자 정보 --
+     * @return -- ResponseEntity<GenericResponse<CrawlJobStatusDTO?>> 실행한 적이 없으면 null --
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @GetMapping
+    @Operation(summary = "크롤링 진행 상황")
+    fun getCrawlingStatus(
+        @AuthenticationPrincipal customUserDetails: CustomUserDetails
+    ): ResponseEntity<GenericResponse<CrawlJobStatusDTO?>> {
+        checkAdmin(customUserDetails)
+        return ResponseEntity.ok(GenericResponse.of(crawlingJobRunner.status()))
+    }
+
+    /**
+     * -- 크롤링 중단 --
+     *
+     * @param -- customUserDetails 로그인한 사용자 정보 --
+     * @return -- ResponseEntity<GenericResponse<CrawlJobStatusDTO?>> --
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @DeleteMapping
+    @Operation(summary = "크롤링 중단")
+    fun abortCrawling(
+        @AuthenticationPrincipal customUserDetails: CustomUserDetails
+    ): ResponseEntity<GenericResponse<CrawlJobStatusDTO?>> {
+        checkAdmin(customUserDetails)
+        return ResponseEntity.ok(GenericResponse.of(crawlingJobRunner.abort(), "크롤링 중단을 요청했습니다."))
+    }
+
+    private fun checkAdmin(customUserDetails: CustomUserDetails): String {
+        if (customUserDetails.username !in adminUsernames) {
+            throw BookException(BookErrorCode.CRAWLING_FORBIDDEN)
+        }
+        return customUserDetails.username
+    }
+}
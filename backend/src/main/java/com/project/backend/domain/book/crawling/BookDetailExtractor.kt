@@ -0,0 +1,137 @@
+package com.project.backend.domain.book.crawling
+
+import org.jsoup.nodes.Document
+import org.jsoup.nodes.Element
+import org.jsoup.nodes.Node
+import org.jsoup.select.NodeFilter
+import org.jsoup.select.NodeTraversor
+
+/**
+ * -- yes24 상세페이지 도서 정보 추출기 --
+ * 기존 선택자(h2.gd_name, span.gd_auth, div#infoset_introduce div.infoWrap_txtInner, img.gImg,
+ * div.infoSetCont_wrap .b_size 안의 tr:has(th:contains(ISBN13)) td)와 같은 결과를 문서 한 번 순회로 얻는다
+ * 1. 선택자마다 문서 전체를 다시 훑지 않고 한 번 순회하면서 다섯 항목을 모두 찾으면 바로 멈춤
+ * 2. :has, :contains 의사 선택자 대신 ISBN 표 범위(.b_size) 안의 th만 직접 비교
+ * 불완전한 페이지 검사와 추출이 같은 결과를 쓰도록 BookDetail을 그대로 넘긴다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+object BookDetailExtractor {
+
+    /**
+     * -- 상세페이지 추출 결과 --
+     * 각 항목은 해당 요소가 없으면 null, isbn은 비어 있어도 null
+     *
+     * @param -- isbn ISBN13 --
+     * @param -- title 제목 --
+     * @param -- author 작가 --
+     * @param -- description 책 소개 --
+     * @param -- image 표지 이미지 주소 --
+     */
+    data class BookDetail(
+        val isbn: String?,
+        val title: String?,
+        val author: String?,
+        val description: String?,
+        val image: String?
+    ) {
+        /**
+         * -- 모든 항목이 채워졌는지 여부 --
+         * 하나라도 비어 있으면 덜 로드된 페이지로 본다
+         */
+        fun isComplete(): Boolean {
+            return listOf(isbn, title, author, description, image).none { it.isNullOrBlank() }
+        }
+    }
+
+    /**
+     * -- 상세페이지 도서 정보 추출 메서드 --
+     *
+     * @param -- doc 상세페이지 html --
+     * @return -- BookDetail --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @JvmStatic
+    fun extract(doc: Document): BookDetail {
+        val collector = DetailCollector()
+        NodeTraversor.filter(collector, doc)
+        return BookDetail(collector.isbn, collector.title, collector.author, collector.description, collector.image)
+    }
+
+    /**
+     * 문서 순회 중 항목별로 처음 만나는 요소를 기록한다
+     * 조상 조건(div.infoSetCont_wrap, div#infoset_introduce)은 진입(head)과 이탈(tail) 때 깊이를 세어 판단
+     */
+    private class DetailCollector : NodeFilter {
+        var isbn: String? = null
+        var title: String? = null
+        var author: String? = null
+        var description: String? = null
+        var image: String? = null
+
+        private var isbnSearched = false
+        private var wrapDepth = 0
+        private var introDepth = 0
+
+        override fun head(node: Node, depth: Int): NodeFilter.FilterResult {
+            if (node !is Element) {
+                return NodeFilter.FilterResult.CONTINUE
+            }
+
+            if (!isbnSearched && wrapDepth > 0 && node.hasClass("b_size")) {
+                isbnSearched = true
+                isbn = findIsbn(node)
+            }
+
+            when (node.normalName()) {
+                "h2" -> if (title == null && node.hasClass("gd_name")) title = node.text()
+                "span" -> if (author == null && node.hasClass("gd_auth")) author = node.text()
+                "img" -> if (image == null && node.hasClass("gImg")) image = node.attr("src")
+                "div" -> {
+                    if (description == null && introDepth > 0 && node.hasClass("infoWrap_txtInner")) {
+                        description = node.text()
+                    }
+                    if (node.id() == "infoset_introduce") introDepth++
+                    if (node.hasClass("infoSetCont_wrap")) wrapDepth++
+                }
+            }
+
+            val done = isbnSearched && title != null && author != null && description != null && image != null
+            return if (done) NodeFilter.FilterResult.STOP else NodeFilter.FilterResult.CONTINUE
+        }
+
+        override fun tail(node: Node, depth: Int): NodeFilter.FilterResult {
+            if (node is Element && node.normalName() == "div") {
+                if (node.id() == "infoset_introduce") introDepth--
+                if (node.hasClass("infoSetCont_wrap")) wrapDepth--
+            }
+            return NodeFilter.FilterResult.CONTINUE
+        }
+
+        /**
+         * ISBN13 제목 칸이 있는 행의 첫 번째 값 칸
+         * 중첩된 표라면 tr:has와 같이 범위 안에서 가장 바깥 행을 사용
+         */
+        private fun findIsbn(scope: Element): String? {
+            for (th in scope.getElementsByTag("th")) {
+                if (!th.text().contains("ISBN13", ignoreCase = true)) {
+                    continue
+                }
+
+                var row: Element? = null
+                var parent = th.parent()
+                while (parent != null && parent !== scope) {
+                    if (parent.normalName() == "tr") row = parent
+                    parent = parent.parent()
+                }
+                if (row != null) {
+                    return row.getElementsByTag("td").firstOrNull()?.text()?.takeIf { it.isNotBlank() }
+                }
+            }
+            return null
+        }
+    }
+}
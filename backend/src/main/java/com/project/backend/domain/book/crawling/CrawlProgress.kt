@@ -0,0 +1,27 @@
+package com.project.backend.domain.book.crawling
+
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * -- 크롤링 진행 상황 --
+ * 파이프라인 각 단계가 값으로 넘겨받아 갱신하고 관리자 상태 조회에서 읽는다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+class CrawlProgress {
+    /** 베스트셀러 목록의 전체 항목 수 */
+    val total = AtomicInteger()
+
+    /** 상세페이지 확인 없이 순위만 반영한 항목 수 */
+    val skipped = AtomicInteger()
+
+    /** 상세페이지를 요청한 항목 수 */
+    val fetched = AtomicInteger()
+
+    /** 요청에 실패하거나 시간이 초과된 항목 수 */
+    val failed = AtomicInteger()
+
+    /** 도서 정보가 바뀌어 DB에 저장한 항목 수 */
+    val saved = AtomicInteger()
+}
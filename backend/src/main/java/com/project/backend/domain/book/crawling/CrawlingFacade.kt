@@ -1,8 +1,14 @@
 package com.project.backend.domain.book.crawling
 
 import com.project.backend.domain.book.repository.RedisRepository
-import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.supervisorScope
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
 import org.springframework.stereotype.Component
 
 /**
@@ -13,30 +19,87 @@ import org.springframework.stereotype.Component
  * @since -- 3월 09일 --
  */
 @Component
-class CrawlingFacade(private val crawlingService: CrawlingService, private val redisRepository: RedisRepository) {
+class CrawlingFacade(
+    private val crawlingService: CrawlingService,
+    private val redisRepository: RedisRepository,
+    private val crawlingJobLock: CrawlingJobLock,
+    @Value("\${book.crawling.categories:001}") private val categories: List<String>,
+    @Value("\${book.crawling.category-concurrency:2}") private val categoryConcurrency: Int
+) {
+    private val logger = LoggerFactory.getLogger(CrawlingFacade::class.java)
+
+    companion object {
+        const val BESTSELLER_JOB = "bestseller"
+    }
 
     /**
      * -- 크롤링 실행 및 통제 메서드 --
-     * 크롤링 로직 전체을 runBlocking으로 감싸서 실행
-     * 각각의 책으로 들어가는 순위와 url이 담긴 베스트셀러 Map 크롤링
-     * Redis에 저장한 이전 해시값과 현재 해시값을 비교해 베스트셀러가 바뀌었는지 검사
-     * 바뀌었으면 상세페이지 크롤링 실행
-     * 바뀌지 않았으면 크롤링 생략
+     * CrawlingJobRunner의 코루틴에서 실행되며 취소되면 진행중인 단계에서 중단됨
+     * 여러 노드 중 CrawlingJobLock을 잡은 노드 하나만 슬롯당 한 번 실행
+     * 설정된 카테고리들을 category-concurrency개씩 동시에 크롤링하며
+     * 상세페이지 요청은 PageFetcher의 호스트별 제한을 모든 카테고리가 함께 사용함
+     * 한 카테고리가 실패해도 나머지 카테고리는 끝까지 진행하고 마지막에 실패를 알림
+     *
+     * @param -- slot 실행 슬롯, 스케줄 시각 --
+     * @param -- progress 진행 상황 --
+     * @param -- force 관리자 재크롤링 여부 --
+     * @return -- Boolean 이 노드에서 실행했는지 여부 --
      *
      * @author -- 정재익 --
      * @since -- 3월 10일 --
      */
-    fun executeCrawling() = runBlocking(Dispatchers.IO){
-            crawlingService.getBestSellersMap()
-            val currentHash = crawlingService.getMapHash()
-            val previousHash = redisRepository.loadPreviousHash()
-
-            if (currentHash != previousHash) {
-                val bestSellerBookDTOs = crawlingService.getBestSellerBookDTOs()
-                crawlingService.saveBestSellers(bestSellerBookDTOs)
-                redisRepository.saveHash(currentHash)
-            } else {
-                crawlingService.logNoChange()
+    suspend fun executeCrawling(slot: String, progress: CrawlProgress, force: Boolean = false): Boolean =
+        crawlingJobLock.runExclusive(BESTSELLER_JOB, slot) { fence ->
+            val permits = Semaphore(categoryConcurrency)
+
+            val failures = supervisorScope {
+                categories.map { category ->
+                    async {
+                        permits.withPermit {
+                            try {
+                                crawlCategory(category, fence, progress, force)
+                                null
+                            } catch (e: Exception) {
+                                if (e is CancellationException) {
+                                    throw e
+                                }
+                                logger.error("{} 카테고리 크롤링 실패", category, e)
+                                e
+                            }
+                        }
+                    }
+                }.awaitAll().filterNotNull()
             }
+
+            failures.firstOrNull()?.let { throw it }
+        }
+
+    /**
+     * -- 카테고리 크롤링 메서드 --
+     * 각각의 책으로 들어가는 순위와 url이 담긴 베스트셀러 Map 크롤링
+     * Redis에 저장한 카테고리의 이전 해시값과 현재 해시값을 비교해 베스트셀러가 바뀌었는지 검사
+     * 바뀌었으면 새로 들어왔거나 바뀐 상세페이지만 크롤링하고 나머지는 순위만 반영
+     * 바뀌지 않았으면 크롤링 생략 (force면 해시와 상관없이 모든 상세페이지를 다시 확인)
+     *
+     * @param -- category yes24 카테고리 번호 --
+     * @param -- fence 크롤링 잠금의 펜싱 토큰 --
+     * @param -- progress 진행 상황 --
+     * @param -- force 관리자 재크롤링 여부 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    private suspend fun crawlCategory(category: String, fence: CrawlingJobLock.Fence, progress: CrawlProgress, force: Boolean) {
+        val bestSellers = crawlingService.getBestSellersMap(category)
+        val currentHash = crawlingService.getMapHash(bestSellers)
+        val previousHash = redisRepository.loadPreviousHash(category)
+
+        if (force || currentHash != previousHash) {
+            crawlingService.crawlBestSellers(category, bestSellers, fence, progress, force)
+            crawlingJobLock.validate(fence)
+            redisRepository.saveHash(category, currentHash)
+        } else {
+            crawlingService.logNoChange(category)
         }
     }
+}
@@ -0,0 +1,113 @@
+package com.project.backend.domain.book.crawling
+
+import com.project.backend.domain.book.exception.BookErrorCode
+import com.project.backend.domain.book.exception.BookException
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.future.await
+import kotlinx.coroutines.withContext
+import org.redisson.api.RedissonClient
+import org.redisson.client.codec.StringCodec
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * -- 크롤링 작업 분산 잠금 클래스 --
+ * 모든 노드의 스케줄러가 같은 시각에 실행되어도 Redisson 잠금을 잡은 노드 하나만 크롤링한다
+ * 1. 잠금은 lease 시간이 지나면 자동으로 풀려 크롤링 도중 죽은 노드가 잠금을 영원히 잡고 있지 않음
+ * 2. 잠금을 잡을 때마다 증가하는 펜싱 토큰을 발급하고 쓰기 직전에 토큰이 최신인지 확인하여
+ *    lease가 끝난 뒤에도 늦게 도착한 이전 노드의 쓰기가 새 노드의 결과를 덮어쓰지 않도록 함
+ *    Redis 확인과 MySQL 쓰기 사이에 lease가 끝날 수 있으므로 순위 반영은 BookService.applyBestsellerRankings가
+ *    같은 트랜잭션 안에서 bestseller_ranking_fence의 토큰으로 다시 막음 (validate는 빨리 멈추기 위한 확인)
+ * 3. 같은 슬롯(예: 같은 시각의 스케줄)을 이미 끝낸 노드가 있으면 다시 실행하지 않음
+ * 코루틴은 실행 도중 스레드가 바뀌므로 Redisson 잠금의 소유자를 스레드 id 대신 실행마다 발급한 id로 지정한다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+class CrawlingJobLock(
+    private val redissonClient: RedissonClient,
+    @Value("\${book.crawling.lock-lease:30m}") private val lease: Duration
+) {
+    private val logger = LoggerFactory.getLogger(CrawlingJobLock::class.java)
+    private val ownerSequence = AtomicLong(System.nanoTime())
+
+    companion object {
+        private const val LOCK_PREFIX = "crawling:lock:"
+        private const val FENCE_PREFIX = "crawling:fence:"
+        private const val SLOT_PREFIX = "crawling:slot:"
+    }
+
+    /**
+     * -- 펜싱 토큰 --
+     *
+     * @param -- job 작업 이름 --
+     * @param -- token 잠금을 잡을 때 발급된 토큰 --
+     */
+    data class Fence(val job: String, val token: Long)
+
+    /**
+     * -- 단독 실행 메소드 --
+     * 잠금을 기다리지 않고 바로 시도하여 실패하면 다른 노드가 실행중인 것으로 보고 건너뛴다
+     * 취소되어도 잠금은 반드시 해제한다
+     *
+     * @param -- job 작업 이름 --
+     * @param -- slot 실행 슬롯, 같은 슬롯은 한 번만 실행 --
+     * @param -- block 펜싱 토큰을 받아 실행할 작업 --
+     * @return -- Boolean 실행 여부 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    suspend fun runExclusive(job: String, slot: String, block: suspend (Fence) -> Unit): Boolean {
+        val lock = redissonClient.getLock(LOCK_PREFIX + job)
+        val ownerId = ownerSequence.incrementAndGet()
+        if (!lock.tryLockAsync(0, lease.toMillis(), TimeUnit.MILLISECONDS, ownerId).await()) {
+            logger.info("다른 노드가 {} 실행중, 생략", job)
+            return false
+        }
+
+        try {
+            val lastSlot = redissonClient.getBucket<String>(SLOT_PREFIX + job, StringCodec.INSTANCE)
+            if (lastSlot.get() == slot) {
+                logger.info("{} {} 슬롯은 이미 실행됨, 생략", job, slot)
+                return false
+            }
+
+            val fence = Fence(job, redissonClient.getAtomicLong(FENCE_PREFIX + job).incrementAndGet())
+            block(fence)
+            lastSlot.set(slot)
+            return true
+        } finally {
+            withContext(NonCancellable) {
+                try {
+                    lock.unlockAsync(ownerId).await()
+                } catch (e: Exception) {
+                    logger.warn("{} 잠금 해제 실패 (lease 만료)", job, e)
+                }
+            }
+        }
+    }
+
+    /**
+     * -- 펜싱 토큰 확인 메소드 --
+     * 이후에 다른 노드가 잠금을 잡았다면 토큰이 증가했으므로 쓰기를 중단시킨다
+     *
+     * @param -- fence 잠금을 잡을 때 받은 토큰 --
+     * @throws -- BookException CRAWLING_LOCK_LOST --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun validate(fence: Fence) {
+        val current = redissonClient.getAtomicLong(FENCE_PREFIX + fence.job).get()
+        if (current != fence.token) {
+            logger.warn("{} 펜싱 토큰 만료 (보유 {}, 최신 {}), 쓰기 중단", fence.job, fence.token, current)
+            throw BookException(BookErrorCode.CRAWLING_LOCK_LOST)
+        }
+    }
+}
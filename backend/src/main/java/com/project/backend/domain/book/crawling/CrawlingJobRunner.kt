@@ -0,0 +1,156 @@
+package com.project.backend.domain.book.crawling
+
+import com.project.backend.domain.book.dto.CrawlJobStatusDTO
+import com.project.backend.domain.book.exception.BookErrorCode
+import com.project.backend.domain.book.exception.BookException
+import jakarta.annotation.PreDestroy
+import kotlinx.coroutines.*
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import java.time.Duration
+import java.time.LocalDateTime
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * -- 크롤링 작업 실행 클래스 --
+ * 애플리케이션 수명과 같은 CoroutineScope에서 크롤링 작업을 실행한다
+ * 1. 스케줄러 스레드는 작업을 시작만 하고 바로 반환되어 크롤링 동안 점유되지 않음
+ * 2. 작업 전체는 job-timeout 안에 끝나야 하며 넘으면 취소됨 (상세페이지별 시간 제한은 CrawlingService)
+ * 3. 노드당 하나의 작업만 실행되며 관리자가 진행 상황을 조회하고 중단할 수 있음
+ * 4. 애플리케이션 종료시 진행중인 작업을 취소하고 shutdown-grace 동안 정리를 기다림
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+class CrawlingJobRunner(
+    private val crawlingFacade: CrawlingFacade,
+    @Value("\${book.crawling.job-timeout:20m}") private val jobTimeout: Duration,
+    @Value("\${book.crawling.shutdown-grace:10s}") private val shutdownGrace: Duration
+) {
+    private val logger = LoggerFactory.getLogger(CrawlingJobRunner::class.java)
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO + CoroutineName("crawling"))
+    private val jobSequence = AtomicLong()
+
+    /** 현재 또는 마지막으로 실행된 작업 */
+    private val current = AtomicReference<CrawlJob?>()
+
+    enum class State { RUNNING, COMPLETED, SKIPPED, FAILED, CANCELLED, TIMED_OUT }
+
+    private class CrawlJob(val id: Long, val trigger: String, val slot: String) {
+        val progress = CrawlProgress()
+        val startedAt: LocalDateTime = LocalDateTime.now()
+
+        @Volatile
+        var state = State.RUNNING
+
+        @Volatile
+        var finishedAt: LocalDateTime? = null
+
+        @Volatile
+        var message: String? = null
+
+        @Volatile
+        var job: Job? = null
+
+        fun finish(state: State, message: String? = null) {
+            this.state = state
+            this.message = message
+            this.finishedAt = LocalDateTime.now()
+        }
+
+        fun toDTO() = CrawlJobStatusDTO(
+            id, trigger, slot, state.name, startedAt, finishedAt,
+            progress.total.get(), progress.skipped.get(), progress.fetched.get(), progress.failed.get(),
+            progress.saved.get(), message
+        )
+    }
+
+    /**
+     * -- 크롤링 작업 시작 메소드 --
+     *
+     * @param -- slot 실행 슬롯 --
+     * @param -- trigger 실행 주체 --
+     * @param -- force 해시, refetch-ttl과 상관없이 모든 상세페이지를 다시 확인할지 여부 --
+     * @return -- CrawlJobStatusDTO 시작된 작업 상태 --
+     * @throws -- BookException 이 노드에서 이미 크롤링이 실행중이면 CRAWLING_ALREADY_RUNNING --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun start(slot: String, trigger: String, force: Boolean = false): CrawlJobStatusDTO {
+        val crawlJob = CrawlJob(jobSequence.incrementAndGet(), trigger, slot)
+        val previous = current.get()
+        if (previous?.state == State.RUNNING || !current.compareAndSet(previous, crawlJob)) {
+            throw BookException(BookErrorCode.CRAWLING_ALREADY_RUNNING)
+        }
+
+        val job = scope.launch(CoroutineName("crawling-${crawlJob.id}"), start = CoroutineStart.LAZY) {
+            logger.info("크롤링 작업 {} 시작: {} {}", crawlJob.id, trigger, slot)
+            try {
+                val executed = withTimeout(jobTimeout.toMillis()) {
+                    crawlingFacade.executeCrawling(slot, crawlJob.progress, force)
+                }
+                crawlJob.finish(if (executed) State.COMPLETED else State.SKIPPED)
+            } catch (e: TimeoutCancellationException) {
+                crawlJob.finish(State.TIMED_OUT, "${jobTimeout} 초과")
+            } catch (e: CancellationException) {
+                crawlJob.finish(State.CANCELLED, e.message)
+                throw e
+            } catch (e: Exception) {
+                logger.error("크롤링 작업 {} 실패", crawlJob.id, e)
+                crawlJob.finish(State.FAILED, e.message)
+            }
+            logger.info("크롤링 작업 {} 종료: {}", crawlJob.id, crawlJob.state)
+        }
+        crawlJob.job = job
+        job.start()
+
+        return crawlJob.toDTO()
+    }
+
+    /**
+     * -- 크롤링 작업 상태 조회 메소드 --
+     *
+     * @return -- CrawlJobStatusDTO? 현재 또는 마지막 작업, 실행한 적이 없으면 null --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun status(): CrawlJobStatusDTO? = current.get()?.toDTO()
+
+    /**
+     * -- 크롤링 작업 중단 메소드 --
+     * 코루틴을 취소하여 다음 중단 지점(페이지 요청, 채널 전송, 묶음 저장 사이)에서 멈추고 잠금을 해제한다
+     * 이미 저장된 묶음은 유지되고 순위는 반영되지 않는다
+     *
+     * @return -- CrawlJobStatusDTO? 중단 요청 후 작업 상태 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun abort(): CrawlJobStatusDTO? {
+        val crawlJob = current.get() ?: return null
+        if (crawlJob.state == State.RUNNING) {
+            crawlJob.job?.cancel(CancellationException("관리자 중단"))
+        }
+        return crawlJob.toDTO()
+    }
+
+    /**
+     * -- 종료 메소드 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @PreDestroy
+    fun shutdown() {
+        val job = current.get()?.job
+        scope.cancel(CancellationException("애플리케이션 종료"))
+        if (job != null) {
+            runBlocking { withTimeoutOrNull(shutdownGrace.toMillis()) { job.join() } }
+        }
+    }
+}
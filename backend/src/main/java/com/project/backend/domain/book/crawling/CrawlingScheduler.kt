@@ -1,8 +1,11 @@
 package com.project.backend.domain.book.crawling
 
+import com.project.backend.domain.book.exception.BookException
 import org.slf4j.LoggerFactory
 import org.springframework.scheduling.annotation.Scheduled
 import org.springframework.stereotype.Component
+import java.time.LocalDateTime
+import java.time.temporal.ChronoUnit
 
 /**
  * -- 크롤링 스케줄러 --
@@ -11,21 +14,31 @@ import org.springframework.stereotype.Component
  * @since -- 3월 01일 --
  */
 @Component
-class CrawlingScheduler(private val crawlingFacade: CrawlingFacade) {
+class CrawlingScheduler(private val crawlingJobRunner: CrawlingJobRunner) {
     private val logger = LoggerFactory.getLogger(CrawlingScheduler::class.java)
 
+    companion object {
+        const val SCHEDULER_TRIGGER = "scheduler"
+    }
+
     /**
      * -- 크롤링 스케줄러 --
      * 매시간 10분마다 베스트셀러 크롤링
      * yes24에서 매시간 0분마다 베스트셀러 갱신
+     * 모든 노드에서 실행되지만 정각 단위 슬롯으로 잠금을 잡아 한 노드만 크롤링
+     * 작업은 CrawlingJobRunner에서 실행되고 스케줄러 스레드는 바로 반환됨
      *
      * @author -- 정재익 --
      * @since -- 3월 01일 --
      */
     @Scheduled(cron = "0 10 * * * *")
     fun scheduledCrawling() {
-        logger.info("크롤링 시작: ${java.time.LocalDateTime.now()}")
-        crawlingFacade.executeCrawling()
-        logger.info("크롤링 완료: ${java.time.LocalDateTime.now()}")
+        val slot = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).toString()
+        try {
+            val status = crawlingJobRunner.start(slot, SCHEDULER_TRIGGER)
+            logger.info("크롤링 작업 {} 시작: {}", status.id, slot)
+        } catch (e: BookException) {
+            logger.warn("이전 크롤링 작업이 아직 실행중, {} 슬롯 생략", slot)
+        }
     }
 }
@@ -1,148 +1,357 @@
 package com.project.backend.domain.book.crawling
 
 import com.project.backend.domain.book.dto.BookDTO
+import com.project.backend.domain.book.repository.RedisRepository
+import com.project.backend.domain.book.service.BestsellerPageCache
 import com.project.backend.domain.book.service.BookService
 import kotlinx.coroutines.*
+import kotlinx.coroutines.channels.Channel
 import org.jsoup.Jsoup
-import org.jsoup.nodes.Document
 import org.jsoup.safety.Safelist
 import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
 import org.springframework.stereotype.Service
 import java.security.MessageDigest
+import java.time.Duration
 
 /**
  * -- 크롤링 서비스 --
+ * 베스트셀러 목록을 읽은 뒤 상세페이지는 새로 들어왔거나 바뀐 항목만 크롤링한다
+ * 상세페이지 url별 지문(PageFingerprint)을 Redis에 저장하여
+ * 1. 이미 아는 url은 저장된 isbn으로 순위만 반영하고 상세페이지에 접속하지 않음
+ * 2. 확인한 지 refetch-ttl이 지난 url은 조건부 요청으로 다시 확인하고 도서 정보가 바뀐 경우만 저장
+ * 3. 처음 보는 url만 상세페이지를 크롤링
+ *
+ * 크롤링은 목록 -> 상세페이지 요청 -> 파싱 -> 묶음 저장 단계를 크기가 제한된 채널로 이어서 흘려보내므로
+ * 모든 페이지를 모은 뒤 저장하지 않고 batch-size개가 모일 때마다 저장한다
+ * 크롤링 상태는 빈의 필드에 두지 않고 값으로 넘기며 쓰기 전마다 CrawlingJobLock의 펜싱 토큰을 확인한다
  *
  * @author -- 정재익 --
  * @since -- 3월 01일 --
  */
 @Service
-class CrawlingService(private val bookService: BookService) {
+class CrawlingService(
+    private val bookService: BookService,
+    private val redisRepository: RedisRepository,
+    private val pageSource: PageSource,
+    private val crawlingJobLock: CrawlingJobLock,
+    private val bestsellerPageCache: BestsellerPageCache,
+    @Value("\${book.crawling.fetch-concurrency:5}") private val fetchConcurrency: Int,
+    @Value("\${book.crawling.batch-size:20}") private val batchSize: Int,
+    @Value("\${book.crawling.refetch-ttl:1d}") private val refetchTtl: Duration,
+    @Value("\${book.crawling.fingerprint-ttl:30d}") private val fingerprintTtl: Duration,
+    @Value("\${book.crawling.page-timeout:30s}") private val pageTimeout: Duration
+) {
     private val logger = LoggerFactory.getLogger(CrawlingService::class.java)
-    private lateinit var bestSellersMap: Map<Int, String>
+
+    companion object {
+        private const val TARGET_URL = "https://www.yes24.com/Product/Category/RealTimeBestSeller?categoryNumber="
+        private const val BASE_URL = "https://www.yes24.com"
+        private const val PIPELINE_CAPACITY = 16
+        private const val LIST_SELECTOR = "#yesBestList > li > div > div.item_info > div.info_row.info_name > a.gd_name"
+    }
+
+    /** 상세페이지 크롤링 대상, previous는 이전에 저장한 지문 */
+    private data class CrawlTarget(val ranking: Int, val url: String, val previous: PageFingerprint?)
+
+    /** 상세페이지 요청 결과, detail이 null이면 304 또는 요청 실패 */
+    private data class FetchedPage(
+        val target: CrawlTarget,
+        val detail: BookDetailExtractor.BookDetail?,
+        val etag: String?,
+        val lastModified: String?,
+        val failed: Boolean = false
+    )
+
+    /**
+     * 파싱 결과
+     * isbn은 순위 반영에, book은 도서 정보가 바뀌었을 때만 채워져 저장에, fingerprint는 Redis 저장에 사용
+     */
+    private data class CrawledPage(
+        val target: CrawlTarget,
+        val isbn: String?,
+        val book: BookDTO?,
+        val fingerprint: PageFingerprint?
+    )
 
     /**
      * -- url에 접속하여 베스트셀러의 순위와 url을 가져오는 메소드 --
-     * bestSellersMap에 베스트셀러의 순위와 url을 저장함
+     * 목록이 비어 있으면 덜 로드된 페이지로 보고 PageSource가 다시 요청한다
      *
+     * @param -- category yes24 카테고리 번호 --
+     * @return -- Map<Int, String> 순위별 상세페이지 url --
      * @author -- 정재익 --
      * @since -- 3월 09일 --
      */
-    fun getBestSellersMap() {
-        val targetUrl = "https://www.yes24.com/Product/Category/RealTimeBestSeller?categoryNumber=001"
-        val baseUrl = "https://www.yes24.com"
-
-        val bestSellerLinks = Jsoup.connect(targetUrl).get()
-            .select("#yesBestList > li > div > div.item_info > div.info_row.info_name > a.gd_name").eachAttr("href")
-        extractThread("베스트셀러 목록 순위 가져오기")
+    suspend fun getBestSellersMap(category: String): Map<Int, String> {
+        val doc = pageSource.fetch(TARGET_URL + category) { it.select(LIST_SELECTOR).isNotEmpty() }.doc ?: return emptyMap()
+        val bestSellerLinks = doc.select(LIST_SELECTOR).eachAttr("href")
+        extractThread("$category 베스트셀러 목록 순위 가져오기")
 
-        bestSellersMap = bestSellerLinks.mapIndexed { index, href -> (index + 1) to "$baseUrl$href" }.toMap()
+        return bestSellerLinks.mapIndexed { index, href -> (index + 1) to "$BASE_URL$href" }.toMap()
     }
 
     /**
      * -- Map을 해싱하는 메서드 --
-     * bestSellersMap를 이용하여 해시값 추출
+     * 베스트셀러 목록이 이전 크롤링과 완전히 같은지 빠르게 확인하기 위한 해시값 추출
      *
-\    * @return -- String 해시 값--
+     * @param -- bestSellers 순위별 상세페이지 url --
+     * @return -- String 해시 값--
      * @author -- 정재익 --
      * @since -- 3월 09일 --
      */
-     fun getMapHash(): String {
-        val mapString = bestSellersMap.toSortedMap().entries.joinToString { "${it.key}:${it.value}" }
+    fun getMapHash(bestSellers: Map<Int, String>): String {
+        val mapString = bestSellers.toSortedMap().entries.joinToString { "${it.key}:${it.value}" }
         extractThread("맵 해싱")
 
-        return MessageDigest.getInstance("SHA-256")
-            .digest(mapString.toByteArray())
-            .joinToString("") { "%02x".format(it) }
+        return sha256(mapString)
     }
 
     /**
-     * -- 상세페이지 크롤링 코루틴 설정 메서드 --*
-     * Dispatchers.IO에 5개의 스레드 제한을 지정 후 상세페이지 크롤링 실행
-     * bestSellersMap에 담긴 url로 접속하여 세부페이지 크롤링 실행
-     * 모든 작업이 끝나고 awaitAll로 BookDTO를 합쳐 리스트로 만들어 반환
+     * -- 베스트셀러 증분 크롤링 메서드 --
+     * 1. Redis에서 상세페이지 지문을 읽어 최근에 확인한 url은 저장된 isbn으로 순위만 반영
+     * 2. 나머지 url은 채널 파이프라인으로 요청(fetch-concurrency개 동시) -> 파싱 -> batch-size개씩 저장
+     * 3. 묶음을 저장한 뒤 해당 지문을 Redis에 저장하여 저장에 실패한 페이지는 다음 크롤링에서 다시 확인
+     * 4. 모든 단계가 끝나면 순위를 한 번에 반영하고 모든 노드의 베스트셀러 캐시를 비운 뒤 오래 보이지 않은 url의 지문을 정리
      *
-     * @return -- List<BookDTO> 베스트셀러 정보가 입력된 책 리스트 --
+     * @param -- category yes24 카테고리 번호 --
+     * @param -- bestSellers 순위별 상세페이지 url --
+     * @param -- fence 크롤링 잠금의 펜싱 토큰 --
+     * @param -- progress 진행 상황 --
+     * @param -- force true면 refetch-ttl과 상관없이 모든 상세페이지를 다시 확인 (관리자 재크롤링) --
      * @author -- 정재익 --
-     * @since -- 3월 09일 --
+     * @since -- 3월 13일 --
      */
-    @OptIn(ExperimentalCoroutinesApi::class)
-    suspend fun getBestSellerBookDTOs(): List<BookDTO> = withContext(Dispatchers.IO.limitedParallelism(5)){
-        bestSellersMap.map { (ranking, link) ->
-            async { getBestSellerBookDTO(ranking, link)}
-        }.awaitAll()
+    suspend fun crawlBestSellers(
+        category: String,
+        bestSellers: Map<Int, String>,
+        fence: CrawlingJobLock.Fence,
+        progress: CrawlProgress,
+        force: Boolean = false
+    ) = coroutineScope {
+        val now = System.currentTimeMillis()
+        val known = loadFingerprints()
+        val rankings = HashMap<String, Int>()
+
+        val (fresh, stale) = bestSellers.map { (ranking, url) -> CrawlTarget(ranking, url, known[url]) }
+            .partition { !force && it.previous != null && now - it.previous.checkedAt < refetchTtl.toMillis() }
+        fresh.forEach { rankings.merge(it.previous!!.isbn, it.ranking, ::minOf) }
+        progress.total.addAndGet(bestSellers.size)
+        progress.skipped.addAndGet(fresh.size)
+        extractThread("$category 순위만 반영 ${fresh.size}건, 상세페이지 확인 ${stale.size}건")
+
+        val targets = Channel<CrawlTarget>(PIPELINE_CAPACITY)
+        val fetched = Channel<FetchedPage>(PIPELINE_CAPACITY)
+        val parsed = Channel<CrawledPage>(PIPELINE_CAPACITY)
+
+        launch {
+            stale.forEach { targets.send(it) }
+            targets.close()
+        }
+        val fetchers = List(fetchConcurrency) {
+            launch {
+                for (target in targets) {
+                    fetched.send(fetchPage(target, progress))
+                }
+            }
+        }
+        launch {
+            fetchers.joinAll()
+            fetched.close()
+        }
+        launch(Dispatchers.Default) {
+            for (page in fetched) {
+                parsed.send(parsePage(page, now))
+            }
+            parsed.close()
+        }
+
+        val batch = ArrayList<CrawledPage>(batchSize)
+        for (page in parsed) {
+            page.isbn?.let { rankings.merge(it, page.target.ranking, ::minOf) }
+            batch.add(page)
+            if (batch.size >= batchSize) {
+                saveBatch(batch, fence, progress)
+                batch.clear()
+            }
+        }
+        saveBatch(batch, fence, progress)
+
+        withContext(Dispatchers.IO) {
+            if (rankings.isEmpty()) {
+                logger.warn("{} 베스트셀러 순위를 하나도 얻지 못해 순위 반영 생략", category)
+            } else {
+                crawlingJobLock.validate(fence)
+                bookService.applyBestsellerRankings(category, rankings, fence.token)
+                bestsellerPageCache.invalidateAll()
+            }
+            pruneFingerprints(known, bestSellers.values.toSet(), now)
+        }
+        extractThread("$category 베스트셀러 순위 반영 ${rankings.size}건")
     }
 
     /**
-     * -- 상세페이지 크롤링 메시드 --
-     *
-     * 만약 크롤링 중 요소에 값이 들어가지 않은 경우가 있으면 실제로 해당 데이터가 없을수도 있겠지만 빠른 크롤링으로 인해 데이터가 미처 로드되지 못했을 경우를 고려하여 총 3회까지 크롤링
-     * 3회 크롤링을 했지만 요소에 값이 들어가지 않으면 해당 데이터가 없다고 판단하여 있는것들만 반환
-     * 1회 크롤링으로 모든 요소에 값이 들어가면 추가 크롤링 하지않음
-     *
-     * @param -- ranking 베스트셀러 랭킹 --
-     * @param -- link 책으로 들어가는 링크 --
+     * -- 상세페이지 요청 메서드 --
+     * 이전 지문이 있으면 If-None-Match, If-Modified-Since 헤더를 붙여 바뀌지 않은 페이지는 본문 없이 304로 받는다
+     * 항목이 비어 있는 페이지는 덜 로드된 것으로 보고 PageSource가 백오프 후 다시 요청하며
+     * 재시도를 모두 써도 비어 있으면 실제로 해당 데이터가 없다고 판단하여 있는 것만 사용한다
+     * 완전성 검사에서 추출한 결과를 마지막으로 받은 페이지의 것으로 그대로 넘겨 같은 문서를 두 번 순회하지 않는다
+     * 재시도를 포함해 page-timeout 안에 끝나지 않거나 요청에 실패하면 이전 지문의 isbn으로 순위만 유지한다
      *
-     * @return -- BookDTO 베스트셀러 정보가 담긴 BookDTO --
+     * @param -- target 크롤링 대상 --
+     * @param -- progress 진행 상황 --
+     * @return -- FetchedPage --
      * @author -- 정재익 --
-     * @since -- 3월 04일 --
+     * @since -- 3월 13일 --
      */
-    private fun getBestSellerBookDTO(ranking: Int, link: String, maxRetries: Int = 3): BookDTO {
-        var retries = 0
-        val doc: Document = Jsoup.connect(link).get()
-        extractThread("${ranking}위 크롤링")
-
-        while (true) {
-            val title = doc.selectFirst("h2.gd_name")?.text()?.takeIf { it.isNotBlank() } ?: "제목 정보 없음"
-            val author = doc.selectFirst("span.gd_auth")?.text()?.takeIf { it.isNotBlank() } ?: "작가 정보 없음"
-            val description = Jsoup.clean(doc.selectFirst("div#infoset_introduce div.infoWrap_txtInner")?.text()?.takeIf { it.isNotBlank() } ?: "설명 없음", Safelist.none()).trim()
-            val image = doc.selectFirst("img.gImg")?.attr("src")?.takeIf { it.isNotBlank() } ?: "이미지 없음"
-            val isbn = extractIsbn(doc)
-
-            if (title == "제목 정보 없음" || author == "작가 정보 없음" || description == "설명 없음" || image == "이미지 없음" || isbn == "") {
-                retries++
-                if (retries >= maxRetries) { return BookDTO(null, title, author, description, image, isbn, ranking, 0) }
-                continue
+    private suspend fun fetchPage(target: CrawlTarget, progress: CrawlProgress): FetchedPage {
+        val page = try {
+            withTimeoutOrNull(pageTimeout.toMillis()) {
+                var detail: BookDetailExtractor.BookDetail? = null
+                val fetched = pageSource.fetch(target.url, target.previous?.etag, target.previous?.lastModified) {
+                    BookDetailExtractor.extract(it).also { extracted -> detail = extracted }.isComplete()
+                }
+                extractThread("${target.ranking}위 요청 ${fetched.status}")
+                FetchedPage(target, fetched.doc?.let { detail }, fetched.etag, fetched.lastModified)
+            } ?: FetchedPage(target, null, null, null, failed = true).also {
+                logger.warn("{}위 상세페이지 시간 초과: {}", target.ranking, target.url)
             }
-            return BookDTO(null, title, author, description, image, isbn, ranking, 0)
+        } catch (e: Exception) {
+            if (e is CancellationException) {
+                throw e
+            }
+            logger.warn("{}위 상세페이지 요청 실패: {}", target.ranking, target.url, e)
+            FetchedPage(target, null, null, null, failed = true)
         }
+
+        progress.fetched.incrementAndGet()
+        if (page.failed) {
+            progress.failed.incrementAndGet()
+        }
+        return page
     }
 
     /**
-     * -- 크롤링 중 ISBN13 추출 메서드 --
+     * -- 상세페이지 파싱 메서드 --
+     * 1. 요청 실패: 이전 isbn으로 순위만 유지하고 지문은 갱신하지 않음
+     * 2. 304: 이전 isbn으로 순위만 반영하고 확인 시각만 갱신
+     * 3. 200: 도서 정보를 추출하고 해시가 이전과 다를 때만 저장 대상으로 넘김
      *
-     * @param -- doc 상세페이지 html --
-     * @return -- 13자리 isbn --
+     * @param -- page 요청 결과 --
+     * @param -- now 이번 크롤링 시각 --
+     * @return -- CrawledPage --
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    private fun parsePage(page: FetchedPage, now: Long): CrawledPage {
+        val target = page.target
+        val previous = target.previous
+
+        if (page.failed) {
+            return CrawledPage(target, previous?.isbn, null, null)
+        }
+
+        if (page.detail == null) {
+            val fingerprint = previous?.copy(
+                checkedAt = now,
+                etag = page.etag ?: previous.etag,
+                lastModified = page.lastModified ?: previous.lastModified
+            )
+            return CrawledPage(target, previous?.isbn, null, fingerprint)
+        }
+
+        val book = toBook(page.detail, target.ranking)
+            ?: return CrawledPage(target, previous?.isbn, null, null).also {
+                logger.warn("{}위 상세페이지에서 ISBN을 찾지 못함: {}", target.ranking, target.url)
+            }
+
+        val contentHash = sha256(listOf(book.title, book.author, book.description, book.image, book.isbn).joinToString("\n"))
+        val fingerprint = PageFingerprint(book.isbn, contentHash, now, page.etag, page.lastModified)
+        val changed = previous == null || previous.contentHash != contentHash
+
+        return CrawledPage(target, book.isbn, if (changed) book else null, fingerprint)
+    }
+
+    /**
+     * -- 상세페이지 도서 정보 변환 메서드 --
      *
+     * @param -- detail BookDetailExtractor 추출 결과 --
+     * @param -- ranking 베스트셀러 랭킹 --
+     * @return -- BookDTO? ISBN이 없으면 저장할 수 없으므로 null --
      * @author -- 정재익 --
      * @since -- 3월 04일 --
      */
-    private fun extractIsbn(doc: Document, default: String = "ISBN 정보 없음"): String {
-        val tableScope = doc.selectFirst("div.infoSetCont_wrap .b_size")
-        return tableScope?.selectFirst("tr:has(th:contains(ISBN13)) td")?.text() ?: default
+    private fun toBook(detail: BookDetailExtractor.BookDetail, ranking: Int): BookDTO? {
+        val isbn = detail.isbn ?: return null
+        val title = detail.title?.takeIf { it.isNotBlank() } ?: "제목 정보 없음"
+        val author = detail.author?.takeIf { it.isNotBlank() } ?: "작가 정보 없음"
+        val description = Jsoup.clean(detail.description?.takeIf { it.isNotBlank() } ?: "설명 없음", Safelist.none()).trim()
+        val image = detail.image?.takeIf { it.isNotBlank() } ?: "이미지 없음"
+
+        return BookDTO(null, title, author, description, image, isbn, ranking, 0)
     }
 
     /**
-     * -- 베스트셀러 저장 메소드 --
-     *
-     * @param -- List<BookDTO> 베스트셀러 --
+     * -- 묶음 저장 메서드 --
+     * 도서 정보가 바뀐 페이지만 DB에 저장한 뒤 묶음 전체의 지문을 Redis에 저장한다
      *
+     * @param -- batch 파싱된 페이지 묶음 --
+     * @param -- fence 크롤링 잠금의 펜싱 토큰 --
+     * @param -- progress 진행 상황 --
      * @author -- 정재익 --
-     * @since -- 3월 09일 --
+     * @since -- 3월 13일 --
+     */
+    private suspend fun saveBatch(batch: List<CrawledPage>, fence: CrawlingJobLock.Fence, progress: CrawlProgress) {
+        if (batch.isEmpty()) {
+            return
+        }
+
+        withContext(Dispatchers.IO) {
+            crawlingJobLock.validate(fence)
+            val changedBooks = batch.mapNotNull { it.book }
+            if (changedBooks.isNotEmpty()) {
+                bookService.upsertBooks(changedBooks)
+            }
+            redisRepository.savePageFingerprints(
+                batch.filter { it.fingerprint != null }.associate { it.target.url to it.fingerprint!!.encode() }
+            )
+            progress.saved.addAndGet(changedBooks.size)
+            extractThread("베스트셀러 묶음 저장 ${changedBooks.size}/${batch.size}건")
+        }
+    }
+
+    private fun loadFingerprints(): Map<String, PageFingerprint> {
+        return redisRepository.loadPageFingerprints()
+            .mapNotNull { (url, value) -> PageFingerprint.decode(value)?.let { url to it } }
+            .toMap()
+    }
+
+    /**
+     * -- 지문 정리 메서드 --
+     * 현재 목록에 없고 fingerprint-ttl 동안 확인되지 않은 url의 지문을 제거한다
      */
-    fun saveBestSellers(bestSellerBookDTOs: List<BookDTO>) {
-        extractThread("베스트셀러 저장")
-        bookService.saveBestsellers(bestSellerBookDTOs)
+    private fun pruneFingerprints(known: Map<String, PageFingerprint>, current: Set<String>, now: Long) {
+        val expired = known.filter { (url, fingerprint) ->
+            url !in current && now - fingerprint.checkedAt >= fingerprintTtl.toMillis()
+        }.keys
+        redisRepository.removePageFingerprints(expired)
+    }
+
+    private fun sha256(text: String): String {
+        return MessageDigest.getInstance("SHA-256")
+            .digest(text.toByteArray())
+            .joinToString("") { "%02x".format(it) }
     }
 
     /**
      * -- 베스트셀러 변동 없을때 로그 메소드 --
      *
+     * @param -- category yes24 카테고리 번호 --
      * @author -- 정재익 --
      * @since -- 3월 09일 --
      */
-    fun logNoChange() {
-        logger.info("베스트셀러 변경 없음. 크롤링 생략")
+    fun logNoChange(category: String) {
+        logger.info("{} 베스트셀러 변경 없음. 크롤링 생략", category)
     }
 
     /**
@@ -154,4 +363,4 @@ class CrawlingService(private val bookService: BookService) {
     private fun extractThread(str: Any) {
         logger.info("${Thread.currentThread().name} ${str} 실행 ${java.time.LocalDateTime.now()}")
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,258 @@
+package com.project.backend.domain.book.crawling
+
+import io.micrometer.core.instrument.DistributionSummary
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import jakarta.annotation.PreDestroy
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.future.await
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import org.jsoup.Jsoup
+import org.jsoup.nodes.Document
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.stereotype.Component
+import java.io.ByteArrayInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.net.URI
+import java.net.http.HttpClient
+import java.net.http.HttpRequest
+import java.net.http.HttpResponse
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.zip.GZIPInputStream
+
+/**
+ * -- 크롤링 페이지 요청 클래스 --
+ * 크롤링하는 모든 페이지를 HttpClient 하나로 요청하여 연결을 재사용한다
+ * 1. 연결 실패, 5xx, 429 응답과 isComplete를 통과하지 못한 불완전한 페이지는 지수 백오프 + 지터 후 다시 요청
+ * 2. 호스트별로 동시 요청 수와 요청 시작 간격을 제한하여 대상 사이트에 부담을 주지 않음
+ * 3. 페이지별 시도 횟수, 받은 바이트 수, 파싱 시간을 /actuator/metrics에 노출
+ * 4. snapshot-record-dir을 지정하면 받은 완전한 페이지를 SnapshotPageSource가 읽는 파일 이름으로 저장
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+@ConditionalOnProperty(name = ["book.crawling.page-source"], havingValue = "live", matchIfMissing = true)
+class PageFetcher(
+    private val meterRegistry: MeterRegistry,
+    @Value("\${book.crawling.connect-timeout:3s}") connectTimeout: Duration,
+    @Value("\${book.crawling.request-timeout:10s}") private val requestTimeout: Duration,
+    @Value("\${book.crawling.max-attempts:3}") private val maxAttempts: Int,
+    @Value("\${book.crawling.backoff-initial:500ms}") private val backoffInitial: Duration,
+    @Value("\${book.crawling.backoff-max:5s}") private val backoffMax: Duration,
+    @Value("\${book.crawling.host-max-concurrency:5}") private val hostMaxConcurrency: Int,
+    @Value("\${book.crawling.host-min-interval:200ms}") private val hostMinInterval: Duration,
+    @Value("\${book.crawling.user-agent:Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/122.0 Safari/537.36}")
+    private val userAgent: String,
+    @Value("\${book.crawling.snapshot-record-dir:}") private val snapshotRecordDir: String
+) : PageSource {
+    private val logger = LoggerFactory.getLogger(PageFetcher::class.java)
+    private val fetchExecutor: ExecutorService = Executors.newVirtualThreadPerTaskExecutor()
+
+    private val httpClient: HttpClient = HttpClient.newBuilder()
+        .connectTimeout(connectTimeout)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .executor(fetchExecutor)
+        .build()
+
+    private val hosts = ConcurrentHashMap<String, HostPoliteness>()
+
+    private val attemptsSummary = DistributionSummary.builder("crawling.page.attempts")
+        .description("크롤링 페이지별 요청 시도 횟수")
+        .register(meterRegistry)
+
+    private val bytesSummary = DistributionSummary.builder("crawling.page.bytes")
+        .description("크롤링 페이지별 받은 바이트 수 (압축된 크기)")
+        .baseUnit("bytes")
+        .register(meterRegistry)
+
+    private val parseTimer = Timer.builder("crawling.page.parse")
+        .description("크롤링 페이지 파싱 시간")
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+
+    companion object {
+        private const val HTTP_NOT_MODIFIED = 304
+        private const val HTTP_TOO_MANY_REQUESTS = 429
+    }
+
+    /**
+     * -- 호스트별 요청 제한 --
+     * 동시 요청 수는 코루틴 Semaphore로, 요청 시작 간격은 시작 시각을 minInterval 간격으로 예약하여 제한한다
+     * 기다리는 동안 스레드를 점유하지 않는다
+     */
+    private class HostPoliteness(maxConcurrency: Int, private val minIntervalNanos: Long) {
+        private val permits = Semaphore(maxConcurrency)
+        private val nextSlot = AtomicLong(System.nanoTime())
+
+        suspend fun <T> execute(block: suspend () -> T): T = permits.withPermit {
+            val slot = nextSlot.getAndUpdate { maxOf(it, System.nanoTime()) + minIntervalNanos }
+            val wait = slot - System.nanoTime()
+            if (wait > 0) {
+                delay(TimeUnit.NANOSECONDS.toMillis(wait))
+            }
+            block()
+        }
+    }
+
+    /**
+     * -- 페이지 요청 메서드 --
+     * 받은 페이지가 isComplete를 통과하지 못하면 같은 문서를 다시 파싱하지 않고 HTTP 요청부터 다시 한다
+     * 재시도를 모두 쓰면 마지막으로 받은 페이지를 complete = false로 반환한다
+     *
+     * @param -- url 요청할 주소 --
+     * @param -- etag 이전 응답의 ETag, 있으면 If-None-Match로 보냄 --
+     * @param -- lastModified 이전 응답의 Last-Modified, 있으면 If-Modified-Since로 보냄 --
+     * @param -- isComplete 페이지가 모두 로드되었는지 검사하는 함수 --
+     * @return -- FetchedDocument --
+     * @throws -- IOException 재시도를 모두 써도 응답을 받지 못했거나 재시도하지 않는 오류 응답 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    override suspend fun fetch(
+        url: String,
+        etag: String?,
+        lastModified: String?,
+        isComplete: (Document) -> Boolean
+    ): PageSource.FetchedDocument {
+        val uri = URI.create(url)
+        val politeness = hosts.computeIfAbsent(uri.host) {
+            HostPoliteness(hostMaxConcurrency, hostMinInterval.toNanos())
+        }
+        val request = buildRequest(uri, etag, lastModified)
+
+        var attempt = 0
+        var lastResult: PageSource.FetchedDocument? = null
+        try {
+            while (true) {
+                attempt++
+                val response = try {
+                    politeness.execute { httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).await() }
+                } catch (e: IOException) {
+                    record(uri, "error")
+                    if (attempt >= maxAttempts) {
+                        throw e
+                    }
+                    logger.debug("페이지 요청 실패 {}회: {}", attempt, url, e)
+                    delay(backoff(attempt).toMillis())
+                    continue
+                }
+
+                val status = response.statusCode()
+                record(uri, "$status")
+
+                var retryAfter = Duration.ZERO
+                when {
+                    status == HTTP_NOT_MODIFIED ->
+                        return PageSource.FetchedDocument(status, null, header(response, "ETag"), header(response, "Last-Modified"), true)
+
+                    status in 200..299 -> {
+                        val result = parse(response, url, isComplete)
+                        if (result.complete) {
+                            saveSnapshot(url, result)
+                            return result
+                        }
+                        lastResult = result
+                    }
+
+                    status >= 500 || status == HTTP_TOO_MANY_REQUESTS ->
+                        header(response, "Retry-After")?.toLongOrNull()?.let { retryAfter = Duration.ofSeconds(it) }
+
+                    else -> throw IOException("재시도하지 않는 응답 $status: $url")
+                }
+
+                if (attempt >= maxAttempts) {
+                    return lastResult ?: throw IOException("재시도 횟수 초과 $status: $url")
+                }
+                delay(maxOf(backoff(attempt), retryAfter).toMillis())
+            }
+        } finally {
+            attemptsSummary.record(attempt.toDouble())
+        }
+    }
+
+    /**
+     * -- 백오프 계산 메서드 --
+     * backoffInitial * 2^(attempt - 1)을 backoffMax로 자른 값의 절반에서 전체 사이의 임의 시간 (equal jitter)
+     *
+     * @param -- attempt 지금까지 시도한 횟수 --
+     * @return -- Duration 다음 요청까지 대기 시간 --
+     */
+    private fun backoff(attempt: Int): Duration {
+        val exponential = backoffInitial.toMillis() shl minOf(attempt - 1, 20)
+        val capped = minOf(exponential, backoffMax.toMillis())
+        val half = capped / 2
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1))
+    }
+
+    private fun buildRequest(uri: URI, etag: String?, lastModified: String?): HttpRequest {
+        val builder = HttpRequest.newBuilder(uri).GET()
+            .timeout(requestTimeout)
+            .header("User-Agent", userAgent)
+            .header("Accept", "text/html,application/xhtml+xml")
+            .header("Accept-Encoding", "gzip")
+        etag?.let { builder.header("If-None-Match", it) }
+        lastModified?.let { builder.header("If-Modified-Since", it) }
+        return builder.build()
+    }
+
+    private fun parse(response: HttpResponse<ByteArray>, url: String, isComplete: (Document) -> Boolean): PageSource.FetchedDocument {
+        val body = response.body()
+        bytesSummary.record(body.size.toDouble())
+
+        val doc = parseTimer.recordCallable {
+            decode(response, body).use { Jsoup.parse(it, null, url) }
+        }!!
+        return PageSource.FetchedDocument(
+            response.statusCode(), doc, header(response, "ETag"), header(response, "Last-Modified"), isComplete(doc)
+        )
+    }
+
+    private fun decode(response: HttpResponse<ByteArray>, body: ByteArray): InputStream {
+        val input = ByteArrayInputStream(body)
+        return if (header(response, "Content-Encoding").equals("gzip", ignoreCase = true)) GZIPInputStream(input) else input
+    }
+
+    private fun header(response: HttpResponse<*>, name: String): String? = response.headers().firstValue(name).orElse(null)
+
+    private fun saveSnapshot(url: String, result: PageSource.FetchedDocument) {
+        if (snapshotRecordDir.isBlank() || result.doc == null) {
+            return
+        }
+        try {
+            val dir = Path.of(snapshotRecordDir)
+            Files.createDirectories(dir)
+            Files.writeString(dir.resolve(SnapshotPageSource.fileName(url)), result.doc.outerHtml())
+        } catch (e: IOException) {
+            logger.warn("스냅샷 저장 실패: {}", url, e)
+        }
+    }
+
+    private fun record(uri: URI, outcome: String) {
+        meterRegistry.counter("crawling.page.requests", "host", uri.host, "outcome", outcome).increment()
+    }
+
+    /**
+     * -- 크롤링 요청 스레드 종료 메소드 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @PreDestroy
+    fun shutdown() {
+        fetchExecutor.shutdownNow()
+    }
+}
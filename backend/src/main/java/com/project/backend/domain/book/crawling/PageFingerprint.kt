@@ -0,0 +1,46 @@
+package com.project.backend.domain.book.crawling
+
+/**
+ * -- 상세페이지 지문 --
+ * 베스트셀러 상세페이지 url별로 마지막으로 확인한 상태를 Redis에 저장한다
+ * etag, lastModified는 조건부 요청(If-None-Match, If-Modified-Since)에 사용하고
+ * contentHash는 페이지에서 추출한 도서 정보의 해시로, 응답 본문에 광고 등 매번 바뀌는 부분이 있어도 도서 정보가 같으면 변경 없음으로 본다
+ *
+ * @param -- isbn 페이지의 도서 isbn, 순위만 바뀐 경우 재크롤링 없이 이 값으로 순위를 반영 --
+ * @param -- contentHash 추출한 도서 정보의 해시 --
+ * @param -- checkedAt 마지막으로 페이지를 확인한 시각 (epoch millis) --
+ * @param -- etag 응답 ETag 헤더 --
+ * @param -- lastModified 응답 Last-Modified 헤더 --
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+data class PageFingerprint(
+    val isbn: String,
+    val contentHash: String,
+    val checkedAt: Long,
+    val etag: String? = null,
+    val lastModified: String? = null
+) {
+    companion object {
+        private const val DELIMITER = "\t"
+
+        /**
+         * -- Redis 값 변환 메소드 --
+         *
+         * @param -- value encode()로 저장한 값 --
+         * @return -- PageFingerprint? 형식이 맞지 않으면 null --
+         */
+        fun decode(value: String): PageFingerprint? {
+            val parts = value.split(DELIMITER)
+            if (parts.size != 5) {
+                return null
+            }
+            val checkedAt = parts[2].toLongOrNull() ?: return null
+            return PageFingerprint(parts[0], parts[1], checkedAt, parts[3].ifEmpty { null }, parts[4].ifEmpty { null })
+        }
+    }
+
+    fun encode(): String = listOf(isbn, contentHash, checkedAt, etag.orEmpty(), lastModified.orEmpty())
+        .joinToString(DELIMITER)
+}
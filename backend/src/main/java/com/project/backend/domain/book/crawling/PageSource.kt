@@ -0,0 +1,52 @@
+package com.project.backend.domain.book.crawling
+
+import org.jsoup.nodes.Document
+
+/**
+ * -- 크롤링 페이지 공급 인터페이스 --
+ * book.crawling.page-source 설정으로 구현체를 고른다
+ * 1. live(기본값): PageFetcher가 실제 사이트에 요청
+ * 2. snapshot: SnapshotPageSource가 snapshot-dir에 저장된 html 파일을 읽음 (네트워크 없이 크롤링 재현, 파서 튜닝용)
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+interface PageSource {
+
+    /**
+     * -- 요청 결과 --
+     *
+     * @param -- status HTTP 상태 코드 --
+     * @param -- doc 파싱된 페이지, 304면 null --
+     * @param -- etag 응답 ETag 헤더 --
+     * @param -- lastModified 응답 Last-Modified 헤더 --
+     * @param -- complete isComplete 통과 여부, 재시도를 모두 써도 불완전하면 false --
+     */
+    data class FetchedDocument(
+        val status: Int,
+        val doc: Document?,
+        val etag: String?,
+        val lastModified: String?,
+        val complete: Boolean
+    )
+
+    /**
+     * -- 페이지 요청 메서드 --
+     *
+     * @param -- url 요청할 주소 --
+     * @param -- etag 이전 응답의 ETag --
+     * @param -- lastModified 이전 응답의 Last-Modified --
+     * @param -- isComplete 페이지가 모두 로드되었는지 검사하는 함수 --
+     * @return -- FetchedDocument --
+     * @throws -- IOException 페이지를 가져오지 못한 경우 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    suspend fun fetch(
+        url: String,
+        etag: String? = null,
+        lastModified: String? = null,
+        isComplete: (Document) -> Boolean = { true }
+    ): FetchedDocument
+}
@@ -0,0 +1,64 @@
+package com.project.backend.domain.book.crawling
+
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+import org.jsoup.Jsoup
+import org.jsoup.nodes.Document
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.stereotype.Component
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * -- 저장된 html 페이지 공급 클래스 --
+ * book.crawling.page-source=snapshot일 때 실제 사이트 대신 snapshot-dir의 html 파일을 읽는다
+ * 파일 이름은 url에서 스킴을 떼고 영문, 숫자, '.', '-', '=' 이외의 문자를 '_'로 바꾼 뒤 .html을 붙인 것
+ * (PageFetcher의 snapshot-record-dir로 실제 페이지를 같은 이름으로 저장할 수 있음)
+ * 조건부 요청 헤더는 무시하고 항상 200으로 응답하며 파일이 없으면 요청 실패로 처리한다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+@ConditionalOnProperty(name = ["book.crawling.page-source"], havingValue = "snapshot")
+class SnapshotPageSource(
+    @Value("\${book.crawling.snapshot-dir}") snapshotDir: String
+) : PageSource {
+    private val logger = LoggerFactory.getLogger(SnapshotPageSource::class.java)
+    private val dir: Path = Path.of(snapshotDir)
+
+    companion object {
+        private const val HTTP_OK = 200
+        private val UNSAFE = Regex("[^A-Za-z0-9.=-]")
+
+        /**
+         * -- url에 해당하는 스냅샷 파일 이름 --
+         *
+         * @param -- url 페이지 주소 --
+         * @return -- String 파일 이름 --
+         */
+        @JvmStatic
+        fun fileName(url: String): String {
+            return url.substringAfter("://").replace(UNSAFE, "_") + ".html"
+        }
+    }
+
+    override suspend fun fetch(
+        url: String,
+        etag: String?,
+        lastModified: String?,
+        isComplete: (Document) -> Boolean
+    ): PageSource.FetchedDocument = withContext(Dispatchers.IO) {
+        val file = dir.resolve(fileName(url))
+        if (!Files.isRegularFile(file)) {
+            logger.debug("스냅샷 없음: {} ({})", url, file)
+            throw IOException("스냅샷 없음: $url")
+        }
+
+        val doc = Jsoup.parse(file.toFile(), "UTF-8", url)
+        PageSource.FetchedDocument(HTTP_OK, doc, null, null, isComplete(doc))
+    }
+}
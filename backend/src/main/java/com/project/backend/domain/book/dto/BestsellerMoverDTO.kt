@@ -0,0 +1,25 @@
+package com.project.backend.domain.book.dto
+
+/**
+ * -- 베스트셀러 순위 급상승 도서 DTO --
+ *
+ * @param -- bookId 도서 id --
+ * @param -- isbn isbn --
+ * @param -- title 제목 --
+ * @param -- image 이미지 --
+ * @param -- ranking 현재 순위 --
+ * @param -- previousRanking 기준 시각의 순위, 새로 진입했으면 null --
+ * @param -- change 오른 순위 수, 새로 진입한 도서는 (기준 목록 크기 + 1 - 현재 순위) --
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+data class BestsellerMoverDTO(
+    val bookId: Long,
+    val isbn: String,
+    val title: String,
+    val image: String,
+    val ranking: Int,
+    val previousRanking: Int?,
+    val change: Int
+)
@@ -0,0 +1,17 @@
+package com.project.backend.domain.book.dto
+
+import java.time.LocalDateTime
+
+/**
+ * -- 베스트셀러 순위 이력 DTO --
+ *
+ * @param -- crawledAt 스냅샷 시각 --
+ * @param -- ranking 순위, 목록에 없으면 null --
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+data class BestsellerRankPointDTO(
+    val crawledAt: LocalDateTime,
+    val ranking: Int?
+)
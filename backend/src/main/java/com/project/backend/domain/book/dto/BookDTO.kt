@@ -2,11 +2,12 @@ package com.project.backend.domain.book.dto
 
 /**
  * -- Book엔티티의 DTO --
+ * 평균 평점과 리뷰 수는 BookReviewStatsService가 조회할 때 채운다
  *
  * @author -- 정재익 --
  * @since -- 1월 27일 --
  */
-data class BookDTO(
+data class BookDTO @JvmOverloads constructor(
     val id: Long?,
     val title: String = "제목 정보 없음",
     val author: String = "작가 정보 없음",
@@ -14,4 +15,6 @@ data class BookDTO(
     val image: String = "이미지 정보 없음",
     val isbn: String,
     val ranking: Int?,
-    var favoriteCount: Int? = 0)
+    var favoriteCount: Int? = 0,
+    val ratingAverage: Double? = null,
+    val reviewCount: Long? = 0)
@@ -0,0 +1,13 @@
+package com.project.backend.domain.book.dto
+
+/**
+ * -- 전문검색 순위 결과 프로젝션 --
+ * 도서 id와 MATCH ... AGAINST 관련도 점수만 담는다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+interface BookSearchHit {
+    val id: Long
+    val score: Double
+}
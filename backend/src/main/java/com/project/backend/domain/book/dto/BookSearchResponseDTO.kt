@@ -0,0 +1,16 @@
+package com.project.backend.domain.book.dto
+
+import org.springframework.data.domain.Page
+
+/**
+ * -- 부분 결과 도서 검색 응답 DTO --
+ * partial이 true이면 네이버, 카카오 API 보충 검색이 아직 진행중이므로
+ * 재요청하거나 SSE search 이벤트를 받은 뒤 다시 조회하면 갱신된 결과를 받을 수 있다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 12일 --
+ */
+data class BookSearchResponseDTO(
+    val books: Page<BookDTO>,
+    val partial: Boolean
+)
@@ -0,0 +1,35 @@
+package com.project.backend.domain.book.dto
+
+import java.time.LocalDateTime
+
+/**
+ * -- 크롤링 작업 상태 DTO --
+ *
+ * @param -- id 작업 id --
+ * @param -- trigger 실행 주체 (scheduler 또는 관리자 아이디) --
+ * @param -- slot 실행 슬롯 --
+ * @param -- state RUNNING, COMPLETED, SKIPPED, FAILED, CANCELLED, TIMED_OUT --
+ * @param -- total 베스트셀러 목록 항목 수 --
+ * @param -- skipped 순위만 반영한 항목 수 --
+ * @param -- fetched 상세페이지를 요청한 항목 수 --
+ * @param -- failed 요청 실패 항목 수 --
+ * @param -- saved DB에 저장한 항목 수 --
+ * @param -- message 실패 사유 --
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+data class CrawlJobStatusDTO(
+    val id: Long,
+    val trigger: String,
+    val slot: String,
+    val state: String,
+    val startedAt: LocalDateTime,
+    val finishedAt: LocalDateTime?,
+    val total: Int,
+    val skipped: Int,
+    val fetched: Int,
+    val failed: Int,
+    val saved: Int,
+    val message: String?
+)
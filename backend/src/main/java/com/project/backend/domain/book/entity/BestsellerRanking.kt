@@ -0,0 +1,36 @@
+package com.project.backend.domain.book.entity
+
+import jakarta.persistence.*
+import java.time.LocalDateTime
+
+/**
+ * -- 카테고리별 베스트셀러 순위 엔티티 --
+ * 크롤링할 때마다 카테고리의 순위 전체를 교체하며 조회는 Redis bestseller:{카테고리} ZSET에서 한다
+ * 이 테이블은 Redis가 비었을 때 ZSET을 다시 만드는 원본이다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Entity
+@Table(
+    name = "bestseller_ranking",
+    uniqueConstraints = [UniqueConstraint(name = "uk_bestseller_category_ranking", columnNames = ["category", "ranking"])],
+    indexes = [Index(name = "idx_bestseller_book", columnList = "book_id")]
+)
+class BestsellerRanking(
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    val id: Long? = null,
+
+    @Column(length = 20, nullable = false)
+    val category: String,
+
+    @Column(nullable = false)
+    val ranking: Int,
+
+    @Column(name = "book_id", nullable = false)
+    val bookId: Long,
+
+    @Column(name = "crawled_at", nullable = false)
+    val crawledAt: LocalDateTime
+)
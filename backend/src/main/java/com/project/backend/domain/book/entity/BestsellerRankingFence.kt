@@ -0,0 +1,24 @@
+package com.project.backend.domain.book.entity
+
+import jakarta.persistence.*
+
+/**
+ * -- 카테고리별 베스트셀러 순위 펜싱 토큰 엔티티 --
+ * 카테고리 순위를 마지막으로 반영한 크롤링 잠금의 펜싱 토큰을 저장한다
+ * 순위 반영 트랜잭션의 첫 문장에서 토큰이 저장된 값 이상일 때만 갱신하고 행 잠금을 커밋까지 유지하므로
+ * Redis에서 토큰을 확인한 뒤 lease가 끝나도 새 노드가 반영한 순위를 이전 노드가 덮어쓰지 못한다
+ * Redis의 펜싱 토큰 카운터를 초기화하면 이 테이블도 함께 비워야 한다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Entity
+@Table(name = "bestseller_ranking_fence")
+class BestsellerRankingFence(
+    @Id
+    @Column(length = 20)
+    val category: String,
+
+    @Column(name = "last_token", nullable = false)
+    val lastToken: Long
+)
@@ -0,0 +1,45 @@
+package com.project.backend.domain.book.entity
+
+import jakarta.persistence.*
+import java.time.LocalDateTime
+
+/**
+ * -- 베스트셀러 스냅샷 엔티티 --
+ * 크롤링으로 순위를 반영할 때마다 카테고리의 순위 순서 도서 id 배열을 한 행씩 추가만 한다
+ * payload는 BestsellerSnapshotCodec으로 인코딩하며 keyframe이 아니면 같은 카테고리 직전 스냅샷 기준 델타이다
+ * 조회는 모두 카테고리로 거르고 id로 정렬하거나 찾으므로 (category, id)와 keyframe 조회용 (category, keyframe, id) 인덱스를 둔다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Entity
+@Table(
+    name = "bestseller_snapshot",
+    indexes = [
+        Index(name = "idx_snapshot_category_keyframe_id", columnList = "category, keyframe, id"),
+        Index(name = "idx_snapshot_category_id", columnList = "category, id")
+    ]
+)
+class BestsellerSnapshot(
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    val id: Long? = null,
+
+    @Column(length = 20, nullable = false)
+    val category: String,
+
+    @Column(name = "run_id", nullable = false)
+    val runId: Long,
+
+    @Column(name = "crawled_at", nullable = false)
+    val crawledAt: LocalDateTime,
+
+    @Column(nullable = false)
+    val keyframe: Boolean,
+
+    @Column(name = "entry_count", nullable = false)
+    val entryCount: Int,
+
+    @Column(nullable = false, columnDefinition = "BLOB")
+    val payload: ByteArray
+)
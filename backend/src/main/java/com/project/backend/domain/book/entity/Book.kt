@@ -5,11 +5,13 @@ import jakarta.persistence.*
 
 /**
  * -- 책 엔티티 --
+ * 베스트셀러 순위 초기화, 순위 도서 조회가 순위 있는 행만 읽도록 ranking에 인덱스를 둠
  *
  * @author -- 정재익 --
  * @since -- 1월 27일 --
  */
 @Entity
+@Table(indexes = [Index(name = "idx_book_ranking", columnList = "ranking")])
 class Book(
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -13,5 +13,11 @@ enum class BookErrorCode(val status: HttpStatus, val code: String, val message:
     QUERY_EMPTY(HttpStatus.BAD_REQUEST, "QUERY_EMPTY", "잘못된 검색어 입니다."),
     BOOK_NOT_FOUND(HttpStatus.NOT_FOUND, "BOOK_NOT_FOUND", "해당 도서를 찾을 수 없습니다."),
     NO_FAVORITE_BOOKS(HttpStatus.NOT_FOUND, "NO_FAVORITE_BOOKS", "찜한 도서가 없습니다."),
-    ID_NOT_NULL(HttpStatus.NOT_FOUND, "ID_NOT_NULL", "ID는 NULL이 될 수 없습니다.")
+    ID_NOT_NULL(HttpStatus.NOT_FOUND, "ID_NOT_NULL", "ID는 NULL이 될 수 없습니다."),
+    API_REQUEST_FAILED(HttpStatus.BAD_GATEWAY, "API_REQUEST_FAILED", "외부 도서 API 요청에 실패했습니다."),
+    API_CIRCUIT_OPEN(HttpStatus.SERVICE_UNAVAILABLE, "API_CIRCUIT_OPEN", "외부 도서 API가 일시적으로 차단되었습니다."),
+    CRAWLING_LOCK_LOST(HttpStatus.CONFLICT, "CRAWLING_LOCK_LOST", "크롤링 작업 잠금을 다른 노드가 가져갔습니다."),
+    CRAWLING_ALREADY_RUNNING(HttpStatus.CONFLICT, "CRAWLING_ALREADY_RUNNING", "이미 크롤링 작업이 실행중입니다."),
+    CRAWLING_FORBIDDEN(HttpStatus.FORBIDDEN, "CRAWLING_FORBIDDEN", "크롤링 관리 권한이 없습니다."),
+    CATEGORY_NOT_FOUND(HttpStatus.NOT_FOUND, "CATEGORY_NOT_FOUND", "지원하지 않는 베스트셀러 카테고리입니다.")
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.project.backend.domain.book.repository
+
+import com.project.backend.domain.book.entity.BestsellerRanking
+import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.stereotype.Repository
+
+/**
+ * -- 카테고리별 베스트셀러 순위 저장소 --
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Repository
+interface BestsellerRankingRepository : JpaRepository<BestsellerRanking, Long> {
+
+    /**
+     * -- 카테고리 순위 전체 조회 메소드 --
+     * Redis ZSET을 다시 만들 때 사용
+     *
+     * @param -- category 카테고리 번호 --
+     * @return -- List<BestsellerRanking> 순위 오름차순 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun findByCategoryOrderByRankingAsc(category: String): List<BestsellerRanking>
+}
@@ -0,0 +1,77 @@
+package com.project.backend.domain.book.repository
+
+import com.project.backend.domain.book.entity.BestsellerSnapshot
+import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.stereotype.Repository
+import java.time.LocalDateTime
+
+/**
+ * -- 베스트셀러 스냅샷 저장소 --
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Repository
+interface BestsellerSnapshotRepository : JpaRepository<BestsellerSnapshot, Long> {
+
+    /**
+     * -- 카테고리의 가장 최근 스냅샷 조회 메소드 --
+     *
+     * @param -- category 카테고리 번호 --
+     * @return -- BestsellerSnapshot? --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun findTopByCategoryOrderByIdDesc(category: String): BestsellerSnapshot?
+
+    /**
+     * -- 기준 시각 이전의 가장 최근 키프레임 조회 메소드 --
+     * 델타를 풀기 시작할 위치로 사용
+     *
+     * @param -- category 카테고리 번호 --
+     * @param -- crawledAt 기준 시각 --
+     * @return -- BestsellerSnapshot? --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun findTopByCategoryAndKeyframeTrueAndCrawledAtLessThanEqualOrderByIdDesc(
+        category: String,
+        crawledAt: LocalDateTime
+    ): BestsellerSnapshot?
+
+    /**
+     * -- 카테고리의 가장 최근 키프레임 조회 메소드 --
+     *
+     * @param -- category 카테고리 번호 --
+     * @return -- BestsellerSnapshot? --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun findTopByCategoryAndKeyframeTrueOrderByIdDesc(category: String): BestsellerSnapshot?
+
+    /**
+     * -- 카테고리의 가장 오래된 키프레임 조회 메소드 --
+     *
+     * @param -- category 카테고리 번호 --
+     * @return -- BestsellerSnapshot? --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun findTopByCategoryAndKeyframeTrueOrderByIdAsc(category: String): BestsellerSnapshot?
+
+    /**
+     * -- 시작 스냅샷부터 순서대로 조회하는 메소드 --
+     *
+     * @param -- category 카테고리 번호 --
+     * @param -- id 시작 스냅샷 id (키프레임) --
+     * @return -- List<BestsellerSnapshot> id 오름차순 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun findByCategoryAndIdGreaterThanEqualOrderByIdAsc(category: String, id: Long): List<BestsellerSnapshot>
+}
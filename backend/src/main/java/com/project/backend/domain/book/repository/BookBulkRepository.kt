@@ -0,0 +1,217 @@
+package com.project.backend.domain.book.repository
+
+import com.project.backend.domain.book.entity.Book
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.support.GeneratedKeyHolder
+import org.springframework.stereotype.Repository
+import java.sql.Statement
+import java.sql.Timestamp
+import java.time.LocalDateTime
+
+/**
+ * -- 도서 대량 저장소 --
+ * Book은 IDENTITY 전략이라 Hibernate의 jdbc batch_size가 적용되지 않아 persist마다 INSERT가 한 번씩 나간다
+ * 여러 행을 한 문장으로 묶은 INSERT로 청크당 한 번에 저장한다
+ * 중복 isbn은 ON DUPLICATE KEY UPDATE id = id로 건너뛰어 INSERT IGNORE와 달리 길이 초과, NOT NULL 위반은 오류로 남긴다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Repository
+class BookBulkRepository(private val jdbcTemplate: JdbcTemplate) {
+
+    companion object {
+        const val CHUNK_SIZE = 1000
+        private const val INSERT_PREFIX =
+            "INSERT INTO book (title, author, description, image, isbn, ranking, favorite_count) VALUES "
+        private const val ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?)"
+        private const val INSERT_SUFFIX = " ON DUPLICATE KEY UPDATE id = id"
+        private const val UPSERT_PREFIX = "INSERT INTO book (title, author, description, image, isbn) VALUES "
+        private const val UPSERT_ROW_PLACEHOLDER = "(?, ?, ?, ?, ?)"
+        private const val UPSERT_SUFFIX = " ON DUPLICATE KEY UPDATE title = VALUES(title), author = VALUES(author), " +
+            "description = VALUES(description), image = VALUES(image)"
+    }
+
+    /**
+     * -- 도서 대량 저장 메서드 --
+     * isbn이 이미 있는 도서는 바꾸지 않고 건너뛰어 중복 검사 조회 없이 한 문장으로 저장한다
+     * 생성된 키의 첫 id를 반환하며 새로 저장된 행은 모두 이 id 이상이고 이미 있던 행은 모두 이 id보다 작다
+     *
+     * @param -- books 저장할 도서 목록 (CHUNK_SIZE개 이하) --
+     * @return -- Long? 새로 저장된 첫 도서 id, 저장된 도서가 없으면 null --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun insertAll(books: List<Book>): Long? {
+        if (books.isEmpty()) {
+            return null
+        }
+
+        val sql = INSERT_PREFIX + List(books.size) { ROW_PLACEHOLDER }.joinToString(", ") + INSERT_SUFFIX
+        val args = books.flatMap {
+            listOf(it.title, it.author, it.description, it.image, it.isbn, it.ranking, it.favoriteCount ?: 0)
+        }
+        val keyHolder = GeneratedKeyHolder()
+        jdbcTemplate.update({ connection ->
+            connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS).also { statement ->
+                args.forEachIndexed { index, arg -> statement.setObject(index + 1, arg) }
+            }
+        }, keyHolder)
+        return keyHolder.keyList.mapNotNull { (it.values.firstOrNull() as? Number)?.toLong() }.minOrNull()
+    }
+
+    /**
+     * -- 도서 정보 대량 저장, 수정 메서드 --
+     * 새 도서는 저장하고 isbn이 이미 있는 도서는 제목, 작가, 설명, 이미지만 덮어쓴다
+     * 순위와 찜 수는 건드리지 않으며 순위는 applyRankings로 따로 반영한다
+     *
+     * @param -- books 저장할 도서 목록 (CHUNK_SIZE개 이하) --
+     * @return -- Int 영향받은 행 수 (MySQL 기준 저장 1, 수정 2, 변경 없음 0) --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun upsert(books: List<Book>): Int {
+        if (books.isEmpty()) {
+            return 0
+        }
+
+        val sql = UPSERT_PREFIX + List(books.size) { UPSERT_ROW_PLACEHOLDER }.joinToString(", ") + UPSERT_SUFFIX
+        val args = books.flatMap { listOf(it.title, it.author, it.description, it.image, it.isbn) }
+        return jdbcTemplate.update(sql, *args.toTypedArray())
+    }
+
+    /**
+     * -- 베스트셀러 순위 일괄 반영 메서드 --
+     * 1. 새 목록에 없는 도서 중 순위가 있는 도서만 순위를 지움
+     * 2. 새 순위 목록을 UNION ALL 파생 테이블로 만들어 한 번의 조인 업데이트로 반영하며 순위가 바뀐 행만 갱신
+     * 목록 크기와 상관없이 두 문장으로 끝나 전체 테이블 UPDATE와 행마다 조회, 병합하던 방식을 대체한다
+     * 순위를 지우는 문장은 idx_book_ranking으로 순위가 있는 행만 읽고 잠근다
+     *
+     * @param -- rankings isbn별 새 순위 (CHUNK_SIZE개 이하) --
+     * @return -- Int 순위가 바뀐 도서 수 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun applyRankings(rankings: Map<String, Int>): Int {
+        if (rankings.isEmpty()) {
+            return jdbcTemplate.update("UPDATE book SET ranking = NULL WHERE ranking IS NOT NULL")
+        }
+
+        val isbns = rankings.keys.toList()
+        val cleared = jdbcTemplate.update(
+            "UPDATE book SET ranking = NULL WHERE ranking IS NOT NULL AND isbn NOT IN (" +
+                List(isbns.size) { "?" }.joinToString(", ") + ")",
+            *isbns.toTypedArray()
+        )
+
+        val derived = List(rankings.size) { if (it == 0) "SELECT ? AS isbn, ? AS ranking" else "SELECT ?, ?" }
+            .joinToString(" UNION ALL ")
+        val updated = jdbcTemplate.update(
+            "UPDATE book b JOIN ($derived) r ON b.isbn = r.isbn " +
+                "SET b.ranking = r.ranking WHERE NOT (b.ranking <=> r.ranking)",
+            *rankings.flatMap { (isbn, ranking) -> listOf(isbn, ranking) }.toTypedArray()
+        )
+        return cleared + updated
+    }
+
+    /**
+     * -- 찜 수 다시 세기 메서드 --
+     * 도서들의 favorite_count를 favorite 테이블의 행 수로 한 문장에 맞추며 값이 바뀐 행만 갱신한다
+     *
+     * @param -- bookIds 도서 id 목록 (CHUNK_SIZE개 이하) --
+     * @return -- Int 찜 수가 바뀐 도서 수 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun recountFavorites(bookIds: Collection<Long>): Int {
+        if (bookIds.isEmpty()) {
+            return 0
+        }
+
+        val placeholders = List(bookIds.size) { "?" }.joinToString(", ")
+        return jdbcTemplate.update(
+            "UPDATE book b LEFT JOIN (SELECT book_id, COUNT(*) AS cnt FROM favorite WHERE book_id IN ($placeholders) " +
+                "GROUP BY book_id) f ON f.book_id = b.id " +
+                "SET b.favorite_count = COALESCE(f.cnt, 0) " +
+                "WHERE b.id IN ($placeholders) AND NOT (b.favorite_count <=> COALESCE(f.cnt, 0))",
+            *(bookIds + bookIds).toTypedArray()
+        )
+    }
+
+    /**
+     * -- 고아 도서 삭제 메서드 --
+     * 주어진 도서 중 찜 수가 0이고 찜, 리뷰, 베스트셀러 순위 어디에서도 참조되지 않는 도서만 삭제한다
+     * 찜 수는 FavoriteCountBuffer 반영 전일 수 있으므로 favorite 행이 없는지도 직접 확인한다
+     *
+     * @param -- bookIds 검사할 도서 id 목록 (CHUNK_SIZE개 이하) --
+     * @return -- Int 삭제된 도서 수 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun deleteOrphanBooks(bookIds: Collection<Long>): Int {
+        if (bookIds.isEmpty()) {
+            return 0
+        }
+
+        val placeholders = List(bookIds.size) { "?" }.joinToString(", ")
+        return jdbcTemplate.update(
+            "DELETE b FROM book b WHERE b.id IN ($placeholders) " +
+                "AND COALESCE(b.favorite_count, 0) = 0 AND b.ranking IS NULL " +
+                "AND NOT EXISTS (SELECT 1 FROM favorite f WHERE f.book_id = b.id) " +
+                "AND NOT EXISTS (SELECT 1 FROM review r WHERE r.book_id = b.id) " +
+                "AND NOT EXISTS (SELECT 1 FROM bestseller_ranking br WHERE br.book_id = b.id)",
+            *bookIds.toTypedArray()
+        )
+    }
+
+    /**
+     * -- 카테고리 순위 교체 메서드 --
+     * 카테고리의 이전 순위를 지우고 새 순위를 jdbc batch로 저장한다
+     * 다른 카테고리의 순위와 book 테이블은 건드리지 않는다
+     *
+     * @param -- category 카테고리 번호 --
+     * @param -- bookIdsByRanking 순위별 도서 id --
+     * @param -- crawledAt 크롤링 시각 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    /**
+     * -- 순위 펜싱 토큰 갱신 메서드 --
+     * 카테고리의 마지막 펜싱 토큰보다 작지 않은 토큰일 때만 갱신하고 갱신한 행의 잠금을 커밋까지 유지한다
+     * 순위 반영 트랜잭션의 첫 문장으로 실행하여 더 새로운 토큰으로 반영된 순위를 덮어쓰지 않게 한다
+     *
+     * @param -- category 카테고리 번호 --
+     * @param -- token 크롤링 잠금의 펜싱 토큰 --
+     * @return -- Boolean 갱신했으면 true, 더 새로운 토큰이 이미 반영되었으면 false --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun advanceRankingFence(category: String, token: Long): Boolean {
+        jdbcTemplate.update(
+            "INSERT INTO bestseller_ranking_fence (category, last_token) VALUES (?, 0) " +
+                "ON DUPLICATE KEY UPDATE category = category",
+            category
+        )
+        return jdbcTemplate.update(
+            "UPDATE bestseller_ranking_fence SET last_token = ? WHERE category = ? AND last_token <= ?",
+            token, category, token
+        ) > 0
+    }
+
+    fun replaceCategoryRankings(category: String, bookIdsByRanking: Map<Int, Long>, crawledAt: LocalDateTime) {
+        jdbcTemplate.update("DELETE FROM bestseller_ranking WHERE category = ?", category)
+
+        val crawledAtValue = Timestamp.valueOf(crawledAt)
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO bestseller_ranking (category, ranking, book_id, crawled_at) VALUES (?, ?, ?, ?)",
+            bookIdsByRanking.map { (ranking, bookId) -> arrayOf<Any>(category, ranking, bookId, crawledAtValue) }
+        )
+    }
+}
@@ -1,5 +1,6 @@
 package com.project.backend.domain.book.repository
 
+import com.project.backend.domain.book.dto.BookSearchHit
 import com.project.backend.domain.book.entity.Book
 import jakarta.transaction.Transactional
 import org.springframework.data.domain.Page
@@ -9,7 +10,6 @@ import org.springframework.data.jpa.repository.Modifying
 import org.springframework.data.jpa.repository.Query
 import org.springframework.data.repository.query.Param
 import org.springframework.stereotype.Repository
-import java.util.*
 
 /**
  * -- 책 저장소 --
@@ -31,115 +31,174 @@ interface BookRepository : JpaRepository<Book, Long> {
     fun findExistingIsbns(@Param("isbns") isbns: List<String>): List<String>
 
     /**
-     * -- 전문검색 인덱싱을 n-gram분석 알고리즘으로 구현하여 제목과 설명에서 단어를 뽑아내어 검색어와 관련있는 책을 반환하는 메서드 --
+     * -- 검색어와 관련된 도서 id를 관련도 순으로 offset부터 최대 limit개 반환하는 메서드 --
+     * 점수가 같으면 id 내림차순으로 정렬하여 순서가 항상 같게 유지된다
      *
-     * @param -- ketword 검색어 --
-     * @return -- List<Book> 검색어 결과와 관련된 책 리스트  --
+     * @param -- keyword 검색어 --
+     * @param -- offset 건너뛸 개수 --
+     * @param -- limit 최대 개수 --
+     * @return -- List<BookSearchHit> id와 관련도 점수 목록 --
      *
      * @author -- 정재익 --
-     * @since -- 3월 04일 --
+     * @since -- 3월 13일 --
      */
     @Query(
-    value = """
-        SELECT * FROM book 
-        WHERE MATCH(title, description) AGAINST(:keyword IN NATURAL LANGUAGE MODE)
-        ORDER BY MATCH(title, description) AGAINST(:keyword IN NATURAL LANGUAGE MODE) DESC
+        value = """
+        SELECT b.id AS id, MATCH(b.title, b.description) AGAINST(:keyword IN NATURAL LANGUAGE MODE) AS score
+        FROM book b
+        WHERE MATCH(b.title, b.description) AGAINST(:keyword IN NATURAL LANGUAGE MODE)
+        ORDER BY score DESC, b.id DESC
+        LIMIT :limit OFFSET :offset
     """,
-    countQuery = """
-        SELECT COUNT(*) FROM book 
-        WHERE MATCH(title, description) AGAINST(:keyword IN NATURAL LANGUAGE MODE)
+        nativeQuery = true
+    )
+    fun findRankedHits(
+        @Param("keyword") keyword: String,
+        @Param("offset") offset: Int,
+        @Param("limit") limit: Int
+    ): List<BookSearchHit>
+
+    /**
+     * -- (score, id) 커서 이후의 검색 결과를 관련도 순으로 최대 limit개 반환하는 메서드 --
+     * 캐시된 순위 목록을 넘어가는 커서 조회에서 사용된다
+     *
+     * @param -- keyword 검색어 --
+     * @param -- score 커서의 관련도 점수 --
+     * @param -- id 커서의 도서 id --
+     * @param -- limit 최대 개수 --
+     * @return -- List<BookSearchHit> id와 관련도 점수 목록 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @Query(
+        value = """
+        SELECT b.id AS id, MATCH(b.title, b.description) AGAINST(:keyword IN NATURAL LANGUAGE MODE) AS score
+        FROM book b
+        WHERE MATCH(b.title, b.description) AGAINST(:keyword IN NATURAL LANGUAGE MODE)
+        HAVING score < :score OR (score = :score AND b.id < :id)
+        ORDER BY score DESC, b.id DESC
+        LIMIT :limit
     """,
-    nativeQuery = true
+        nativeQuery = true
     )
-    fun searchFullText(
+    fun findRankedHitsBefore(
         @Param("keyword") keyword: String,
-        pageable: Pageable
-    ): Page<Book>
+        @Param("score") score: Double,
+        @Param("id") id: Long,
+        @Param("limit") limit: Int
+    ): List<BookSearchHit>
 
     /**
-     * -- isbn을 가진 Book 반환 --
+     * -- 검색어와 관련된 도서 수를 반환하는 메서드 --
+     *
+     * @param -- keyword 검색어 --
+     * @return -- Long 검색 결과 수 --
      *
-     * @param -- isbn --
-     * @return -- Book? --
      * @author -- 정재익 --
-     * @since -- 3월 01일 --
+     * @since -- 3월 13일 --
      */
-    fun findByIsbn(isbn: String): Book?
+    @Query(
+        value = """
+        SELECT COUNT(*) FROM book
+        WHERE MATCH(title, description) AGAINST(:keyword IN NATURAL LANGUAGE MODE)
+    """,
+        nativeQuery = true
+    )
+    fun countFullText(@Param("keyword") keyword: String): Long
 
     /**
-     * -- 베스트셀러를 1위부터 반환 --
-     * @param -- pageable --
-     * @return -- List<Book> 베스트셀러 리스트 --
+     * -- id가 주어진 값보다 큰 도서를 id 오름차순으로 반환 --
+     * 검색 색인을 나눠서 만들거나 따라잡을 때 사용
      *
+     * @param -- id 마지막으로 처리한 도서 id --
+     * @param -- pageable 조회 개수 --
+     * @return -- List<Book> --
      * @author -- 정재익 --
-     * @since -- 3월 04일 --
+     * @since -- 3월 13일 --
      */
-    fun findByRankingIsNotNullOrderByRankingAsc(pageable: Pageable): Page<Book>
+    fun findByIdGreaterThanOrderByIdAsc(id: Long, pageable: Pageable): List<Book>
 
     /**
-     * -- DB의 베스트셀러 랭킹 초기화 --
+     * -- isbn 목록 중 id가 주어진 값 이상인 Book 반환 --
+     * 대량 저장 직후 생성된 첫 id로 새로 저장된 도서만 조회할 때 사용
      *
+     * @param -- id 새로 저장된 첫 도서 id --
+     * @param -- isbns --
+     * @return -- List<Book> --
      * @author -- 정재익 --
-     * @since -- 3월 1일 --
+     * @since -- 3월 13일 --
      */
-    @Modifying
-    @Query("UPDATE Book b SET b.ranking = NULL")
-    fun resetAllRankings()
+    fun findAllByIdGreaterThanEqualAndIsbnIn(id: Long, isbns: Collection<String>): List<Book>
+
+    /**
+     * -- id 목록 중 존재하는 도서 id 반환 --
+     *
+     * @param -- ids --
+     * @return -- List<Long> --
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids")
+    fun findExistingIds(@Param("ids") ids: Collection<Long>): List<Long>
 
     /**
-     * -- 도서의 찜 개수 업데이트 --
-     * 특정 도서의 찜 개수를 지정된 값만큼 증가 또는 감소
+     * -- isbn 목록에 해당하는 Book 반환 --
      *
-     * @param book 찜 개수를 업데이트할 도서 객체
-     * @param amount 증가 또는 감소할 찜 개수 값
-     * @author -- 김남우 --
-     * @since -- 3월 3일 --
+     * @param -- isbns --
+     * @return -- List<Book> --
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
      */
-    @Modifying
-    @Transactional
-    @Query("UPDATE Book b SET b.favoriteCount = b.favoriteCount + :amount WHERE b.id = :#{#book.id}")
-    fun updateFavoriteCount(@Param("book") book: Book, @Param("amount") amount: Int)
+    fun findAllByIsbnIn(isbns: Collection<String>): List<Book>
 
     /**
-     * -- 도서 찜 개수 감소 --
-     * 특정 도서의 찜 개수를 1 감소
-     * 단, 찜 개수가 0 이하로 내려가지 않도록 방지
+     * -- isbn을 가진 Book 반환 --
      *
-     * @param bookId 찜 개수를 감소할 대상 도서의 ID
-     * @author -- 김남우 --
-     * @since -- 3월 3일 --
+     * @param -- isbn --
+     * @return -- Book? --
+     * @author -- 정재익 --
+     * @since -- 3월 01일 --
      */
-    @Transactional
-    @Modifying
-    @Query("UPDATE Book b SET b.favoriteCount = b.favoriteCount - 1 WHERE b.id = :bookId AND b.favoriteCount > 0")
-    fun decreaseFavoriteCount(@Param("bookId") bookId: Long)
+    fun findByIsbn(isbn: String): Book?
 
     /**
-     * -- 찜 개수가 0인 도서 삭제 --
+     * -- 베스트셀러를 1위부터 반환 --
+     * @param -- pageable --
+     * @return -- List<Book> 베스트셀러 리스트 --
      *
-     * @author -- 김남우 --
-     * @since -- 3월 3일 --
+     * @author -- 정재익 --
+     * @since -- 3월 04일 --
      */
-    @Transactional
-    @Modifying
-    @Query("DELETE FROM Book b WHERE b.favoriteCount = 0")
-    fun deleteBooksZeroFavoriteCount()
+    fun findByRankingIsNotNullOrderByRankingAsc(pageable: Pageable): Page<Book>
 
     /**
-     * -- 도서 제목 검색 --
+     * -- 종합 베스트셀러 순위가 있는 도서 id 반환 --
      *
-     * @author -- 김남우 --
-     * @since -- 2025.03.11 --
+     * @return -- List<Long> --
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
      */
-    @Query("SELECT b.title FROM Book b WHERE b.id = :bookId")
-    fun findTitleById(@Param("bookId") bookId: Long): Optional<String>
+    @Query("SELECT b.id FROM Book b WHERE b.ranking IS NOT NULL")
+    fun findRankedIds(): List<Long>
 
     /**
-     * -- 도서 이미지 검색 --
+     * -- 회원이 찜한 도서들의 찜 개수 일괄 감소 --
+     * 회원 탈퇴시 도서마다 UPDATE를 보내지 않고 favorite과 조인한 한 문장으로 감소시킨다
+     * favorite 행을 지우기 전에 호출해야 하며 찜 개수는 0 아래로 내려가지 않음
      *
-     * @author -- 김남우 --
-     * @since -- 2025.03.11 --
+     * @param memberId 탈퇴하는 회원 ID
+     * @return 찜 개수가 감소한 도서 수
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
      */
-    @Query("SELECT b.image FROM Book b WHERE b.id = :id")
-    fun findImageById(@Param("id") id: Long): Optional<String>
-}
\ No newline at end of file
+    @Transactional
+    @Modifying
+    @Query(
+        value = "UPDATE book b JOIN favorite f ON f.book_id = b.id " +
+            "SET b.favorite_count = GREATEST(COALESCE(b.favorite_count, 0) - 1, 0) " +
+            "WHERE f.member_id = :memberId",
+        nativeQuery = true
+    )
+    fun decreaseFavoriteCountsByMemberId(@Param("memberId") memberId: Long): Int
+}
@@ -39,6 +39,43 @@ interface FavoriteRepository : JpaRepository<Favorite, FavoriteId> {
     )
     fun findFavoriteBooksByMemberId(@Param("memberId") memberId: Long, pageable: Pageable): Page<BookDTO>
 
+    /**
+     * -- 찜 저장 --
+     * 이미 찜한 경우 아무것도 하지 않으므로 동시에 같은 찜이 들어와도 한 번만 저장됨
+     *
+     * @param memberId 회원 ID
+     * @param bookId 도서 ID
+     * @param favoritedAt 찜한 시각
+     * @return 저장된 행 수 (0 또는 1)
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @Modifying
+    @Transactional
+    @Query(
+        value = "INSERT IGNORE INTO favorite (member_id, book_id, favorited_at) VALUES (:memberId, :bookId, :favoritedAt)",
+        nativeQuery = true
+    )
+    fun insertIgnore(
+        @Param("memberId") memberId: Long,
+        @Param("bookId") bookId: Long,
+        @Param("favoritedAt") favoritedAt: LocalDateTime
+    ): Int
+
+    /**
+     * -- 찜 삭제 --
+     *
+     * @param memberId 회원 ID
+     * @param bookId 도서 ID
+     * @return 삭제된 행 수 (0 또는 1)
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Favorite f WHERE f.id.memberId = :memberId AND f.id.bookId = :bookId")
+    fun deleteFavorite(@Param("memberId") memberId: Long, @Param("bookId") bookId: Long): Int
+
     /**
      * -- 특정 회원의 찜 목록 삭제 --
      *
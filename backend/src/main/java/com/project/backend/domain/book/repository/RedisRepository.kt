@@ -12,54 +12,158 @@ import org.springframework.stereotype.Repository
 @Repository
 class RedisRepository(private val redisTemplate: RedisTemplate<String, String>) {
 
-    private val KEYWORDS_KEY = "search_keywords"
+    private val KEYWORDS_FETCHED_KEY = "search_keywords:fetched"
+    private val KEYWORDS_ACCESS_KEY = "search_keywords:access"
+    private val LEGACY_KEYWORDS_KEY = "search_keywords"
     private val HASH_KEY = "best_seller_hash"
+    private val PAGE_FINGERPRINT_KEY = "best_seller:pages"
 
     /**
-     * -- 해당검색어가 존재하는지 판단하는 메서드 --
+     * -- 검색어의 마지막 API 보충 시각을 반환하는 메서드 --
      *
-     * @param -- keyword 검색어 --
-     * @return -- Boolean 응답 --
+     * @param -- keyword 정규화된 검색어 --
+     * @return -- Long? epoch millis, 보충한 적이 없으면 null --
      *
      * @author -- 정재익 --
-     * @since -- 3월 03일 --
+     * @since -- 3월 13일 --
      */
-    fun existKeyword(keyword: String): Boolean {
-        return redisTemplate.opsForSet().isMember(KEYWORDS_KEY, keyword) ?: false
+    fun getKeywordFetchedAt(keyword: String): Long? {
+        return redisTemplate.opsForZSet().score(KEYWORDS_FETCHED_KEY, keyword)?.toLong()
     }
 
     /**
-     * -- 키워드를 redis에 저장하는 메서드 --
+     * -- 검색어의 API 보충 시각을 저장하는 메서드 --
      *
-     * @param -- keyword 검색어 --
+     * @param -- keyword 정규화된 검색어 --
+     * @param -- fetchedAt epoch millis --
+     * @param -- accessedAt 마지막 접근 시각 epoch millis, 생략하면 fetchedAt --
      *
      * @author -- 정재익 --
-     * @since -- 3월 03일 --
+     * @since -- 3월 13일 --
      */
-    fun saveKeyword(keyword: String) {
-        redisTemplate.opsForSet().add(KEYWORDS_KEY, keyword)
+    fun saveKeyword(keyword: String, fetchedAt: Long, accessedAt: Long = fetchedAt) {
+        redisTemplate.opsForZSet().add(KEYWORDS_FETCHED_KEY, keyword, fetchedAt.toDouble())
+        redisTemplate.opsForZSet().add(KEYWORDS_ACCESS_KEY, keyword, accessedAt.toDouble())
+    }
+
+    /**
+     * -- 예전 검색어 집합을 지우는 메서드 --
+     * 원문 검색어를 제한 없이 쌓던 search_keywords 집합은 더 쓰지 않으므로 남아 있으면 UNLINK로 지운다
+     * UNLINK는 메모리 해제를 백그라운드에서 하므로 큰 집합이어도 Redis를 멈추지 않는다
+     *
+     * @return -- Boolean 지웠으면 true --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun deleteLegacyKeywords(): Boolean {
+        if (redisTemplate.hasKey(LEGACY_KEYWORDS_KEY) != true) {
+            return false
+        }
+        return redisTemplate.unlink(LEGACY_KEYWORDS_KEY) == true
+    }
+
+    /**
+     * -- 검색어의 마지막 접근 시각을 갱신하는 메서드 --
+     *
+     * @param -- keyword 정규화된 검색어 --
+     * @param -- accessedAt epoch millis --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun touchKeyword(keyword: String, accessedAt: Long) {
+        redisTemplate.opsForZSet().add(KEYWORDS_ACCESS_KEY, keyword, accessedAt.toDouble())
+    }
+
+    /**
+     * -- 오래 접근되지 않은 검색어를 제거하는 메서드 --
+     * 접근 시각 기준으로 가장 오래된 검색어부터 maxSize를 넘는 만큼 제거한다
+     *
+     * @param -- maxSize 유지할 최대 검색어 수 --
+     * @return -- Int 제거된 검색어 수 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun evictKeywords(maxSize: Long): Int {
+        val size = redisTemplate.opsForZSet().zCard(KEYWORDS_ACCESS_KEY) ?: return 0
+        if (size <= maxSize) {
+            return 0
+        }
+
+        val evicted = redisTemplate.opsForZSet().range(KEYWORDS_ACCESS_KEY, 0, size - maxSize - 1)
+        if (evicted.isNullOrEmpty()) {
+            return 0
+        }
+
+        redisTemplate.opsForZSet().remove(KEYWORDS_ACCESS_KEY, *evicted.toTypedArray())
+        redisTemplate.opsForZSet().remove(KEYWORDS_FETCHED_KEY, *evicted.toTypedArray())
+        return evicted.size
     }
 
     /**
      * -- 사이트와 해시값을 저장하는 메소드 --
      *
+     * @param -- category 베스트셀러 카테고리 번호 --
      * @param -- hash 저장할 해시 값 --
      *
      * @author -- 정재익 --
      * @since -- 3월 02일 --
      */
-    fun saveHash(hash: String) {
-        redisTemplate.opsForValue().set(HASH_KEY, hash)
+    fun saveHash(category: String, hash: String) {
+        redisTemplate.opsForValue().set("$HASH_KEY:$category", hash)
     }
 
     /**
      * -- 저장된 해시값을 반환하는 메소드 --
      *
+     * @param -- category 베스트셀러 카테고리 번호 --
      * @return 저장된 해시값, 없을 경우 빈 문자열 반환
      * @author -- 정재익 --
      * @since -- 3월 02일 --
      */
-    fun loadPreviousHash(): String {
-        return redisTemplate.opsForValue().get(HASH_KEY) ?: ""
+    fun loadPreviousHash(category: String): String {
+        return redisTemplate.opsForValue().get("$HASH_KEY:$category") ?: ""
+    }
+
+    /**
+     * -- 베스트셀러 상세페이지 지문 전체를 반환하는 메서드 --
+     *
+     * @return -- Map<String, String> url별 PageFingerprint.encode() 값 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun loadPageFingerprints(): Map<String, String> {
+        return redisTemplate.opsForHash<String, String>().entries(PAGE_FINGERPRINT_KEY)
+    }
+
+    /**
+     * -- 베스트셀러 상세페이지 지문을 저장하는 메서드 --
+     *
+     * @param -- fingerprints url별 PageFingerprint.encode() 값 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun savePageFingerprints(fingerprints: Map<String, String>) {
+        if (fingerprints.isNotEmpty()) {
+            redisTemplate.opsForHash<String, String>().putAll(PAGE_FINGERPRINT_KEY, fingerprints)
+        }
+    }
+
+    /**
+     * -- 베스트셀러 상세페이지 지문을 제거하는 메서드 --
+     *
+     * @param -- urls 제거할 상세페이지 url 목록 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun removePageFingerprints(urls: Collection<String>) {
+        if (urls.isNotEmpty()) {
+            redisTemplate.opsForHash<String, String>().delete(PAGE_FINGERPRINT_KEY, *urls.toTypedArray())
+        }
     }
 }
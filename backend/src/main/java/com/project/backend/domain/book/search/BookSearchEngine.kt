@@ -0,0 +1,61 @@
+package com.project.backend.domain.book.search
+
+import com.project.backend.domain.book.dto.BookSearchHit
+import com.project.backend.domain.book.entity.Book
+
+/**
+ * -- 도서 전문검색 엔진 인터페이스 --
+ * 제목과 설명을 대상으로 검색어와 관련된 도서 id를 관련도 순으로 반환한다
+ * 점수가 같으면 id 내림차순으로 정렬하여 (score, id) 커서 조회가 가능해야 한다
+ * book.search.engine 설정으로 구현체를 선택한다 (mysql, inverted-index)
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+interface BookSearchEngine {
+
+    /**
+     * -- 관련도 순 검색 메소드 --
+     *
+     * @param -- keyword 정규화된 검색어 --
+     * @param -- offset 건너뛸 개수 --
+     * @param -- limit 최대 개수 --
+     * @return -- List<BookSearchHit> --
+     */
+    fun findRankedHits(keyword: String, offset: Int, limit: Int): List<BookSearchHit>
+
+    /**
+     * -- (score, id) 커서 이후 관련도 순 검색 메소드 --
+     *
+     * @param -- keyword 정규화된 검색어 --
+     * @param -- score 커서의 관련도 점수 --
+     * @param -- id 커서의 도서 id --
+     * @param -- limit 최대 개수 --
+     * @return -- List<BookSearchHit> --
+     */
+    fun findRankedHitsBefore(keyword: String, score: Double, id: Long, limit: Int): List<BookSearchHit>
+
+    /**
+     * -- 검색 결과 수 메소드 --
+     *
+     * @param -- keyword 정규화된 검색어 --
+     * @return -- Long --
+     */
+    fun count(keyword: String): Long
+
+    /**
+     * -- 도서 색인 메소드 --
+     * 새로 저장된 도서를 검색 대상에 추가한다 DB가 직접 색인하는 구현체는 아무것도 하지 않는다
+     *
+     * @param -- books id가 할당된 도서 목록 --
+     */
+    fun index(books: List<Book>) {}
+
+    /**
+     * -- 도서 색인 제거 메소드 --
+     * 삭제된 도서를 검색 대상에서 뺀다 DB가 직접 색인하는 구현체는 아무것도 하지 않는다
+     *
+     * @param -- ids 삭제된 도서 id 목록 --
+     */
+    fun remove(ids: Collection<Long>) {}
+}
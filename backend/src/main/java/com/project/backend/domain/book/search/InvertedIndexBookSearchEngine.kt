@@ -0,0 +1,379 @@
+package com.project.backend.domain.book.search
+
+import com.project.backend.domain.book.dto.BookSearchHit
+import com.project.backend.domain.book.entity.Book
+import com.project.backend.domain.book.repository.BookRepository
+import com.project.backend.domain.book.service.BookCacheInvalidation
+import com.project.backend.domain.book.service.SearchResultCache
+import jakarta.annotation.PreDestroy
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.boot.context.event.ApplicationReadyEvent
+import org.springframework.context.event.EventListener
+import org.springframework.data.domain.PageRequest
+import org.springframework.scheduling.annotation.Scheduled
+import org.springframework.stereotype.Component
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.text.Normalizer
+import java.util.Locale
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import kotlin.concurrent.read
+import kotlin.concurrent.write
+import kotlin.math.log10
+
+/**
+ * -- 역색인 검색 엔진 --
+ * 도서 제목과 설명을 MySQL ngram 파서와 같은 글자 2개 단위로 잘라 메모리 역색인을 만든다
+ * 관련도는 InnoDB FULLTEXT와 같은 TF * IDF * IDF (IDF = log10(전체 도서 수 / 단어가 나온 도서 수)) 로 계산하여
+ * MySQL 검색과 비슷한 순위를 낸다
+ *
+ * 1. 시작시 디스크 스냅샷을 읽고 스냅샷 이후 추가된 도서만 DB에서 id 순으로 나눠 읽어 따라잡음
+ * 2. saveBooks, upsertBooks에서 저장된 도서는 커밋 이후 바로 색인
+ * 3. 주기적으로 다른 노드가 저장한 도서를 따라잡고 변경이 있으면 스냅샷 저장
+ * 4. OrphanBookCollector가 삭제한 도서는 삭제한 노드에서 바로 제거하고 다른 노드는 BookCacheInvalidation deleted 범위로 받아 제거
+ * 5. 스냅샷을 저장한 뒤 놓친 삭제는 시작할 때 한 번만 색인된 id를 DB와 대조하여 제거 (주기적으로 전체를 대조하지 않음)
+ *
+ * book.search.engine=inverted-index 일 때 사용되며 MySQL FULLTEXT가 없는 H2에서도 동작한다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+@ConditionalOnProperty(name = ["book.search.engine"], havingValue = "inverted-index")
+class InvertedIndexBookSearchEngine(
+    private val bookRepository: BookRepository,
+    bookCacheInvalidation: BookCacheInvalidation,
+    @Value("\${book.search.index-path:./data/book-search-index.bin}") private val indexPath: Path
+) : BookSearchEngine {
+    private val logger = LoggerFactory.getLogger(InvertedIndexBookSearchEngine::class.java)
+    private val lock = ReentrantReadWriteLock()
+
+    /** 단어 -> (도서 id -> 단어 등장 횟수) */
+    private val postings = HashMap<String, HashMap<Long, Int>>()
+
+    /** 도서 id -> 도서의 단어 목록, 재색인시 기존 단어 제거에 사용 */
+    private val docTerms = HashMap<Long, Array<String>>()
+
+    /** DB에서 따라잡기를 마친 마지막 도서 id */
+    private var scannedId = 0L
+
+    @Volatile
+    private var dirty = false
+
+    @Volatile
+    private var loaded = false
+
+    init {
+        bookCacheInvalidation.subscribe(BookCacheInvalidation.SCOPE_DELETED) { key ->
+            remove(key.split(',').mapNotNull { it.toLongOrNull() })
+        }
+    }
+
+    companion object {
+        private const val NGRAM_SIZE = 2
+        private const val CATCH_UP_CHUNK = 1000
+        private const val SNAPSHOT_VERSION = 1
+        private val NON_WORD = Regex("[^\\p{L}\\p{N}]+")
+
+        /**
+         * -- 토큰 분리 메소드 --
+         * 정규화 후 문자, 숫자가 아닌 글자로 단어를 나누고 단어마다 글자 2개 단위로 자른다
+         *
+         * @param -- text 원문 --
+         * @return -- Map<String, Int> 단어별 등장 횟수 --
+         */
+        fun tokenize(text: String): Map<String, Int> {
+            val terms = HashMap<String, Int>()
+            Normalizer.normalize(text, Normalizer.Form.NFC)
+                .lowercase(Locale.ROOT)
+                .split(NON_WORD)
+                .filter { it.length >= NGRAM_SIZE }
+                .forEach { word -> word.windowed(NGRAM_SIZE).forEach { terms.merge(it, 1, Int::plus) } }
+            return terms
+        }
+    }
+
+    override fun findRankedHits(keyword: String, offset: Int, limit: Int): List<BookSearchHit> =
+        rank(keyword).drop(offset).take(limit)
+
+    override fun findRankedHitsBefore(keyword: String, score: Double, id: Long, limit: Int): List<BookSearchHit> =
+        rank(keyword).dropWhile { it.score > score || (it.score == score && it.id >= id) }.take(limit)
+
+    override fun count(keyword: String): Long = rank(keyword).size.toLong()
+
+    /**
+     * -- 도서 색인 메소드 --
+     * 트랜잭션 안에서 호출되면 커밋 이후 색인하여 롤백된 도서가 검색되지 않도록 한다
+     *
+     * @param -- books id가 할당된 도서 목록 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    override fun index(books: List<Book>) {
+        if (books.isEmpty()) {
+            return
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+                override fun afterCommit() = indexNow(books)
+            })
+        } else {
+            indexNow(books)
+        }
+    }
+
+    /**
+     * -- 도서 색인 제거 메소드 --
+     *
+     * @param -- ids 삭제된 도서 id 목록 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    override fun remove(ids: Collection<Long>) {
+        if (ids.isEmpty()) {
+            return
+        }
+
+        lock.write { ids.forEach { removeDoc(it) } }
+        dirty = true
+    }
+
+    /**
+     * -- 시작 메소드 --
+     * 스냅샷을 읽은 뒤 백그라운드에서 스냅샷 이후 삭제된 도서를 제거하고 이후 추가된 도서를 따라잡는다
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @EventListener(ApplicationReadyEvent::class)
+    fun start() {
+        loadSnapshot()
+        loaded = true
+        Thread.ofVirtual().name("book-search-index").start {
+            try {
+                reconcile()
+            } catch (e: Exception) {
+                logger.error("도서 검색 색인 삭제 도서 정리 실패", e)
+            }
+            refresh()
+        }
+    }
+
+    /**
+     * -- 주기적 갱신 메소드 --
+     * 다른 노드가 저장한 도서를 따라잡고 변경이 있으면 스냅샷을 저장한다
+     * 스냅샷을 읽기 전에는 실행하지 않는다
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @Scheduled(fixedDelayString = "\${book.search.index-refresh-millis:300000}")
+    @Synchronized
+    fun refresh() {
+        if (!loaded) {
+            return
+        }
+        try {
+            catchUp()
+            if (dirty) {
+                saveSnapshot()
+            }
+        } catch (e: Exception) {
+            logger.error("도서 검색 색인 갱신 실패", e)
+        }
+    }
+
+    /**
+     * -- 종료 메소드 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @PreDestroy
+    fun shutdown() {
+        if (dirty) {
+            saveSnapshot()
+        }
+    }
+
+    /**
+     * -- 관련도 계산 메소드 --
+     * 점수 내림차순, 점수가 같으면 id 내림차순으로 정렬한다
+     * 모든 도서에 나오는 단어는 IDF가 0이 되어 MySQL과 같이 결과에서 제외된다
+     *
+     * @param -- keyword 정규화된 검색어 --
+     * @return -- List<SearchResultCache.Hit> --
+     */
+    private fun rank(keyword: String): List<SearchResultCache.Hit> {
+        val terms = tokenize(keyword).keys
+
+        val scores = HashMap<Long, Double>()
+        lock.read {
+            val total = docTerms.size.toDouble()
+            for (term in terms) {
+                val docs = postings[term] ?: continue
+                val idf = log10(total / docs.size)
+                docs.forEach { (id, tf) -> scores.merge(id, tf * idf * idf, Double::plus) }
+            }
+        }
+
+        return scores.filterValues { it > 0.0 }
+            .map { (id, score) -> SearchResultCache.Hit(id, score) }
+            .sortedWith(compareByDescending<SearchResultCache.Hit> { it.score }.thenByDescending { it.id })
+    }
+
+    private fun indexNow(books: List<Book>) {
+        lock.write {
+            books.forEach { book ->
+                val id = book.id ?: return@forEach
+                removeDoc(id)
+
+                val terms = tokenize("${book.title} ${book.description}")
+                docTerms[id] = terms.keys.toTypedArray()
+                terms.forEach { (term, tf) -> postings.getOrPut(term) { HashMap() }[id] = tf }
+            }
+        }
+        dirty = true
+    }
+
+    private fun removeDoc(id: Long) {
+        docTerms.remove(id)?.forEach { term ->
+            val docs = postings[term] ?: return@forEach
+            docs.remove(id)
+            if (docs.isEmpty()) {
+                postings.remove(term)
+            }
+        }
+    }
+
+    /**
+     * -- 따라잡기 메소드 --
+     * scannedId 이후의 도서를 id 순으로 CATCH_UP_CHUNK개씩 읽어 색인한다
+     * 스냅샷이 없으면 0부터 읽으므로 전체 재구축이 된다
+     */
+    private fun catchUp() {
+        var indexed = 0
+        while (true) {
+            val books = bookRepository.findByIdGreaterThanOrderByIdAsc(scannedId, PageRequest.of(0, CATCH_UP_CHUNK))
+            if (books.isEmpty()) {
+                break
+            }
+            indexNow(books)
+            scannedId = books.last().id!!
+            indexed += books.size
+        }
+        if (indexed > 0) {
+            logger.info("도서 검색 색인 따라잡기 완료: {}권, 마지막 id {}", indexed, scannedId)
+        }
+    }
+
+    /**
+     * -- 삭제 도서 정리 메소드 --
+     * 색인된 도서 id를 CATCH_UP_CHUNK개씩 DB와 대조하여 없는 도서를 색인에서 제거한다
+     * 제거하지 않으면 삭제된 도서가 전체 도서 수와 검색 결과 수에 남아 결과 페이지가 짧아진다
+     * 전체 도서 수만큼 조회하므로 시작할 때만 실행하고 실행 중의 삭제는 deleted 메시지로 반영한다
+     */
+    private fun reconcile() {
+        val indexedIds = lock.read { docTerms.keys.toList() }
+        var removed = 0
+        indexedIds.chunked(CATCH_UP_CHUNK).forEach { chunk ->
+            val existing = bookRepository.findExistingIds(chunk).toHashSet()
+            val deleted = chunk.filter { it !in existing }
+            if (deleted.isNotEmpty()) {
+                remove(deleted)
+                removed += deleted.size
+            }
+        }
+        if (removed > 0) {
+            logger.info("도서 검색 색인에서 삭제된 도서 제거: {}권", removed)
+        }
+    }
+
+    /**
+     * -- 스냅샷 저장 메소드 --
+     * 임시 파일에 쓴 뒤 교체하여 저장 도중 종료되어도 이전 스냅샷이 유지된다
+     * 저장에 실패하면 dirty를 되돌려 다음 갱신에서 다시 저장한다
+     */
+    @Synchronized
+    private fun saveSnapshot() {
+        dirty = false
+        try {
+            writeSnapshot()
+        } catch (e: Exception) {
+            dirty = true
+            throw e
+        }
+    }
+
+    private fun writeSnapshot() {
+        Files.createDirectories(indexPath.toAbsolutePath().parent)
+        val tmp = indexPath.resolveSibling("${indexPath.fileName}.tmp")
+
+        DataOutputStream(BufferedOutputStream(Files.newOutputStream(tmp))).use { out ->
+            lock.read {
+                out.writeInt(SNAPSHOT_VERSION)
+                out.writeLong(scannedId)
+                out.writeInt(docTerms.size)
+                docTerms.forEach { (id, terms) ->
+                    out.writeLong(id)
+                    out.writeInt(terms.size)
+                    terms.forEach { term ->
+                        out.writeUTF(term)
+                        out.writeInt(postings[term]?.get(id) ?: 0)
+                    }
+                }
+            }
+        }
+        Files.move(tmp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+    }
+
+    /**
+     * -- 스냅샷 읽기 메소드 --
+     * 파일이 없거나 버전이 다르면 빈 색인으로 시작하여 catchUp에서 전체를 다시 만든다
+     */
+    private fun loadSnapshot() {
+        if (!Files.exists(indexPath)) {
+            return
+        }
+
+        try {
+            DataInputStream(BufferedInputStream(Files.newInputStream(indexPath))).use { input ->
+                if (input.readInt() != SNAPSHOT_VERSION) {
+                    return
+                }
+                lock.write {
+                    scannedId = input.readLong()
+                    repeat(input.readInt()) {
+                        val id = input.readLong()
+                        val terms = Array(input.readInt()) {
+                            val term = input.readUTF()
+                            postings.getOrPut(term) { HashMap() }[id] = input.readInt()
+                            term
+                        }
+                        docTerms[id] = terms
+                    }
+                }
+            }
+            logger.info("도서 검색 색인 스냅샷 로드: {}권", docTerms.size)
+        } catch (e: Exception) {
+            logger.warn("도서 검색 색인 스냅샷 로드 실패, 전체 재구축", e)
+            lock.write {
+                postings.clear()
+                docTerms.clear()
+                scannedId = 0L
+            }
+        }
+    }
+}
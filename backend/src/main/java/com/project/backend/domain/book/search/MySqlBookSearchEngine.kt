@@ -0,0 +1,27 @@
+package com.project.backend.domain.book.search
+
+import com.project.backend.domain.book.dto.BookSearchHit
+import com.project.backend.domain.book.repository.BookRepository
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.stereotype.Component
+
+/**
+ * -- MySQL FULLTEXT 검색 엔진 --
+ * book 테이블의 MATCH(title, description) AGAINST n-gram 전문검색 인덱스를 사용한다
+ * book.search.engine 설정이 없으면 기본으로 사용된다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+@ConditionalOnProperty(name = ["book.search.engine"], havingValue = "mysql", matchIfMissing = true)
+class MySqlBookSearchEngine(private val bookRepository: BookRepository) : BookSearchEngine {
+
+    override fun findRankedHits(keyword: String, offset: Int, limit: Int): List<BookSearchHit> =
+        bookRepository.findRankedHits(keyword, offset, limit)
+
+    override fun findRankedHitsBefore(keyword: String, score: Double, id: Long, limit: Int): List<BookSearchHit> =
+        bookRepository.findRankedHitsBefore(keyword, score, id, limit)
+
+    override fun count(keyword: String): Long = bookRepository.countFullText(keyword)
+}
@@ -1,93 +1,194 @@
 package com.project.backend.domain.book.service
 
+import com.fasterxml.jackson.core.JsonParser
+import com.fasterxml.jackson.core.JsonToken
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.project.backend.domain.book.client.ApiProvider
+import com.project.backend.domain.book.client.ProviderCircuitBreaker
+import com.project.backend.domain.book.client.ProviderLimiter
 import com.project.backend.domain.book.dto.BookDTO
-import com.project.backend.domain.book.dto.KakaoDTO
-import com.project.backend.domain.book.dto.NaverDTO
+import com.project.backend.domain.book.dto.BookDTOInterface
+import com.project.backend.domain.book.exception.BookErrorCode
+import com.project.backend.domain.book.exception.BookException
+import io.micrometer.core.instrument.MeterRegistry
+import jakarta.annotation.PreDestroy
 import org.springframework.beans.factory.annotation.Value
-import org.springframework.core.ParameterizedTypeReference
-import org.springframework.http.HttpEntity
-import org.springframework.http.HttpHeaders
-import org.springframework.http.HttpMethod
 import org.springframework.stereotype.Service
-import org.springframework.web.client.RestTemplate
+import java.io.InputStream
+import java.net.URI
+import java.net.URLEncoder
+import java.net.http.HttpClient
+import java.net.http.HttpRequest
+import java.net.http.HttpResponse
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 
 /**
  * -- API 서비스 클래스 --
+ * 네이버, 카카오 도서 API를 JDK HttpClient로 요청한다
+ * HttpClient 하나를 재사용하여 연결을 풀링하고 제공자별로 동시 요청 수와 초당 요청 수를 제한한다
+ * 응답은 Map으로 변환하지 않고 JsonParser로 스트리밍하며 바로 NaverDTO, KakaoDTO로 읽는다
  *
  * @author -- 정재익 --
  * @since -- 3월 04일 --
  */
 @Service
 class ApiClientService(
-    private val restTemplate: RestTemplate,
     private val objectMapper: ObjectMapper,
     @Value("\${naver.client-id}") val clientId: String,
     @Value("\${naver.client-secret}") val clientSecret: String,
     @Value("\${naver.book-search-url}") val naverUrl: String,
     @Value("\${kakao.key}") val kakaoKey: String,
-    @Value("\${kakao.url}") val kakaoUrl: String
+    @Value("\${kakao.url}") val kakaoUrl: String,
+    @Value("\${book.api.connect-timeout:2s}") connectTimeout: Duration,
+    @Value("\${book.api.request-timeout:5s}") private val requestTimeout: Duration,
+    @Value("\${book.api.naver.max-concurrency:5}") naverMaxConcurrency: Int,
+    @Value("\${book.api.naver.rate-per-second:10}") naverRatePerSecond: Int,
+    @Value("\${book.api.kakao.max-concurrency:5}") kakaoMaxConcurrency: Int,
+    @Value("\${book.api.kakao.rate-per-second:10}") kakaoRatePerSecond: Int,
+    @Value("\${book.api.circuit.window-size:20}") circuitWindowSize: Int,
+    @Value("\${book.api.circuit.minimum-calls:10}") circuitMinimumCalls: Int,
+    @Value("\${book.api.circuit.failure-rate-threshold:50}") circuitFailureRateThreshold: Int,
+    @Value("\${book.api.circuit.open-duration:30s}") circuitOpenDuration: Duration,
+    @Value("\${book.api.circuit.half-open-calls:3}") circuitHalfOpenCalls: Int,
+    meterRegistry: MeterRegistry
 ) {
+    private val apiExecutor: ExecutorService = Executors.newVirtualThreadPerTaskExecutor()
+
+    private val httpClient: HttpClient = HttpClient.newBuilder()
+        .connectTimeout(connectTimeout)
+        .executor(apiExecutor)
+        .build()
+
+    private val limiters = mapOf(
+        ApiProvider.NAVER to ProviderLimiter(naverMaxConcurrency, naverRatePerSecond),
+        ApiProvider.KAKAO to ProviderLimiter(kakaoMaxConcurrency, kakaoRatePerSecond)
+    )
+
+    private val circuitBreakers = ApiProvider.entries.associateWith {
+        ProviderCircuitBreaker(
+            it, circuitWindowSize, circuitMinimumCalls, circuitFailureRateThreshold,
+            circuitOpenDuration, circuitHalfOpenCalls, meterRegistry
+        )
+    }
 
     /**
-     * -- Api 요청 메소드 --
-     * 네이버 도서와 카카오 도서 Api 요청을 통합한 메서드
+     * -- 비동기 Api 요청 메소드 --
+     * 가상 스레드에서 제공자별 제한을 지키며 요청하므로 여러 제공자를 동시에 요청할 수 있다
+     * 제공자의 서킷 브레이커가 열려 있으면 요청 없이 API_CIRCUIT_OPEN 예외로 바로 실패한다
+     * 요청 제한기를 서킷 브레이커 바깥에서 통과하므로 제한기 대기 시간은 book.api.request 타이머와
+     * 반열림 시험 요청 수에 포함되지 않는다
      *
      * @param -- query 검색어 --
-     * @param -- apiType 요청하는 Api 종류 --
+     * @param -- provider 요청하는 Api 제공자 --
      * @param -- naverStart 네이버 api 검색 시작 위치 --
      * @param -- kakaoPage 카카오 api 검색 페이지 수 --
      *
-     * @return -- List<BookDTO> --
+     * @return -- CompletableFuture<List<BookDTO>> --
      * @author -- 정재익 --
-     * @since -- 3월 01일 --
+     * @since -- 3월 13일 --
      */
-    fun requestApi(query: String, apiType: String, naverStart: Int, kakaoPage: Int): List<BookDTO> {
-        val (headers, url, responseKey) = getApiRequestParams(query, apiType, naverStart, kakaoPage)
-        val entity = HttpEntity<String>(headers)
-
-        val response = restTemplate.exchange(
-            url,
-            HttpMethod.GET,
-            entity,
-            object : ParameterizedTypeReference<Map<String, Any>>() {})
-        val rawData = (response.body?.get(responseKey) as? List<*>)?.filterNotNull() ?: emptyList()
-
-        return rawData.map { convertToBook(it, apiType) }
+    fun requestApiAsync(query: String, provider: ApiProvider, naverStart: Int, kakaoPage: Int): CompletableFuture<List<BookDTO>> {
+        val request = buildRequest(query, provider, naverStart, kakaoPage)
+
+        val circuitBreaker = circuitBreakers.getValue(provider)
+
+        return CompletableFuture.supplyAsync({
+            circuitBreaker.rejectIfOpen()
+            limiters.getValue(provider).execute {
+                circuitBreaker.execute {
+                    val response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream())
+                    response.body().use { body ->
+                        if (response.statusCode() !in 200..299) {
+                            throw BookException(BookErrorCode.API_REQUEST_FAILED)
+                        }
+                        readBooks(body, provider)
+                    }
+                }
+            }
+        }, apiExecutor)
     }
 
+    /**
+     * -- 서킷 브레이커 상태 조회 메소드 --
+     *
+     * @param -- provider Api 제공자 --
+     * @return -- Boolean 요청 가능 여부 (OPEN이 아니면 true) --
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun isAvailable(provider: ApiProvider): Boolean =
+        circuitBreakers.getValue(provider).currentState() != ProviderCircuitBreaker.State.OPEN
+
     /**
      * -- Api 설정 메소드 --
-     * 네이버 도서와 카카오 도서 종류에 따라 다른 http헤더와 주소값을 반환한다
+     * 네이버 도서와 카카오 도서 종류에 따라 다른 http헤더와 주소값으로 요청을 만든다
+     * 검색어는 URL 인코딩된다
      *
      * @param -- query 검색어 --
-     * @param -- apiType 요청하는 Api 종류 --
+     * @param -- provider 요청하는 Api 제공자 --
      * @param -- naverStart 네이버 api 검색 시작 위치 --
      * @param -- kakaoPage 카카오 api 검색 페이지 수 --
      *
-     * @return -- Triple<HttpHeaders, String, String> --
+     * @return -- HttpRequest --
      * @author -- 정재익 --
      * @since -- 3월 01일 --
      */
-    private fun getApiRequestParams(
-        query: String,
-        apiType: String,
-        naverStart: Int,
-        kakaoPage: Int
-    ): Triple<HttpHeaders, String, String> {
-        val headers = HttpHeaders()
-
-        return when (apiType.lowercase()) {
-            "kakao" -> {
-                headers["Authorization"] = "KakaoAK $kakaoKey"
-                Triple(headers, "$kakaoUrl?query=$query&target=author&page=$kakaoPage&size=50", "documents")
-            }
+    private fun buildRequest(query: String, provider: ApiProvider, naverStart: Int, kakaoPage: Int): HttpRequest {
+        val encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8)
+        val builder = HttpRequest.newBuilder().GET().timeout(requestTimeout)
+
+        return when (provider) {
+            ApiProvider.KAKAO -> builder
+                .uri(URI.create("$kakaoUrl?query=$encodedQuery&target=author&page=$kakaoPage&size=50"))
+                .header("Authorization", "KakaoAK $kakaoKey")
+                .build()
 
-            else -> {
-                headers["X-Naver-Client-Id"] = clientId
-                headers["X-Naver-Client-Secret"] = clientSecret
-                Triple(headers, "$naverUrl?query=$query&display=100&start=$naverStart", "items")
+            ApiProvider.NAVER -> builder
+                .uri(URI.create("$naverUrl?query=$encodedQuery&display=100&start=$naverStart"))
+                .header("X-Naver-Client-Id", clientId)
+                .header("X-Naver-Client-Secret", clientSecret)
+                .build()
+        }
+    }
+
+    /**
+     * -- 응답 스트리밍 변환 메소드 --
+     * 최상위 객체에서 provider.responseKey 배열을 찾아 원소마다 DTO로 읽고 BookDTO로 변환한다
+     * 나머지 필드는 읽지 않고 건너뛴다
+     *
+     * @param -- body 응답 본문 --
+     * @param -- provider Api 제공자 --
+     * @return -- List<BookDTO> --
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    private fun readBooks(body: InputStream, provider: ApiProvider): List<BookDTO> {
+        val books = mutableListOf<BookDTO>()
+
+        objectMapper.factory.createParser(body).use { parser ->
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return books
             }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                val field = parser.currentName
+                val token = parser.nextToken()
+                if (field == provider.responseKey && token == JsonToken.START_ARRAY) {
+                    readArray(parser, provider, books)
+                } else {
+                    parser.skipChildren()
+                }
+            }
+        }
+        return books
+    }
+
+    private fun readArray(parser: JsonParser, provider: ApiProvider, books: MutableList<BookDTO>) {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            books.add(convertToBook(objectMapper.readValue(parser, provider.dtoType)))
         }
     }
 
@@ -95,17 +196,12 @@ class ApiClientService(
      * -- BookDTO 변환 메소드 --
      * api 응답 데이터를 BookDTO로 변환한다
      *
-     * @param -- item api 응답 데이터 --
-     * @param -- String apiType 네이버와 카카오 구분 --
+     * @param -- bookDto 네이버 또는 카카오 DTO --
      * @return BookDTO
      * @author 정재익
      * @since 2월 18일
      */
-    private fun convertToBook(item: Any, apiType: String): BookDTO {
-        val bookDto = when (apiType.lowercase()) {
-            "kakao" -> objectMapper.convertValue(item, KakaoDTO::class.java)
-            else -> objectMapper.convertValue(item, NaverDTO::class.java)
-        }
+    private fun convertToBook(bookDto: BookDTOInterface): BookDTO {
         return BookDTO(
             id = null,
             title = bookDto.title,
@@ -118,5 +214,14 @@ class ApiClientService(
         )
     }
 
-
+    /**
+     * -- Api 요청 스레드 종료 메소드 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @PreDestroy
+    fun shutdown() {
+        apiExecutor.shutdownNow()
+    }
 }
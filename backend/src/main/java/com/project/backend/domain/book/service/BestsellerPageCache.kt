@@ -0,0 +1,62 @@
+package com.project.backend.domain.book.service
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.project.backend.domain.book.dto.BookDTO
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.domain.Page
+import org.springframework.stereotype.Component
+import java.time.Duration
+
+/**
+ * -- 베스트셀러 페이지 캐시 클래스 --
+ * 베스트셀러 목록은 크롤링 주기(1시간)마다만 바뀌므로 카테고리, 페이지별 조회 결과를 노드 로컬에 보관한다
+ * 크롤링한 노드가 순위를 반영하면 BookCacheInvalidation 메시지로 모든 노드의 캐시가 비워진다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+class BestsellerPageCache(
+    private val bookCacheInvalidation: BookCacheInvalidation,
+    @Value("\${book.bestseller.local-ttl:1m}") localTtl: Duration
+) {
+    private data class PageKey(val category: String, val page: Int, val size: Int)
+
+    private val localCache: Cache<PageKey, Page<BookDTO>> = Caffeine.newBuilder()
+        .expireAfterWrite(localTtl)
+        .maximumSize(1000)
+        .build()
+
+    init {
+        bookCacheInvalidation.subscribe(BookCacheInvalidation.SCOPE_BESTSELLER) { localCache.invalidateAll() }
+    }
+
+    /**
+     * -- 베스트셀러 페이지 조회 메소드 --
+     *
+     * @param -- category 카테고리 번호 --
+     * @param -- page 페이지 --
+     * @param -- size 페이지 크기 --
+     * @param -- loader DB 조회 함수 --
+     * @return -- Page<BookDTO> --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun get(category: String, page: Int, size: Int, loader: () -> Page<BookDTO>): Page<BookDTO> {
+        return localCache.get(PageKey(category, page, size)) { loader() }
+    }
+
+    /**
+     * -- 전체 노드 캐시 제거 메소드 --
+     * 순위 반영이 커밋된 뒤 호출한다
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun invalidateAll() {
+        localCache.invalidateAll()
+        bookCacheInvalidation.publish(BookCacheInvalidation.SCOPE_BESTSELLER)
+    }
+}
@@ -0,0 +1,142 @@
+package com.project.backend.domain.book.service
+
+import com.project.backend.domain.book.exception.BookErrorCode
+import com.project.backend.domain.book.exception.BookException
+import com.project.backend.domain.book.repository.BestsellerRankingRepository
+import com.project.backend.domain.book.repository.BookRepository
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.domain.Pageable
+import org.springframework.data.redis.core.DefaultTypedTuple
+import org.springframework.data.redis.core.RedisOperations
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.core.SessionCallback
+import org.springframework.data.redis.core.ZSetOperations
+import org.springframework.stereotype.Component
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+
+/**
+ * -- 베스트셀러 순위 Redis 저장소 --
+ * 카테고리별 순위를 bestseller:{카테고리} ZSET(멤버 도서 id, 점수 순위)에 저장하여
+ * 페이지 조회를 book 테이블 정렬 대신 ZRANGE(O(log n + 페이지 크기))로 처리한다
+ * ZSET이 없으면(Redis 초기화 등) bestseller_ranking 테이블에서 다시 만든다
+ * 카테고리별 순위가 도입되기 전 데이터만 있는 경우 종합 카테고리는 Book.ranking으로 만든다
+ * book.crawling.categories에 없는 카테고리는 조회하지 않아 요청 파라미터로 DB 조회와 캐시 키가 늘어나지 않게 한다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+class BestsellerRankingStore(
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val bestsellerRankingRepository: BestsellerRankingRepository,
+    private val bookRepository: BookRepository,
+    @Value("\${book.crawling.categories:001}") categories: List<String>
+) {
+    private val knownCategories: Set<String> = categories.map { it.trim() }.filter { it.isNotEmpty() }.toSet() +
+        BookService.DEFAULT_BESTSELLER_CATEGORY
+
+    companion object {
+        private const val KEY_PREFIX = "bestseller:"
+    }
+
+    /**
+     * -- 순위 항목 --
+     *
+     * @param -- bookId 도서 id --
+     * @param -- ranking 순위 --
+     */
+    data class RankedBook(val bookId: Long, val ranking: Int)
+
+    /**
+     * -- 카테고리 확인 메소드 --
+     * 크롤링하도록 설정된 카테고리가 아니면 예외를 던진다
+     *
+     * @param -- category 카테고리 번호 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun requireKnownCategory(category: String) {
+        if (category !in knownCategories) {
+            throw BookException(BookErrorCode.CATEGORY_NOT_FOUND)
+        }
+    }
+
+    /**
+     * -- 카테고리 순위 페이지 조회 메소드 --
+     *
+     * @param -- category 카테고리 번호 --
+     * @param -- offset 시작 위치 --
+     * @param -- size 조회 수량 --
+     * @return -- Pair<List<RankedBook>, Long> 순위 오름차순 항목과 카테고리 전체 수 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun findPage(category: String, offset: Long, size: Int): Pair<List<RankedBook>, Long> {
+        requireKnownCategory(category)
+        val key = KEY_PREFIX + category
+        if (redisTemplate.hasKey(key) != true) {
+            rebuild(category)
+        }
+
+        val total = redisTemplate.opsForZSet().zCard(key) ?: 0L
+        val tuples = redisTemplate.opsForZSet().rangeWithScores(key, offset, offset + size - 1).orEmpty()
+        return tuples.map { RankedBook(it.value!!.toLong(), it.score!!.toInt()) } to total
+    }
+
+    /**
+     * -- 카테고리 순위 교체 메소드 --
+     * 기존 키 삭제와 새 순위 저장을 MULTI로 묶어 읽는 쪽이 중간 상태를 보지 않도록 한다
+     * 임시 키를 쓰지 않으므로 저장 도중 노드가 죽어도 남는 키가 없다
+     * 트랜잭션 안에서 호출되면 커밋 이후에 교체한다
+     *
+     * @param -- category 카테고리 번호 --
+     * @param -- bookIdsByRanking 순위별 도서 id --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun replace(category: String, bookIdsByRanking: Map<Int, Long>) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+                override fun afterCommit() = write(category, bookIdsByRanking)
+            })
+        } else {
+            write(category, bookIdsByRanking)
+        }
+    }
+
+    private fun rebuild(category: String) {
+        val rankings = bestsellerRankingRepository.findByCategoryOrderByRankingAsc(category)
+        if (rankings.isEmpty() && category == BookService.DEFAULT_BESTSELLER_CATEGORY) {
+            val books = bookRepository.findByRankingIsNotNullOrderByRankingAsc(Pageable.unpaged()).content
+            write(category, books.associate { it.ranking!! to it.id!! })
+            return
+        }
+        write(category, rankings.associate { it.ranking to it.bookId })
+    }
+
+    private fun write(category: String, bookIdsByRanking: Map<Int, Long>) {
+        val key = KEY_PREFIX + category
+        if (bookIdsByRanking.isEmpty()) {
+            redisTemplate.delete(key)
+            return
+        }
+
+        val tuples: Set<ZSetOperations.TypedTuple<String>> = bookIdsByRanking
+            .map { (ranking, bookId) -> DefaultTypedTuple(bookId.toString(), ranking.toDouble()) }
+            .toSet()
+        redisTemplate.execute(object : SessionCallback<List<Any>> {
+            override fun <K, V> execute(operations: RedisOperations<K, V>): List<Any> {
+                @Suppress("UNCHECKED_CAST")
+                val stringOperations = operations as RedisOperations<String, String>
+                stringOperations.multi()
+                stringOperations.delete(key)
+                stringOperations.opsForZSet().add(key, tuples)
+                return stringOperations.exec()
+            }
+        })
+    }
+}
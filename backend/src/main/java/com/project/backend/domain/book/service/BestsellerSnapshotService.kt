@@ -0,0 +1,183 @@
+package com.project.backend.domain.book.service
+
+import com.project.backend.domain.book.dto.BestsellerMoverDTO
+import com.project.backend.domain.book.dto.BestsellerRankPointDTO
+import com.project.backend.domain.book.entity.BestsellerSnapshot
+import com.project.backend.domain.book.exception.BookErrorCode
+import com.project.backend.domain.book.exception.BookException
+import com.project.backend.domain.book.repository.BestsellerSnapshotRepository
+import com.project.backend.domain.book.repository.BookRepository
+import com.project.backend.domain.book.util.BestsellerSnapshotCodec
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Service
+import java.time.Duration
+import java.time.LocalDateTime
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * -- 베스트셀러 스냅샷 서비스 --
+ * 순위를 반영할 때마다 bestseller_snapshot에 스냅샷을 추가하고 시점별 순위를 조회한다
+ * 1. keyframe-interval개마다 키프레임을, 그 사이에는 직전 스냅샷 기준 델타를 저장하여 한 행이 보통 수 바이트
+ * 2. 조회는 기준 시각 이전 키프레임부터 델타를 순서대로 풀어 순위 행을 읽지 않고 처리
+ * 3. 노드가 마지막으로 쓴 스냅샷을 풀어 둔 채로 보관하여 다음 델타를 만들 때 다시 풀지 않음
+ *    (다른 노드가 그 뒤에 썼거나 롤백된 경우 최신 id가 달라지므로 최신 키프레임부터 다시 풂)
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Service
+class BestsellerSnapshotService(
+    private val bestsellerSnapshotRepository: BestsellerSnapshotRepository,
+    private val bookRepository: BookRepository,
+    @Value("\${book.bestseller.snapshot.keyframe-interval:24}") private val keyframeInterval: Int
+) {
+    companion object {
+        private const val MAX_HISTORY_DAYS = 90L
+        private val MAX_MOVERS_PERIOD: Duration = Duration.ofDays(MAX_HISTORY_DAYS)
+    }
+
+    /** 풀어 둔 스냅샷, sinceKeyframe은 마지막 키프레임 이후 델타 수 */
+    private data class DecodedSnapshot(
+        val id: Long,
+        val crawledAt: LocalDateTime,
+        val bookIds: List<Long>,
+        val sinceKeyframe: Int
+    ) {
+        fun rankOf(bookId: Long): Int? = bookIds.indexOf(bookId).takeIf { it >= 0 }?.plus(1)
+    }
+
+    private data class Move(val bookId: Long, val ranking: Int, val previousRanking: Int?, val change: Int)
+
+    private val latestSnapshots = ConcurrentHashMap<String, DecodedSnapshot>()
+
+    /**
+     * -- 스냅샷 추가 메소드 --
+     * 순위 반영과 같은 트랜잭션에서 호출한다
+     *
+     * @param -- category 카테고리 번호 --
+     * @param -- runId 크롤링 실행 id (펜싱 토큰) --
+     * @param -- bookIdsByRanking 순위별 도서 id --
+     * @param -- crawledAt 크롤링 시각 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun append(category: String, runId: Long, bookIdsByRanking: Map<Int, Long>, crawledAt: LocalDateTime) {
+        val size = bookIdsByRanking.keys.maxOrNull() ?: 0
+        val bookIds = List(size) { bookIdsByRanking[it + 1] ?: 0L }
+
+        val previous = loadLatest(category)?.takeIf { it.sinceKeyframe + 1 < keyframeInterval }
+        val payload = if (previous == null) {
+            BestsellerSnapshotCodec.encodeKeyframe(bookIds)
+        } else {
+            BestsellerSnapshotCodec.encodeDelta(previous.bookIds, bookIds)
+        }
+
+        val saved = bestsellerSnapshotRepository.save(
+            BestsellerSnapshot(null, category, runId, crawledAt, previous == null, bookIds.size, payload)
+        )
+        latestSnapshots[category] = DecodedSnapshot(saved.id!!, crawledAt, bookIds, previous?.sinceKeyframe?.plus(1) ?: 0)
+    }
+
+    /**
+     * -- 도서 순위 이력 조회 메소드 --
+     *
+     * @param -- category 카테고리 번호 --
+     * @param -- isbn 도서 isbn --
+     * @param -- days 조회 기간 (최대 90일) --
+     * @return -- List<BestsellerRankPointDTO> 스냅샷 시각 오름차순 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun getRankHistory(category: String, isbn: String, days: Long): List<BestsellerRankPointDTO> {
+        val book = bookRepository.findByIsbn(isbn) ?: throw BookException(BookErrorCode.BOOK_NOT_FOUND)
+        val from = LocalDateTime.now().minusDays(days.coerceIn(1, MAX_HISTORY_DAYS))
+
+        return replayFrom(category, from)
+            .filter { !it.crawledAt.isBefore(from) }
+            .map { BestsellerRankPointDTO(it.crawledAt, it.rankOf(book.id!!)) }
+    }
+
+    /**
+     * -- 순위 급상승 도서 조회 메소드 --
+     * 최신 스냅샷을 since 전 시점의 스냅샷과 비교하여 순위가 오른 도서를 많이 오른 순서로 반환한다
+     * 비교 기간은 이력 조회와 같이 최대 MAX_HISTORY_DAYS일로 맞춰 오래된 키프레임부터 전부 풀지 않게 한다
+     *
+     * @param -- category 카테고리 번호 --
+     * @param -- since 비교 기간 --
+     * @param -- limit 최대 개수 --
+     * @return -- List<BestsellerMoverDTO> --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun getMovers(category: String, since: Duration, limit: Int): List<BestsellerMoverDTO> {
+        val baselineAt = LocalDateTime.now().minus(since.coerceAtMost(MAX_MOVERS_PERIOD))
+        val snapshots = replayFrom(category, baselineAt)
+        if (snapshots.isEmpty()) {
+            return emptyList()
+        }
+
+        val current = snapshots.last()
+        val baseline = snapshots.lastOrNull { !it.crawledAt.isAfter(baselineAt) } ?: snapshots.first()
+        val previousRanks = HashMap<Long, Int>()
+        baseline.bookIds.forEachIndexed { index, id -> if (id != 0L) previousRanks.putIfAbsent(id, index + 1) }
+
+        val movers = current.bookIds.withIndex()
+            .filter { it.value != 0L }
+            .map { (index, bookId) ->
+                val previousRanking = previousRanks[bookId]
+                Move(bookId, index + 1, previousRanking, (previousRanking ?: (baseline.bookIds.size + 1)) - (index + 1))
+            }
+            .filter { it.change > 0 }
+            .sortedWith(compareByDescending<Move> { it.change }.thenBy { it.ranking })
+            .take(limit)
+
+        val books = bookRepository.findAllById(movers.map { it.bookId }).associateBy { it.id!! }
+        return movers.mapNotNull { move ->
+            books[move.bookId]?.let {
+                BestsellerMoverDTO(move.bookId, it.isbn, it.title, it.image, move.ranking, move.previousRanking, move.change)
+            }
+        }
+    }
+
+    private fun loadLatest(category: String): DecodedSnapshot? {
+        val top = bestsellerSnapshotRepository.findTopByCategoryOrderByIdDesc(category) ?: return null
+        latestSnapshots[category]?.takeIf { it.id == top.id }?.let { return it }
+
+        val keyframe = bestsellerSnapshotRepository.findTopByCategoryAndKeyframeTrueOrderByIdDesc(category) ?: return null
+        return replay(category, keyframe).lastOrNull()?.also { latestSnapshots[category] = it }
+    }
+
+    /**
+     * 기준 시각 이전의 가장 최근 키프레임(없으면 가장 오래된 키프레임)부터 최신 스냅샷까지 순서대로 푼다
+     */
+    private fun replayFrom(category: String, from: LocalDateTime): List<DecodedSnapshot> {
+        val keyframe = bestsellerSnapshotRepository
+            .findTopByCategoryAndKeyframeTrueAndCrawledAtLessThanEqualOrderByIdDesc(category, from)
+            ?: bestsellerSnapshotRepository.findTopByCategoryAndKeyframeTrueOrderByIdAsc(category)
+            ?: return emptyList()
+        return replay(category, keyframe)
+    }
+
+    private fun replay(category: String, keyframe: BestsellerSnapshot): List<DecodedSnapshot> {
+        var current: DecodedSnapshot? = null
+        return bestsellerSnapshotRepository.findByCategoryAndIdGreaterThanEqualOrderByIdAsc(category, keyframe.id!!)
+            .map { snapshot ->
+                val previous = current
+                val decoded = if (snapshot.keyframe || previous == null) {
+                    DecodedSnapshot(snapshot.id!!, snapshot.crawledAt, BestsellerSnapshotCodec.decodeKeyframe(snapshot.payload), 0)
+                } else {
+                    DecodedSnapshot(
+                        snapshot.id!!,
+                        snapshot.crawledAt,
+                        BestsellerSnapshotCodec.decodeDelta(previous.bookIds, snapshot.payload),
+                        previous.sinceKeyframe + 1
+                    )
+                }
+                current = decoded
+                decoded
+            }
+    }
+}
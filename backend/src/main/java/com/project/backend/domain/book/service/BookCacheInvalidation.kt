@@ -0,0 +1,98 @@
+package com.project.backend.domain.book.service
+
+import org.slf4j.LoggerFactory
+import org.springframework.data.redis.connection.Message
+import org.springframework.data.redis.connection.MessageListener
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.stereotype.Component
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+
+/**
+ * -- 도서 캐시 무효화 메시지 클래스 --
+ * 노드 로컬 캐시는 다른 노드에서 데이터가 바뀌어도 알 수 없으므로
+ * 데이터를 바꾼 노드가 book:cache-invalidation 채널로 "노드 id|범위|키" 메시지를 발행하고
+ * 각 노드는 범위별로 등록된 핸들러로 자기 로컬 캐시를 제거한다
+ * 자기가 발행한 메시지는 이미 직접 제거했으므로 무시한다
+ *
+ * RedisConfig의 메시지 리스너 컨테이너에 등록된다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+class BookCacheInvalidation(private val redisTemplate: RedisTemplate<String, String>) : MessageListener {
+    private val logger = LoggerFactory.getLogger(BookCacheInvalidation::class.java)
+    private val nodeId = UUID.randomUUID().toString()
+    private val handlers = ConcurrentHashMap<String, MutableList<(String) -> Unit>>()
+
+    companion object {
+        const val CHANNEL = "book:cache-invalidation"
+        private const val DELIMITER = "|"
+
+        /** 베스트셀러 순위 변경, 키 없음 */
+        const val SCOPE_BESTSELLER = "bestseller"
+
+        /** 검색어별 검색 결과, 키는 정규화된 검색어 */
+        const val SCOPE_SEARCH = "search"
+
+        /** 도서 정보, 키는 쉼표로 구분한 도서 id */
+        const val SCOPE_CATALOG = "catalog"
+
+        /** 삭제된 도서의 검색 색인, 키는 쉼표로 구분한 도서 id */
+        const val SCOPE_DELETED = "deleted"
+    }
+
+    /**
+     * -- 핸들러 등록 메소드 --
+     *
+     * @param -- scope 무효화 범위 --
+     * @param -- handler 키를 받아 로컬 캐시를 제거하는 함수 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun subscribe(scope: String, handler: (String) -> Unit) {
+        handlers.computeIfAbsent(scope) { CopyOnWriteArrayList() }.add(handler)
+    }
+
+    /**
+     * -- 무효화 메시지 발행 메소드 --
+     * 다른 노드가 커밋 전 데이터로 다시 캐시하지 않도록 커밋 이후에 호출해야 한다
+     *
+     * @param -- scope 무효화 범위 --
+     * @param -- key 무효화할 키, 범위 전체면 빈 문자열 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun publish(scope: String, key: String = "") {
+        redisTemplate.convertAndSend(CHANNEL, listOf(nodeId, scope, key).joinToString(DELIMITER))
+    }
+
+    /**
+     * -- 무효화 메시지 수신 메소드 --
+     *
+     * @param -- message 노드 id|범위|키 --
+     * @param -- pattern 구독 패턴 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    override fun onMessage(message: Message, pattern: ByteArray?) {
+        val parts = String(message.body).split(DELIMITER, limit = 3)
+        if (parts.size != 3 || parts[0] == nodeId) {
+            return
+        }
+
+        val (_, scope, key) = parts
+        handlers[scope]?.forEach {
+            try {
+                it(key)
+            } catch (e: Exception) {
+                logger.warn("로컬 캐시 무효화 실패: {} {}", scope, key, e)
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.project.backend.domain.book.service
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.project.backend.domain.book.dto.BookDTO
+import com.project.backend.domain.book.repository.BookRepository
+import com.project.backend.domain.book.util.BookUtil
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.core.RedisOperations
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.core.SessionCallback
+import org.springframework.stereotype.Component
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import java.time.Duration
+
+/**
+ * -- 도서 정보 캐시 클래스 --
+ * 도서 id, isbn으로 조회하는 도서 정보를 두 계층에 저장하는 cache-aside 캐시
+ * 1. 노드 로컬 Caffeine 캐시 (local-max-size개 초과시 크기 기준 제거)
+ * 2. Redis 해시 book:catalog:{id}와 isbn -> id 문자열 book:catalog:isbn:{isbn}
+ * 여러 건은 로컬에 없는 것만 Redis 파이프라인 한 번, 그래도 없는 것만 DB 한 번으로 조회한다
+ *
+ * 도서 정보, 종합 베스트셀러 순위, DB에 반영된 찜 수가 바뀌면 커밋 이후 evict로 두 계층에서 제거하고
+ * 다른 노드의 로컬 캐시는 BookCacheInvalidation으로 제거한다
+ * 로컬 캐시 적중, 실패, 제거 수는 book.catalog.local, Redis 적중, 실패 수는 book.catalog.redis로 노출한다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+class BookCatalogCache(
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val bookRepository: BookRepository,
+    private val bookCacheInvalidation: BookCacheInvalidation,
+    meterRegistry: MeterRegistry,
+    @Value("\${book.catalog.ttl:1h}") private val ttl: Duration,
+    @Value("\${book.catalog.local-ttl:10m}") localTtl: Duration,
+    @Value("\${book.catalog.local-max-size:10000}") localMaxSize: Long
+) {
+    companion object {
+        private const val BOOK_PREFIX = "book:catalog:"
+        private const val ISBN_PREFIX = "book:catalog:isbn:"
+        private const val ID_DELIMITER = ","
+    }
+
+    private val books: Cache<Long, BookDTO> = Caffeine.newBuilder()
+        .expireAfterWrite(localTtl)
+        .maximumSize(localMaxSize)
+        .recordStats()
+        .build()
+
+    private val isbnToId: Cache<String, Long> = Caffeine.newBuilder()
+        .expireAfterWrite(localTtl)
+        .maximumSize(localMaxSize)
+        .build()
+
+    private val redisHits = Counter.builder("book.catalog.redis").tag("result", "hit").register(meterRegistry)
+    private val redisMisses = Counter.builder("book.catalog.redis").tag("result", "miss").register(meterRegistry)
+
+    init {
+        CaffeineCacheMetrics.monitor(meterRegistry, books, "book.catalog.local")
+        bookCacheInvalidation.subscribe(BookCacheInvalidation.SCOPE_CATALOG) { key ->
+            books.invalidateAll(key.split(ID_DELIMITER).mapNotNull { it.toLongOrNull() })
+        }
+    }
+
+    /**
+     * -- id로 여러 도서 조회 메소드 --
+     *
+     * @param -- ids 도서 id 목록 --
+     * @return -- Map<Long, BookDTO> 없는 도서는 빠짐 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun getAllById(ids: Collection<Long>): Map<Long, BookDTO> {
+        val distinctIds = ids.distinct()
+        if (distinctIds.isEmpty()) {
+            return emptyMap()
+        }
+
+        val found = HashMap<Long, BookDTO>(books.getAllPresent(distinctIds))
+        var missing = distinctIds.filter { it !in found }
+        if (missing.isEmpty()) {
+            return found
+        }
+
+        val fromRedis = loadFromRedis(missing)
+        redisHits.increment(fromRedis.size.toDouble())
+        fromRedis.values.forEach { cacheLocally(it) }
+        found.putAll(fromRedis)
+        missing = missing.filter { it !in fromRedis }
+        if (missing.isEmpty()) {
+            return found
+        }
+
+        redisMisses.increment(missing.size.toDouble())
+        val fromDb = bookRepository.findAllById(missing).map { BookUtil.entityToDTO(it) }
+        saveToRedis(fromDb)
+        fromDb.forEach {
+            cacheLocally(it)
+            found[it.id!!] = it
+        }
+        return found
+    }
+
+    /**
+     * -- id로 도서 조회 메소드 --
+     *
+     * @param -- id 도서 id --
+     * @return -- BookDTO? --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun getById(id: Long): BookDTO? = getAllById(listOf(id))[id]
+
+    /**
+     * -- isbn으로 여러 도서 조회 메소드 --
+     * isbn -> id를 로컬, Redis 순으로 찾은 뒤 id로 조회하며
+     * 찾은 id의 도서가 없으면(삭제 후 다시 저장된 경우) DB에서 isbn으로 다시 찾는다
+     *
+     * @param -- isbns isbn 목록 --
+     * @return -- Map<String, BookDTO> 없는 도서는 빠짐 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun getAllByIsbn(isbns: Collection<String>): Map<String, BookDTO> {
+        val distinctIsbns = isbns.distinct()
+        if (distinctIsbns.isEmpty()) {
+            return emptyMap()
+        }
+
+        val ids = HashMap<String, Long>(isbnToId.getAllPresent(distinctIsbns))
+        val unknown = distinctIsbns.filter { it !in ids }
+        if (unknown.isNotEmpty()) {
+            redisTemplate.opsForValue().multiGet(unknown.map { ISBN_PREFIX + it }).orEmpty()
+                .forEachIndexed { index, id -> id?.toLongOrNull()?.let { ids[unknown[index]] = it } }
+        }
+
+        val byId = getAllById(ids.values)
+        val found = HashMap<String, BookDTO>()
+        ids.forEach { (isbn, id) -> byId[id]?.takeIf { it.isbn == isbn }?.let { found[isbn] = it } }
+
+        val missing = distinctIsbns.filter { it !in found }
+        if (missing.isNotEmpty()) {
+            val fromDb = bookRepository.findAllByIsbnIn(missing).map { BookUtil.entityToDTO(it) }
+            saveToRedis(fromDb)
+            fromDb.forEach {
+                cacheLocally(it)
+                found[it.isbn] = it
+            }
+        }
+        return found
+    }
+
+    /**
+     * -- isbn으로 도서 조회 메소드 --
+     *
+     * @param -- isbn isbn --
+     * @return -- BookDTO? --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun getByIsbn(isbn: String): BookDTO? = getAllByIsbn(listOf(isbn))[isbn]
+
+    /**
+     * -- 도서 정보 제거 메소드 --
+     * 트랜잭션 안에서 호출되면 커밋 이후에 제거하여 커밋 전 데이터로 다시 캐시되는 것을 막는다
+     * isbn -> id는 바뀌지 않으므로 남겨 두며 id가 달라진 경우 getAllByIsbn이 DB에서 다시 찾는다
+     *
+     * @param -- ids 도서 id 목록 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun evict(ids: Collection<Long>) {
+        val distinctIds = ids.distinct()
+        if (distinctIds.isEmpty()) {
+            return
+        }
+
+        val evictIds = {
+            books.invalidateAll(distinctIds)
+            redisTemplate.delete(distinctIds.map { BOOK_PREFIX + it })
+            distinctIds.chunked(1000).forEach {
+                bookCacheInvalidation.publish(BookCacheInvalidation.SCOPE_CATALOG, it.joinToString(ID_DELIMITER))
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+                override fun afterCommit() = evictIds()
+            })
+        } else {
+            evictIds()
+        }
+    }
+
+    private fun cacheLocally(book: BookDTO) {
+        books.put(book.id!!, book)
+        isbnToId.put(book.isbn, book.id)
+    }
+
+    private fun loadFromRedis(ids: List<Long>): Map<Long, BookDTO> {
+        val results = redisTemplate.executePipelined(object : SessionCallback<Any?> {
+            override fun <K, V> execute(operations: RedisOperations<K, V>): Any? {
+                @Suppress("UNCHECKED_CAST")
+                val hashOperations = (operations as RedisOperations<String, String>).opsForHash<String, String>()
+                ids.forEach { hashOperations.entries(BOOK_PREFIX + it) }
+                return null
+            }
+        })
+
+        val found = HashMap<Long, BookDTO>()
+        results.forEach { result ->
+            @Suppress("UNCHECKED_CAST")
+            (result as? Map<String, String>)?.takeIf { it.isNotEmpty() }?.let { decode(it) }?.let { found[it.id!!] = it }
+        }
+        return found
+    }
+
+    private fun saveToRedis(dtos: List<BookDTO>) {
+        if (dtos.isEmpty()) {
+            return
+        }
+
+        redisTemplate.executePipelined(object : SessionCallback<Any?> {
+            override fun <K, V> execute(operations: RedisOperations<K, V>): Any? {
+                @Suppress("UNCHECKED_CAST")
+                val stringOperations = operations as RedisOperations<String, String>
+                dtos.forEach {
+                    val key = BOOK_PREFIX + it.id
+                    stringOperations.opsForHash<String, String>().putAll(key, encode(it))
+                    stringOperations.expire(key, ttl)
+                    stringOperations.opsForValue().set(ISBN_PREFIX + it.isbn, it.id.toString(), ttl)
+                }
+                return null
+            }
+        })
+    }
+
+    private fun encode(book: BookDTO): Map<String, String> {
+        return mapOf(
+            "id" to book.id.toString(),
+            "title" to book.title,
+            "author" to book.author,
+            "description" to book.description,
+            "image" to book.image,
+            "isbn" to book.isbn,
+            "ranking" to (book.ranking?.toString() ?: ""),
+            "favoriteCount" to (book.favoriteCount ?: 0).toString()
+        )
+    }
+
+    private fun decode(fields: Map<String, String>): BookDTO? {
+        val id = fields["id"]?.toLongOrNull() ?: return null
+        return BookDTO(
+            id,
+            fields["title"].orEmpty(),
+            fields["author"].orEmpty(),
+            fields["description"].orEmpty(),
+            fields["image"].orEmpty(),
+            fields["isbn"] ?: return null,
+            fields["ranking"]?.toIntOrNull(),
+            fields["favoriteCount"]?.toIntOrNull() ?: 0
+        )
+    }
+}
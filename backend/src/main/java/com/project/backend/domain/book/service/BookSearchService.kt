@@ -0,0 +1,290 @@
+package com.project.backend.domain.book.service
+
+import com.project.backend.domain.book.client.ApiProvider
+import com.project.backend.domain.book.dto.BookDTO
+import com.project.backend.domain.book.dto.BookSearchResponseDTO
+import com.project.backend.domain.book.exception.BookErrorCode
+import com.project.backend.domain.book.exception.BookException
+import com.project.backend.domain.book.service.SearchKeywordRegistry.KeywordStatus
+import com.project.backend.domain.book.util.BookUtil
+import com.project.backend.domain.member.repository.MemberRepository
+import com.project.backend.global.pagination.CursorSliceDTO
+import com.project.backend.global.redis.service.RedisPublisher
+import jakarta.annotation.PreDestroy
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.domain.Page
+import org.springframework.stereotype.Service
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * -- 도서 검색 서비스 클래스 --
+ * DB 통합 검색과 네이버, 카카오 API 보충 검색을 조율한다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 12일 --
+ */
+@Service
+class BookSearchService(
+    private val bookService: BookService,
+    private val searchKeywordRegistry: SearchKeywordRegistry,
+    private val apiClientService: ApiClientService,
+    private val memberRepository: MemberRepository,
+    private val redisPublisher: RedisPublisher,
+    private val searchSingleFlight: SearchSingleFlight,
+    @Value("\${book.search.await-timeout:3s}") private val awaitTimeout: Duration
+) {
+    private val logger = LoggerFactory.getLogger(BookSearchService::class.java)
+    private val enrichExecutor: ExecutorService = Executors.newVirtualThreadPerTaskExecutor()
+
+    /** 보충 검색이 진행중인 검색어별 완료 알림을 받을 회원 id 목록 */
+    private val searchWaiters = ConcurrentHashMap<String, MutableSet<Long>>()
+
+    private data class ApiRequest(val provider: ApiProvider, val naverStart: Int, val kakaoPage: Int)
+
+    /** 보충 검색의 API 요청 성공, 실패(서킷 열림 포함) 수 */
+    private data class EnrichOutcome(val succeeded: Int = 0, val failed: Int = 0) {
+        operator fun plus(other: EnrichOutcome) = EnrichOutcome(succeeded + other.succeeded, failed + other.failed)
+    }
+
+    companion object {
+        private const val ENOUGH_BOOKS = 300L
+        private const val SEARCH_EVENT = "search"
+
+        /** 라운드별 API 요청 목록, 같은 라운드의 요청은 동시에 실행된다 */
+        private val ENRICH_ROUNDS = listOf(
+            listOf(ApiRequest(ApiProvider.NAVER, 1, 0), ApiRequest(ApiProvider.KAKAO, 0, 2)),
+            listOf(ApiRequest(ApiProvider.NAVER, 100, 0), ApiRequest(ApiProvider.KAKAO, 0, 4)),
+            listOf(ApiRequest(ApiProvider.KAKAO, 0, 10))
+        )
+    }
+
+    /**
+     * -- 도서 검색 메소드 --
+     * 1. 정규화된 검색어의 보충 상태를 SearchKeywordRegistry로 판단
+     * 2. 최신(FRESH)이면 DB 기반 통합 검색만 시행하고 오래된(STALE) 검색어는 백그라운드에서 최신 도서만 추가 보충
+     * 3. 입력된 적이 없을 경우 DB의 데이터가 300건보다 적을경우만 API 요청
+     *    같은 검색어의 동시 요청은 SearchSingleFlight로 합쳐져 한 번만 API를 호출하고 나머지는 결과를 기다림
+     *    보충은 최대 await-timeout까지만 기다리고 그 안에 끝나지 않으면 그때까지 저장된 DB 결과를 반환 (보충은 백그라운드에서 계속)
+     * 4. 처음엔 소량을 요청하고 그래도 300권이 안되면 수량을 늘려 요청
+     * 5. 3회까지 요청하고도 300권이 안되면 요청 종료
+     * 6. Page<BookDto>로 변환하여 반환
+     *
+     * @param -- query(검색어)
+     * @param -- page 페이지 --
+     * @param -- size 한 페이지에 보여주는 책 수량 --
+     * @return -- Page<BookDTO> --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 03일 --
+     */
+    fun searchBooks(query: String, page: Int, size: Int): Page<BookDTO> {
+        validateQuery(query)
+        val keyword = BookUtil.normalizeQuery(query)
+
+        when (searchKeywordRegistry.status(keyword)) {
+            KeywordStatus.FRESH -> {}
+            KeywordStatus.STALE -> startEnrichment(keyword)
+            KeywordStatus.NEW -> awaitEnrichment(keyword)
+        }
+
+        return bookService.searchBooksDB(keyword, page, size)
+    }
+
+    /**
+     * -- 도서 커서 검색 메소드 --
+     * 첫 조각 요청은 searchBooks와 같이 검색어 보충 상태를 확인하고
+     * 이어지는 조각은 캐시된 순위 목록에서 바로 잘라 반환한다
+     *
+     * @param -- query 검색어 --
+     * @param -- cursor 이전 조각의 nextCursor, 첫 조각은 null --
+     * @param -- size 조각 크기 --
+     * @return -- CursorSliceDTO<BookDTO> --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun searchBooksCursor(query: String, cursor: String?, size: Int): CursorSliceDTO<BookDTO> {
+        validateQuery(query)
+        val keyword = BookUtil.normalizeQuery(query)
+
+        if (cursor.isNullOrBlank()) {
+            when (searchKeywordRegistry.status(keyword)) {
+                KeywordStatus.FRESH -> {}
+                KeywordStatus.STALE -> startEnrichment(keyword)
+                KeywordStatus.NEW -> awaitEnrichment(keyword)
+            }
+        }
+
+        return bookService.searchBooksCursor(keyword, cursor, size)
+    }
+
+    /**
+     * -- 부분 결과 도서 검색 메소드 --
+     * DB 통합 검색 결과를 즉시 반환하고 API 보충 검색은 가상 스레드에서 백그라운드로 실행
+     * 보충 검색이 진행중이면 partial = true로 응답하고
+     * 완료되면 로그인한 요청자에게 SSE search 이벤트로 검색어를 전달한다
+     *
+     * @param -- query 검색어 --
+     * @param -- page 페이지 --
+     * @param -- size 한 페이지에 보여주는 책 수량 --
+     * @param -- username 로그인한 사용자 아이디, 비로그인시 null --
+     * @return -- BookSearchResponseDTO --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 12일 --
+     */
+    fun searchBooksPartial(query: String, page: Int, size: Int, username: String?): BookSearchResponseDTO {
+        validateQuery(query)
+        val keyword = BookUtil.normalizeQuery(query)
+
+        val books = bookService.searchBooksDB(keyword, page, size)
+
+        if (!searchSingleFlight.isInFlight(keyword) && searchKeywordRegistry.status(keyword) == KeywordStatus.FRESH) {
+            return BookSearchResponseDTO(books, partial = false)
+        }
+
+        username?.let { memberRepository.findByUsername(it).orElse(null)?.id }?.let { memberId ->
+            searchWaiters.computeIfAbsent(keyword) { ConcurrentHashMap.newKeySet() }.add(memberId)
+        }
+        startEnrichment(keyword)
+
+        return BookSearchResponseDTO(books, partial = true)
+    }
+
+    /**
+     * -- 보충 검색 시작 메소드 --
+     * SearchSingleFlight를 통해 검색어당 하나의 보충 작업만 실행된다
+     * 처음 보는 검색어는 라운드를 늘려가며 300권까지 보충하고
+     * TTL이 지난 검색어는 첫 라운드만 다시 요청하여 그 사이 새로 나온 도서만 추가한다
+     * 모든 API 요청이 성공하면 보충 시각을 기록하고 일부 제공자만 성공하면 짧은 기간만 최신으로 기록하여
+     * 한쪽 제공자가 장애일 때 검색마다 다른 제공자에 보충을 반복하지 않게 한다
+     * 모든 요청이 실패한 검색어는 기록하지 않아 다음 검색에서 다시 보충한다
+     * 작업이 끝나면 대기중인 회원들에게 SSE 이벤트를 발행한다
+     *
+     * @param -- keyword 정규화된 검색어 --
+     * @return -- CompletableFuture<Unit> 보충 작업 future --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 12일 --
+     */
+    private fun startEnrichment(keyword: String): CompletableFuture<Unit> {
+        return searchSingleFlight.execute(keyword, enrichExecutor) {
+            val outcome = when (searchKeywordRegistry.status(keyword)) {
+                KeywordStatus.NEW -> enrichBooks(keyword)
+                KeywordStatus.STALE -> requestRound(keyword, ENRICH_ROUNDS.first())
+                KeywordStatus.FRESH -> return@execute
+            }
+            when {
+                outcome.failed == 0 -> searchKeywordRegistry.markFetched(keyword)
+                outcome.succeeded > 0 -> searchKeywordRegistry.markPartiallyFetched(keyword)
+            }
+        }.whenComplete { _, ex ->
+            if (ex != null) {
+                logger.error("도서 보충 검색 실패: {}", keyword, ex)
+            }
+            searchWaiters.remove(keyword)?.forEach { redisPublisher.publishEventToUser(it, SEARCH_EVENT, keyword) }
+        }
+    }
+
+    /**
+     * -- 보충 검색 대기 메소드 --
+     * 요청 스레드는 최대 awaitTimeout까지만 기다리고 보충 작업은 취소하지 않은 채 돌아간다
+     * 보충이 실패해도 검색은 실패시키지 않고 DB 결과만으로 응답하도록 예외를 삼킨다 (실패는 startEnrichment에서 기록)
+     * 시간 제한은 handle로 만든 별도 future에만 걸어 같은 보충을 공유하는 다른 요청과 완료 알림에 영향을 주지 않는다
+     *
+     * @param -- keyword 정규화된 검색어 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    private fun awaitEnrichment(keyword: String) {
+        startEnrichment(keyword).handle { _, _ -> }
+            .completeOnTimeout(Unit, awaitTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .join()
+    }
+
+    /**
+     * -- API 보충 검색 메소드 --
+     * 라운드마다 DB 검색 결과가 300건 이상인지 확인하고 부족하면 해당 라운드의 API를 요청하여 저장
+     *
+     * @param -- query 검색어 --
+     * @return -- EnrichOutcome 전체 라운드의 API 요청 성공, 실패 수 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 12일 --
+     */
+    private fun enrichBooks(query: String): EnrichOutcome {
+        var outcome = EnrichOutcome()
+        for (round in ENRICH_ROUNDS) {
+            if (bookService.searchBooksDB(query, 0, 1).totalElements >= ENOUGH_BOOKS) {
+                break
+            }
+            outcome += requestRound(query, round)
+        }
+        return outcome
+    }
+
+    /**
+     * -- 라운드 요청 메소드 --
+     * 한 라운드의 API 요청을 동시에 실행하고 성공한 결과만 저장한다
+     * 서킷 브레이커가 열린 제공자는 요청하지 않고 실패한 제공자는 건너뛰어 나머지 제공자 결과와 DB 결과로 동작한다
+     *
+     * @param -- query 검색어 --
+     * @param -- round 라운드의 API 요청 목록 --
+     * @return -- EnrichOutcome 라운드의 API 요청 성공, 실패 수 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    private fun requestRound(query: String, round: List<ApiRequest>): EnrichOutcome {
+        val failed = AtomicInteger()
+
+        val apiBooks = round.map { request ->
+            if (!apiClientService.isAvailable(request.provider)) {
+                failed.incrementAndGet()
+                return@map CompletableFuture.completedFuture(emptyList<BookDTO>())
+            }
+            apiClientService.requestApiAsync(query, request.provider, request.naverStart, request.kakaoPage)
+                .exceptionally { ex ->
+                    logger.warn("{} API 요청 실패, 해당 제공자 결과 없이 진행: {}", request.provider, query, ex)
+                    failed.incrementAndGet()
+                    emptyList()
+                }
+        }.flatMap { it.join() }
+
+        bookService.saveBooks(apiBooks)
+        return EnrichOutcome(round.size - failed.get(), failed.get())
+    }
+
+    /**
+     * -- 검색어 검증 메소드 --
+     *
+     * @param -- query 검색어 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 12일 --
+     */
+    private fun validateQuery(query: String) {
+        if (query.isBlank()) {
+            throw BookException(BookErrorCode.QUERY_EMPTY)
+        }
+    }
+
+    /**
+     * -- 보충 검색 스레드 종료 메소드 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 12일 --
+     */
+    @PreDestroy
+    fun shutdown() {
+        enrichExecutor.shutdownNow()
+    }
+}
@@ -2,24 +2,27 @@ package com.project.backend.domain.book.service
 
 import com.project.backend.domain.book.dto.BookDTO
 import com.project.backend.domain.book.entity.Book
-import com.project.backend.domain.book.entity.Favorite
 import com.project.backend.domain.book.exception.BookErrorCode
 import com.project.backend.domain.book.exception.BookException
-import com.project.backend.domain.book.key.FavoriteId
+import com.project.backend.domain.book.repository.BookBulkRepository
 import com.project.backend.domain.book.repository.BookRepository
 import com.project.backend.domain.book.repository.FavoriteRepository
-import com.project.backend.domain.book.repository.RedisRepository
+import com.project.backend.domain.book.search.BookSearchEngine
 import com.project.backend.domain.book.util.BookUtil
 import com.project.backend.domain.member.exception.MemberErrorCode
 import com.project.backend.domain.member.exception.MemberException
 import com.project.backend.domain.member.repository.MemberRepository
-import jakarta.persistence.EntityManager
-import jakarta.persistence.PersistenceContext
+import com.project.backend.domain.review.review.service.BookReviewStatsService
+import com.project.backend.global.pagination.CursorCodec
+import com.project.backend.global.pagination.CursorSliceDTO
 import jakarta.transaction.Transactional
+import org.springframework.beans.factory.annotation.Value
 import org.springframework.data.domain.Page
+import org.springframework.data.domain.PageImpl
 import org.springframework.data.domain.PageRequest
 import org.springframework.data.domain.Pageable
 import org.springframework.stereotype.Service
+import java.time.LocalDateTime
 
 /**
  * -- 도서 서비스 클래스 --
@@ -30,96 +33,149 @@ import org.springframework.stereotype.Service
 @Service
 class BookService(
     private val bookRepository: BookRepository,
-    private val redisRepository: RedisRepository,
-    private val apiClientService: ApiClientService,
+    private val bookBulkRepository: BookBulkRepository,
     private val memberRepository: MemberRepository,
     private val favoriteRepository: FavoriteRepository,
+    private val searchResultCache: SearchResultCache,
+    private val bookSearchEngine: BookSearchEngine,
+    private val bestsellerPageCache: BestsellerPageCache,
+    private val bestsellerRankingStore: BestsellerRankingStore,
+    private val bestsellerSnapshotService: BestsellerSnapshotService,
+    private val favoriteCountBuffer: FavoriteCountBuffer,
+    private val bookReviewStatsService: BookReviewStatsService,
+    private val bookCatalogCache: BookCatalogCache,
+    @Value("\${book.search.result-max-hits:1000}") private val resultMaxHits: Int
 ) {
-    @PersistenceContext
-    private lateinit var entityManager: EntityManager
+    companion object {
+        /** yes24 종합 베스트셀러 카테고리, Book.ranking에도 이 카테고리의 순위를 저장한다 */
+        const val DEFAULT_BESTSELLER_CATEGORY = "001"
+    }
 
     /**
-     * -- 도서 검색 메소드 --
-     * 1. 입력된 적이 있는 검색어 인지 Redis 이용 판단
-     * 2. 입력된 적이 있으면 DB 기반 통합 검색만 시행
-     * 3. 입력된 적이 없을 경우 DB 기반 통합 검색 시행하고 데이터가 300건보다 적을경우만 API 요청
-     * 4. 처음엔 소량을 요청하고 그래도 300권이 안되면 수량을 늘려 요청
-     * 5. 3회까지 요청하고도 300권이 안되면 요청 종료
-     * 6. Page<BookDto>로 변환하여 반환
+     * -- 도서 통합 검색 메소드--
+     * 검색어를 기반으로 제목과 설명을 조사하여 관련된 책을 반환하는 메소드
+     * 관련도 순 도서 id 목록을 SearchResultCache에 저장해 두고 페이지는 목록에서 잘라 id로 한 번에 조회한다
+     * 캐시된 목록(최대 book.search.result-max-hits개)을 넘어가는 깊은 페이지만 검색 엔진에서 직접 조회한다
      *
-     * @param -- query(검색어)
-     * @param -- page 페이지 --
-     * @param -- size 한 페이지에 보여주는 책 수량 --
-     * @return -- Page<BookDTO> --
+     * @param -- query (검색어) --
+     * @param -- page 페이지--
+     * @param -- size 페이지에 보이는 수량--
+     * @return -- List<BookDTO> --
      *
      * @author -- 정재익 --
-     * @since -- 3월 03일 --
+     * @since -- 3월 04일 --
      */
-    @Transactional
-    fun searchBooks(query: String, page: Int, size: Int): Page<BookDTO> {
-        if (query.isBlank()) {
-            throw BookException(BookErrorCode.QUERY_EMPTY)
+    fun searchBooksDB(query: String, page: Int, size: Int): Page<BookDTO> {
+        val pageable: Pageable = PageRequest.of(page, size)
+        val keyword = BookUtil.normalizeQuery(query)
+        val result = searchResultCache.get(keyword) { loadSearchResult(it) }
+
+        val from = pageable.offset.toInt()
+        val to = minOf(from + size, result.hits.size)
+        if (to - from < size && result.hits.size < result.total) {
+            val ids = bookSearchEngine.findRankedHits(keyword, from, size).map { it.id }
+            return PageImpl(withCounts(findBooksInOrder(ids)), pageable, result.total)
         }
 
-        var bookList = searchBooksDB(query, page, size)
+        val ids = if (from < to) result.hits.subList(from, to).map { it.id } else emptyList()
+        return PageImpl(withCounts(findBooksInOrder(ids)), pageable, result.total)
+    }
 
-        if (redisRepository.existKeyword(query)) {
-            return searchBooksDB(query, page, size)
+    /**
+     * -- 도서 통합 검색 커서 메소드 --
+     * (score, id) 커서 이후의 검색 결과를 관련도 순으로 size개 반환하며 전체 개수를 세지 않는다
+     * 캐시된 순위 목록에서 커서 위치를 찾아 잘라내고 목록을 넘어가면 DB에서 커서 이후를 이어서 조회한다
+     *
+     * @param -- query 검색어 --
+     * @param -- cursor 이전 조각의 nextCursor, 첫 조각은 null --
+     * @param -- size 조각 크기 --
+     * @return -- CursorSliceDTO<BookDTO> --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun searchBooksCursor(query: String, cursor: String?, size: Int): CursorSliceDTO<BookDTO> {
+        val keyword = BookUtil.normalizeQuery(query)
+        val result = searchResultCache.get(keyword) { loadSearchResult(it) }
+        val after = cursor?.takeIf { it.isNotBlank() }?.let {
+            CursorCodec.decode(it) { (score, id) -> SearchResultCache.Hit(id.toLong(), score.toDouble()) }
         }
 
-        redisRepository.saveKeyword(query)
-
-        var start = 0
-        val end = 3
-        while (bookList.size < 300 && start < end) {
-
-            val apiBooks = mutableListOf<BookDTO>()
-
-            when (start) {
-                0 -> {
-                    apiBooks += apiClientService.requestApi(query, "naver", 1, 0)
-                    apiBooks += apiClientService.requestApi(query, "kakao", 0, 2)
-                }
+        val from = after?.let { key ->
+            result.hits.indexOfFirst { it.score < key.score || (it.score == key.score && it.id < key.id) }
+                .takeIf { it >= 0 } ?: result.hits.size
+        } ?: 0
+        var rows = result.hits.subList(from, minOf(from + size + 1, result.hits.size))
+
+        if (rows.size <= size && result.hits.size < result.total) {
+            val last = rows.lastOrNull() ?: after
+            val limit = size + 1 - rows.size
+            val more = if (last == null) {
+                bookSearchEngine.findRankedHits(keyword, 0, limit)
+            } else {
+                bookSearchEngine.findRankedHitsBefore(keyword, last.score, last.id, limit)
+            }
+            rows = rows + more.map { SearchResultCache.Hit(it.id, it.score) }
+        }
 
-                1 -> {
-                    apiBooks += apiClientService.requestApi(query, "naver", 100, 0)
-                    apiBooks += apiClientService.requestApi(query, "kakao", 0, 4)
-                }
+        val hits = rows.take(size.coerceAtLeast(0))
+        val hasNext = rows.size > hits.size && hits.isNotEmpty()
+        val nextCursor = if (hasNext) hits.last().let { CursorCodec.encode(it.score, it.id) } else null
+        return CursorSliceDTO(withCounts(findBooksInOrder(hits.map { it.id })), nextCursor, hasNext)
+    }
 
-                2 -> {
-                    apiBooks += apiClientService.requestApi(query, "kakao", 0, 10)
-                }
-            }
-            saveBooks(apiBooks)
-            bookList = searchBooksDB(query, page, size)
+    /**
+     * -- 검색 결과 캐시 적재 메소드 --
+     *
+     * @param -- keyword 정규화된 검색어 --
+     * @return -- SearchResult 관련도 순 id 목록과 전체 결과 수 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    private fun loadSearchResult(keyword: String): SearchResultCache.SearchResult {
+        val hits = bookSearchEngine.findRankedHits(keyword, 0, resultMaxHits).map { SearchResultCache.Hit(it.id, it.score) }
+        val total = if (hits.size < resultMaxHits) hits.size.toLong() else bookSearchEngine.count(keyword)
+        return SearchResultCache.SearchResult(total, hits)
+    }
 
-            if (bookList.size >= 300) {
-                break
-            }
-            start++
+    /**
+     * -- id 순서대로 도서 조회 메소드 --
+     * 도서 정보 캐시에서 한 번에 조회한 뒤 주어진 id 순서로 다시 정렬한다
+     * 캐시 이후 삭제된 도서는 건너뛴다
+     *
+     * @param -- ids 도서 id 목록 --
+     * @return -- List<BookDTO> --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    private fun findBooksInOrder(ids: List<Long>): List<BookDTO> {
+        if (ids.isEmpty()) {
+            return emptyList()
         }
-        return searchBooksDB(query, page, size)
+
+        val books = bookCatalogCache.getAllById(ids)
+        return ids.mapNotNull { books[it] }
     }
 
     /**
-     * -- 도서 통합 검색 메소드--
-     * 검색어를 기반으로 제목과 설명을 조사하여 관련된 책을 반환하는 메소드
+     * -- 찜 수, 평점 채우기 메소드 --
+     * 캐시된 도서 정보에 아직 반영되지 않은 찜 수 증감과 미리 계산된 평균 평점, 리뷰 수를 채운다
      *
-     * @param -- query (검색어) --
-     * @param -- page 페이지--
-     * @param -- size 페이지에 보이는 수량--
+     * @param -- books 도서 목록 --
      * @return -- List<BookDTO> --
      *
      * @author -- 정재익 --
-     * @since -- 3월 04일 --
+     * @since -- 3월 13일 --
      */
-    fun searchBooksDB(query: String, page: Int, size: Int): Page<BookDTO> {
-        val pageable: Pageable = PageRequest.of(page, size)
-        return bookRepository.searchFullText(query, pageable).map { BookUtil.entityToDTO(it) }
+    private fun withCounts(books: List<BookDTO>): List<BookDTO> {
+        return bookReviewStatsService.overlay(favoriteCountBuffer.overlay(books))
     }
 
     /**
      * -- 도서 상세 검색 메소드 --
+     * 도서 정보 캐시에서 조회하며 찜 수는 아직 DB에 반영되지 않은 증감을 더하고 평균 평점, 리뷰 수를 채워서 반환한다
      *
      * @param -- isbn 책 isbn--
      * @return -- BookDTO --
@@ -128,33 +184,46 @@ class BookService(
      * @since -- 3월 06일 --
      */
     fun searchDetailBooks(isbn: String): BookDTO {
-        val book = bookRepository.findByIsbn(isbn)
+        val book = bookCatalogCache.getByIsbn(isbn)
             ?: throw BookException(BookErrorCode.BOOK_NOT_FOUND)
 
-        return BookUtil.entityToDTO(book)
+        return withCounts(listOf(book)).first()
     }
 
     /**
      * -- 베스트셀러 반환 메소드 --
+     * 카테고리 순위를 Redis ZSET에서 페이지만큼 잘라 id로 한 번에 조회한다
+     * 순위는 크롤링 때만 바뀌므로 페이지별로 노드 로컬 캐시에서 반환하고 찜 수 증감만 매번 더한다
+     * 크롤링하도록 설정되지 않은 카테고리는 캐시, 조회 전에 거절한다
      *
      * @param -- page 페이지--
      * @param -- size 페이지에 보이는 수량--
+     * @param -- category 카테고리 번호 --
      * @return -- Page<BookDTO> --
      *
      * @author -- 정재익 --
      * @since -- 3월 01일 --
      */
-    fun searchBestSellersDB(page: Int, size: Int): Page<BookDTO> {
-        val pageable: Pageable = PageRequest.of(page, size)
-        val bestSellersPage = bookRepository.findByRankingIsNotNullOrderByRankingAsc(pageable)
-        return bestSellersPage.map { BookUtil.entityToDTO(it) }
+    fun searchBestSellersDB(page: Int, size: Int, category: String = DEFAULT_BESTSELLER_CATEGORY): Page<BookDTO> {
+        bestsellerRankingStore.requireKnownCategory(category)
+        val cached = bestsellerPageCache.get(category, page, size) {
+            val pageable: Pageable = PageRequest.of(page, size)
+            val (rankedBooks, total) = bestsellerRankingStore.findPage(category, pageable.offset, size)
+
+            val rankings = rankedBooks.associate { it.bookId to it.ranking }
+            val books = findBooksInOrder(rankedBooks.map { it.bookId }).map { it.copy(ranking = rankings[it.id]) }
+            PageImpl(books, pageable, total)
+        }
+        return PageImpl(withCounts(cached.content), cached.pageable, cached.totalElements)
     }
 
     /**
      * -- db 저장 메소드 --
-     * isbn을 통해 중복검사
-     * 대량의 데이터가 들어올시에는 1000개씩 쪼개서 받아들임
+     * 청크마다 여러 행을 한 문장으로 저장하고 isbn이 이미 있는 도서는 ON DUPLICATE KEY UPDATE로 건너뜀
+     * 대량의 데이터가 들어올시에는 1000개씩 쪼개서 저장함
      * DB 무결성 유지를 위해 isbn이 존재하지 않는 책들은 db에 저장하지 않음
+     * 새로 저장된 도서가 있으면 생성된 첫 id 이상인 행만 다시 조회하여
+     * 검색 결과, 도서 정보 캐시를 커밋 이후 제거하고 검색 엔진에 색인함
      *
      * @param -- List<Book> 중복이 제거되지 않은 책 목록 --
      * @author -- 정재익 --
@@ -163,57 +232,97 @@ class BookService(
     @Transactional
     fun saveBooks(books: List<BookDTO>) {
         val uniqueBooks = BookUtil.removeDuplicateBooks(books).filter { it.isbn.isNotBlank() }
-        val existingIsbns = bookRepository.findExistingIsbns(uniqueBooks.map { it.isbn }).toSet()
 
-        val booksToSave = uniqueBooks.filterNot { existingIsbns.contains(it.isbn) }.map { dto ->
-            Book(null, dto.title, dto.author, dto.description, dto.image, dto.isbn, null, dto.favoriteCount)
-        }
-        if (booksToSave.isNotEmpty()) {
-            booksToSave.chunked(1000).forEach { batch ->
-                batch.forEach { entityManager.persist(it) }
-                entityManager.flush()
-                entityManager.clear()
+        uniqueBooks.chunked(BookBulkRepository.CHUNK_SIZE).forEach { chunk ->
+            val firstId = bookBulkRepository.insertAll(chunk.map { dto ->
+                Book(null, dto.title, dto.author, dto.description, dto.image, dto.isbn, null, dto.favoriteCount)
+            }) ?: return@forEach
+
+            val savedBooks = bookRepository.findAllByIdGreaterThanEqualAndIsbnIn(firstId, chunk.map { it.isbn })
+            if (savedBooks.isNotEmpty()) {
+                searchResultCache.evictMatching(savedBooks)
+                bookCatalogCache.evict(savedBooks.mapNotNull { it.id })
+                bookSearchEngine.index(savedBooks)
             }
         }
     }
 
     /**
-     * -- 베스트셀러 db 저장 메소드 --
-     * isbn을 통해 중복검사 이미 존재하는 책들은 순위만 수정되고 나머지는 이어받음
-     * DB 무결성 유지를 위해 isbn이 존재하지 않는 책들은 db에 저장하지 않음
-     * 존재하지 않는 책들은 새로 저장됨
+     * -- 베스트셀러 상세정보 저장 메소드 --
+     * 크롤링 파이프라인에서 묶음 단위로 호출되며 새 도서는 저장하고 기존 도서는 상세정보만 갱신한다
+     * 순위는 파이프라인이 끝난 뒤 applyBestsellerRankings로 한 번에 반영한다
      *
-     * @param -- List<Book> 중복이 제거되지 않은 베스트셀러 목록 --
+     * @param -- books 상세페이지에서 추출한 도서 목록 --
      * @author -- 정재익 --
-     * @since -- 3월 01일 --
+     * @since -- 3월 13일 --
      */
     @Transactional
-    fun saveBestsellers(books: List<BookDTO>) {
-        bookRepository.resetAllRankings()
-
-        books.filter { it.isbn.isNotBlank() }
-            .forEach { dto ->
-                val existingBook = bookRepository.findByIsbn(dto.isbn)
-
-                if (existingBook != null) {
-                    existingBook.ranking = dto.ranking
-                    entityManager.merge(existingBook)
-                } else {
-                    val book = Book(null, dto.title, dto.author, dto.description, dto.image, dto.isbn, dto.ranking, 0)
-                    entityManager.persist(book)
-                }
+    fun upsertBooks(books: List<BookDTO>) {
+        val uniqueBooks = BookUtil.removeDuplicateBooks(books).filter { it.isbn.isNotBlank() }
+
+        uniqueBooks.chunked(BookBulkRepository.CHUNK_SIZE).forEach { chunk ->
+            val affected = bookBulkRepository.upsert(chunk.map { dto ->
+                Book(null, dto.title, dto.author, dto.description, dto.image, dto.isbn, null, 0)
+            })
+
+            if (affected > 0) {
+                val savedBooks = bookRepository.findAllByIsbnIn(chunk.map { it.isbn })
+                searchResultCache.evictMatching(savedBooks)
+                bookCatalogCache.evict(savedBooks.mapNotNull { it.id })
+                bookSearchEngine.index(savedBooks)
             }
-        entityManager.flush()
-        entityManager.clear()
+        }
+    }
+
+    /**
+     * -- 베스트셀러 순위 반영 메소드 --
+     * 0. 첫 문장에서 카테고리의 펜싱 토큰을 runId로 갱신하고 더 새로운 토큰이 이미 반영되었으면 아무것도 쓰지 않고 중단
+     *    토큰 행의 잠금을 커밋까지 유지하므로 Redis 확인 이후 lease가 끝나도 이전 노드의 쓰기가 새 순위를 덮어쓰지 못함
+     * 1. 카테고리의 bestseller_ranking 행을 새 순위로 교체
+     * 2. 커밋 이후 Redis bestseller:{카테고리} ZSET을 교체
+     * 3. 종합 카테고리는 Book.ranking도 새 목록에서 빠진 책들은 지우고 바뀐 책들만 수정하며
+     *    이전, 새 순위의 도서들을 커밋 이후 도서 정보 캐시에서 제거함
+     * 4. 순위 이력 조회를 위해 bestseller_snapshot에 스냅샷을 추가함
+     *
+     * @param -- category 카테고리 번호 --
+     * @param -- rankings isbn별 순위 --
+     * @param -- runId 크롤링 실행 id (크롤링 잠금의 펜싱 토큰) --
+     * @throws -- BookException CRAWLING_LOCK_LOST --
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @Transactional
+    fun applyBestsellerRankings(category: String, rankings: Map<String, Int>, runId: Long) {
+        if (!bookBulkRepository.advanceRankingFence(category, runId)) {
+            throw BookException(BookErrorCode.CRAWLING_LOCK_LOST)
+        }
+
+        val bookIds = bookRepository.findAllByIsbnIn(rankings.keys.toList()).associate { it.isbn to it.id!! }
+        val bookIdsByRanking = rankings.entries
+            .mapNotNull { (isbn, ranking) -> bookIds[isbn]?.let { ranking to it } }
+            .toMap()
+
+        if (category == DEFAULT_BESTSELLER_CATEGORY) {
+            val previousRankedIds = bookRepository.findRankedIds()
+            bookBulkRepository.applyRankings(rankings)
+            bookCatalogCache.evict(previousRankedIds + bookIds.values)
+        }
+        val crawledAt = LocalDateTime.now()
+        bookBulkRepository.replaceCategoryRankings(category, bookIdsByRanking, crawledAt)
+        bestsellerSnapshotService.append(category, runId, bookIdsByRanking, crawledAt)
+        bestsellerRankingStore.replace(category, bookIdsByRanking)
     }
 
     /**
      * -- 도서 찜, 찜취소 메소드 --
      *
      * 책을 찜하는 기능 이미 찜을 했을 경우 찜 취소
-     * 책이 받은 찜한 수를 Book DB에 최신화
-     * 유저 정보와 책 id을 favorite DB에 생성 혹은 삭제
-     * 책의 정보가 책 DB에 이미 존재 할 시 같은 책을 추가하지 않고 favoritecount만 수정하여 중복 책 등록 방지
+     * 1. FavoriteId로 먼저 삭제하고 삭제된 행이 있으면 찜 취소
+     * 2. 없으면 INSERT IGNORE로 저장하고 실제로 저장된 경우만 찜 수 증가
+     * 조회 후 저장하지 않고 영향받은 행 수로 판단하므로 연속 클릭이 겹쳐도 찜 수가 틀어지지 않음
+     * 찜 수는 book 행을 바로 갱신하지 않고 FavoriteCountBuffer에 증감만 기록하여 인기 도서 행에 잠금이 몰리지 않음
+     * 삭제와 저장은 각각 짧은 트랜잭션으로 실행하여 없는 행을 지울 때 잡힌 갭 잠금을 저장까지 들고 있지 않음
+     * (하나의 트랜잭션으로 묶으면 같은 찜이 동시에 들어올 때 서로의 갭 잠금을 기다리며 교착 상태가 됨)
      *
      * @param -- bookDto -- 프론트에서 BODY로 받은 DTO
      * @param -- username --
@@ -221,7 +330,6 @@ class BookService(
      * @author -- 김남우 --
      * @since -- 3월 4일 --
      */
-    @Transactional
     fun favoriteBook(bookDto: BookDTO, username: String): Boolean {
 
         val member = memberRepository.findByUsername(username)
@@ -235,27 +343,15 @@ class BookService(
         val bookId = book.id
             ?: throw BookException(BookErrorCode.ID_NOT_NULL)
 
-        val favoriteId = FavoriteId(member.id, bookId)
-
-        return if (favoriteRepository.existsById(favoriteId)) {
-            favoriteRepository.deleteById(favoriteId)
-
-            bookRepository.updateFavoriteCount(book, -1)
-
-            false
+        if (favoriteRepository.deleteFavorite(member.id, bookId) > 0) {
+            favoriteCountBuffer.add(bookId, -1)
+            return false
         }
-        else {
-            bookRepository.updateFavoriteCount(book, 1)
-
-            val favorite = Favorite(
-                id = favoriteId,
-                book = book,
-                member = member
-            )
-            favoriteRepository.save(favorite)
 
-            true
+        if (favoriteRepository.insertIgnore(member.id, bookId, LocalDateTime.now()) > 0) {
+            favoriteCountBuffer.add(bookId, 1)
         }
+        return true
     }
 
     /**
@@ -279,7 +375,7 @@ class BookService(
             throw BookException(BookErrorCode.NO_FAVORITE_BOOKS)
         }
 
-        return favoriteBooks
+        return PageImpl(withCounts(favoriteBooks.content), pageable, favoriteBooks.totalElements)
     }
 
     /**
@@ -292,8 +388,8 @@ class BookService(
      * @since 25. 3. 5.
      */
     fun searchBookTitlesByIds(ids: List<Long>): List<String> {
-        val books = bookRepository.findAllById(ids)
+        val books = bookCatalogCache.getAllById(ids)
 
-        return books.map { it.title }
+        return ids.mapNotNull { books[it]?.title }
     }
 }
\ No newline at end of file
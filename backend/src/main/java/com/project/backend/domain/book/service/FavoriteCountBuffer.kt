@@ -0,0 +1,173 @@
+package com.project.backend.domain.book.service
+
+import com.project.backend.domain.book.dto.BookDTO
+import com.project.backend.domain.book.repository.BookBulkRepository
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.core.RedisOperations
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.core.SessionCallback
+import org.springframework.scheduling.annotation.Scheduled
+import org.springframework.stereotype.Component
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+
+/**
+ * -- 도서 찜 수 쓰기 지연 버퍼 --
+ * 찜, 찜취소마다 book 행을 갱신하지 않고 Redis 해시(book:favorite-delta:{샤드})에 HINCRBY로 증감만 쌓는다
+ * 1. 도서 id로 샤드를 나누어 인기 도서가 몰려도 한 키에 쓰기가 집중되지 않음
+ * 2. 조회할 때는 DB의 favoriteCount에 아직 반영되지 않은 증감을 더해서 보여줌
+ * 3. flush-interval마다 샤드 키를 :flushing으로 RENAME하여 떼어낸 뒤 해당 도서들의 찜 수를 favorite 테이블에서
+ *    flush-batch-size개씩 다시 세어 한 문장으로 반영
+ *    증감을 더하지 않고 다시 세므로 Redis 쓰기가 유실되거나 두 노드가 같은 샤드를 반영해도 찜 수가 틀어지지 않음
+ *    (다시 세는 사이에 들어온 증감은 다음 반영까지 잠시 한 번 더 더해져 보일 수 있음)
+ *    다시 센 묶음의 증감은 바로 :flushing에서 지워 반영이 끝나기 전이나 실패한 뒤에도 두 번 더해지지 않음
+ * 4. 찜 수가 바뀐 묶음은 도서 정보 캐시에서 제거하여 캐시된 찜 수에 증감이 두 번 더해지지 않음
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+class FavoriteCountBuffer(
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val bookBulkRepository: BookBulkRepository,
+    private val bookCatalogCache: BookCatalogCache,
+    @Value("\${book.favorite.shards:16}") private val shards: Int,
+    @Value("\${book.favorite.flush-batch-size:500}") private val flushBatchSize: Int
+) {
+    private val logger = LoggerFactory.getLogger(FavoriteCountBuffer::class.java)
+
+    companion object {
+        private const val KEY_PREFIX = "book:favorite-delta:"
+        private const val FLUSHING_SUFFIX = ":flushing"
+    }
+
+    /**
+     * -- 찜 수 증감 기록 메소드 --
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에만 기록한다
+     *
+     * @param -- bookId 도서 id --
+     * @param -- delta 증감 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun add(bookId: Long, delta: Int) {
+        val write = {
+            redisTemplate.opsForHash<String, String>().increment(shardKey(bookId), bookId.toString(), delta.toLong())
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+                override fun afterCommit() {
+                    write()
+                }
+            })
+        } else {
+            write()
+        }
+    }
+
+    /**
+     * -- 반영되지 않은 찜 수 증감을 더하는 메소드 --
+     * 샤드별 현재 키와 반영 중인 키를 파이프라인 한 번으로 조회한다
+     *
+     * @param -- books 도서 목록 --
+     * @return -- List<BookDTO> favoriteCount에 증감을 더한 목록 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun overlay(books: List<BookDTO>): List<BookDTO> {
+        val bookIds = books.mapNotNull { it.id }.distinct()
+        if (bookIds.isEmpty()) {
+            return books
+        }
+
+        val pending = pendingDeltas(bookIds)
+        if (pending.isEmpty()) {
+            return books
+        }
+        return books.map { book ->
+            pending[book.id]?.let { book.copy(favoriteCount = ((book.favoriteCount ?: 0) + it).coerceAtLeast(0)) } ?: book
+        }
+    }
+
+    /**
+     * -- 단건 조회용 overlay --
+     *
+     * @param -- book 도서 --
+     * @return -- BookDTO --
+     */
+    fun overlay(book: BookDTO): BookDTO = overlay(listOf(book)).first()
+
+    /**
+     * -- 찜 수 반영 스케줄러 --
+     * 샤드 하나가 실패해도 나머지 샤드는 반영하며 실패한 샤드는 다음 실행에서 다시 반영한다
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @Scheduled(fixedDelayString = "\${book.favorite.flush-interval-millis:10000}")
+    fun flush() {
+        for (shard in 0 until shards) {
+            try {
+                flushShard(KEY_PREFIX + shard)
+            } catch (e: Exception) {
+                logger.warn("찜 수 반영 실패 (샤드 {})", shard, e)
+            }
+        }
+    }
+
+    private fun flushShard(key: String) {
+        val flushingKey = key + FLUSHING_SUFFIX
+
+        // 이전 반영이 중간에 멈췄다면 남은 키부터 반영
+        if (redisTemplate.hasKey(flushingKey) == true) {
+            recount(flushingKey)
+        }
+        if (redisTemplate.hasKey(key) == true && redisTemplate.renameIfAbsent(key, flushingKey) == true) {
+            recount(flushingKey)
+        }
+    }
+
+    /**
+     * 묶음마다 다시 센 직후 해당 도서의 증감을 :flushing에서 지워 overlay가 이미 반영된 증감을 한 번 더 더하지 않게 한다
+     * 중간에 실패해도 남은 도서의 증감만 :flushing에 남아 다음 반영에서 이어서 처리된다
+     */
+    private fun recount(flushingKey: String) {
+        val fields = redisTemplate.opsForHash<String, String>().keys(flushingKey).toList()
+        fields.chunked(flushBatchSize).forEach { chunk ->
+            val bookIds = chunk.mapNotNull { it.toLongOrNull() }
+            if (bookBulkRepository.recountFavorites(bookIds) > 0) {
+                bookCatalogCache.evict(bookIds)
+            }
+            redisTemplate.opsForHash<String, String>().delete(flushingKey, *chunk.toTypedArray())
+        }
+        redisTemplate.delete(flushingKey)
+    }
+
+    private fun pendingDeltas(bookIds: List<Long>): Map<Long, Int> {
+        val lookups = bookIds.groupBy { shardKey(it) }
+            .flatMap { (key, ids) -> listOf(key to ids, key + FLUSHING_SUFFIX to ids) }
+
+        val results = redisTemplate.executePipelined(object : SessionCallback<Any?> {
+            override fun <K, V> execute(operations: RedisOperations<K, V>): Any? {
+                @Suppress("UNCHECKED_CAST")
+                val hashOperations = (operations as RedisOperations<String, String>).opsForHash<String, String>()
+                lookups.forEach { (key, ids) -> hashOperations.multiGet(key, ids.map { it.toString() }) }
+                return null
+            }
+        })
+
+        val pending = HashMap<Long, Int>()
+        lookups.forEachIndexed { index, (_, ids) ->
+            val values = results[index] as? List<*> ?: return@forEachIndexed
+            ids.forEachIndexed { position, id ->
+                (values.getOrNull(position) as? String)?.toIntOrNull()?.takeIf { it != 0 }?.let { pending.merge(id, it, Int::plus) }
+            }
+        }
+        return pending
+    }
+
+    private fun shardKey(bookId: Long): String = KEY_PREFIX + Math.floorMod(bookId, shards)
+}
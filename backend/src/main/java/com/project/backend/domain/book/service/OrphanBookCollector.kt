@@ -0,0 +1,108 @@
+package com.project.backend.domain.book.service
+
+import com.project.backend.domain.book.repository.BookBulkRepository
+import com.project.backend.domain.book.repository.BookRepository
+import com.project.backend.domain.book.search.BookSearchEngine
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.scheduling.annotation.Scheduled
+import org.springframework.stereotype.Component
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+
+/**
+ * -- 고아 도서 정리 클래스 --
+ * 회원 탈퇴처럼 찜이 한꺼번에 사라질 때 찜 수가 0이 되었을 수 있는 도서 id만 Redis 집합(book:orphan-candidates)에 모아 두고
+ * 요청과 별개로 주기적으로 chunk-size개씩 꺼내 BookBulkRepository.deleteOrphanBooks로 검사, 삭제한다
+ * 1. 탈퇴 요청 안에서 book 테이블 전체를 훑어 지우지 않으므로 탈퇴가 빠르고 book 테이블을 잠그지 않음
+ * 2. SPOP으로 꺼내므로 여러 노드가 실행해도 같은 도서를 나누어 처리하며 삭제에 실패한 묶음은 다시 넣음
+ * 3. 실제로 삭제된 도서는 도서 정보 캐시와 검색 엔진 색인에서도 제거하고
+ *    다른 노드의 색인에서도 제거되도록 BookCacheInvalidation deleted 범위로 발행함
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+class OrphanBookCollector(
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val bookBulkRepository: BookBulkRepository,
+    private val bookRepository: BookRepository,
+    private val bookCatalogCache: BookCatalogCache,
+    private val bookSearchEngine: BookSearchEngine,
+    private val bookCacheInvalidation: BookCacheInvalidation,
+    @Value("\${book.orphan-gc.chunk-size:500}") private val chunkSize: Int,
+    @Value("\${book.orphan-gc.max-chunks-per-run:20}") private val maxChunksPerRun: Int
+) {
+    private val logger = LoggerFactory.getLogger(OrphanBookCollector::class.java)
+
+    companion object {
+        private const val CANDIDATES_KEY = "book:orphan-candidates"
+    }
+
+    /**
+     * -- 정리 대상 도서 등록 메소드 --
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에만 등록한다
+     *
+     * @param -- bookIds 찜 수가 줄어든 도서 id 목록 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun enqueue(bookIds: Collection<Long>) {
+        if (bookIds.isEmpty()) {
+            return
+        }
+
+        val members = bookIds.map { it.toString() }.toTypedArray()
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+                override fun afterCommit() {
+                    redisTemplate.opsForSet().add(CANDIDATES_KEY, *members)
+                }
+            })
+        } else {
+            redisTemplate.opsForSet().add(CANDIDATES_KEY, *members)
+        }
+    }
+
+    /**
+     * -- 고아 도서 정리 스케줄러 --
+     * 한 번 실행에 최대 max-chunks-per-run 묶음까지만 처리하고 남은 도서는 다음 실행에서 처리한다
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @Scheduled(fixedDelayString = "\${book.orphan-gc.interval-millis:60000}")
+    fun collect() {
+        var deleted = 0
+        for (chunk in 0 until maxChunksPerRun) {
+            val bookIds = redisTemplate.opsForSet().pop(CANDIDATES_KEY, chunkSize.toLong())
+                ?.mapNotNull { it.toLongOrNull() }
+                .orEmpty()
+            if (bookIds.isEmpty()) {
+                break
+            }
+
+            try {
+                val chunkDeleted = bookBulkRepository.deleteOrphanBooks(bookIds)
+                if (chunkDeleted > 0) {
+                    bookCatalogCache.evict(bookIds)
+                    val remaining = bookRepository.findExistingIds(bookIds).toHashSet()
+                    val deletedIds = bookIds.filter { it !in remaining }
+                    bookSearchEngine.remove(deletedIds)
+                    bookCacheInvalidation.publish(BookCacheInvalidation.SCOPE_DELETED, deletedIds.joinToString(","))
+                }
+                deleted += chunkDeleted
+            } catch (e: Exception) {
+                logger.warn("고아 도서 정리 실패, {}건 다시 등록", bookIds.size, e)
+                redisTemplate.opsForSet().add(CANDIDATES_KEY, *bookIds.map { it.toString() }.toTypedArray())
+                break
+            }
+        }
+
+        if (deleted > 0) {
+            logger.info("고아 도서 {}건 삭제", deleted)
+        }
+    }
+}
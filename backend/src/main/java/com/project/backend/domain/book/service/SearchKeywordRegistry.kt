@@ -0,0 +1,104 @@
+package com.project.backend.domain.book.service
+
+import com.project.backend.domain.book.repository.RedisRepository
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.context.event.ApplicationReadyEvent
+import org.springframework.context.event.EventListener
+import org.springframework.stereotype.Component
+import java.time.Duration
+
+/**
+ * -- 검색어 등록부 클래스 --
+ * 정규화된 검색어별로 마지막 API 보충 시각과 마지막 접근 시각을 관리한다
+ * 보충한 지 keywordTtl이 지난 검색어는 STALE로 판단하여 다시 보충하고
+ * 일부 제공자만 성공한 검색어는 partialKeywordTtl 뒤에 STALE이 되도록 기록하여 장애 중인 제공자 때문에
+ * 검색마다 보충을 반복하지 않으면서도 제공자가 회복되면 다시 보충한다
+ * 검색어 수가 keywordMaxSize를 넘으면 오래 접근되지 않은 검색어부터 제거한다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+class SearchKeywordRegistry(
+    private val redisRepository: RedisRepository,
+    @Value("\${book.search.keyword-ttl:7d}") private val keywordTtl: Duration,
+    @Value("\${book.search.keyword-max-size:100000}") private val keywordMaxSize: Long,
+    @Value("\${book.search.partial-keyword-ttl:10m}") private val partialKeywordTtl: Duration
+) {
+    private val logger = LoggerFactory.getLogger(SearchKeywordRegistry::class.java)
+
+    /**
+     * -- 검색어 상태 --
+     * NEW 보충한 적 없음, STALE 보충한 지 TTL이 지남, FRESH 최신
+     */
+    enum class KeywordStatus { NEW, STALE, FRESH }
+
+    /**
+     * -- 예전 검색어 집합 정리 메소드 --
+     * 등록부로 바뀌기 전 원문 검색어를 쌓던 search_keywords 집합이 남아 있으면 시작할 때 한 번 지운다
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @EventListener(ApplicationReadyEvent::class)
+    fun deleteLegacyKeywords() {
+        try {
+            if (redisRepository.deleteLegacyKeywords()) {
+                logger.info("예전 검색어 집합(search_keywords) 삭제")
+            }
+        } catch (e: Exception) {
+            logger.warn("예전 검색어 집합 삭제 실패", e)
+        }
+    }
+
+    /**
+     * -- 검색어 상태 조회 메소드 --
+     * 조회와 함께 마지막 접근 시각을 갱신한다
+     *
+     * @param -- keyword 정규화된 검색어 --
+     * @return -- KeywordStatus --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun status(keyword: String): KeywordStatus {
+        val now = System.currentTimeMillis()
+        val fetchedAt = redisRepository.getKeywordFetchedAt(keyword) ?: return KeywordStatus.NEW
+
+        redisRepository.touchKeyword(keyword, now)
+
+        return if (now - fetchedAt >= keywordTtl.toMillis()) KeywordStatus.STALE else KeywordStatus.FRESH
+    }
+
+    /**
+     * -- 보충 완료 기록 메소드 --
+     * 보충 시각을 저장하고 최대 개수를 넘는 오래된 검색어를 제거한다
+     *
+     * @param -- keyword 정규화된 검색어 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun markFetched(keyword: String) {
+        redisRepository.saveKeyword(keyword, System.currentTimeMillis())
+        redisRepository.evictKeywords(keywordMaxSize)
+    }
+
+    /**
+     * -- 일부 보충 기록 메소드 --
+     * 보충 시각을 keywordTtl - partialKeywordTtl만큼 앞당겨 저장하여 partialKeywordTtl 뒤에 STALE로 판단되게 한다
+     * 접근 시각은 현재 시각으로 저장하여 오래된 검색어로 먼저 제거되지 않게 한다
+     *
+     * @param -- keyword 정규화된 검색어 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun markPartiallyFetched(keyword: String) {
+        val now = System.currentTimeMillis()
+        val ttl = minOf(partialKeywordTtl, keywordTtl)
+        redisRepository.saveKeyword(keyword, now - keywordTtl.toMillis() + ttl.toMillis(), now)
+        redisRepository.evictKeywords(keywordMaxSize)
+    }
+}
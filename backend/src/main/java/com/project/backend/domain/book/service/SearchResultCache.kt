@@ -0,0 +1,166 @@
+package com.project.backend.domain.book.service
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import com.project.backend.domain.book.dto.BookSearchHit
+import com.project.backend.domain.book.entity.Book
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.stereotype.Component
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import java.time.Duration
+import java.util.Locale
+
+/**
+ * -- 검색 결과 캐시 클래스 --
+ * 정규화된 검색어별로 관련도 순 도서 id 목록과 전체 결과 수를 저장한다
+ * 노드 로컬 Caffeine 캐시를 먼저 확인하고 없으면 Redis search_result:{검색어} 키를 확인한다
+ * 검색어에 맞는 도서가 새로 저장되면 해당 검색어의 캐시를 제거하고 다른 노드의 로컬 캐시도 BookCacheInvalidation으로 제거한다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+@Component
+class SearchResultCache(
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val bookCacheInvalidation: BookCacheInvalidation,
+    @Value("\${book.search.result-ttl:10m}") private val resultTtl: Duration,
+    @Value("\${book.search.result-local-ttl:1m}") localTtl: Duration,
+    @Value("\${book.search.result-local-max-size:1000}") localMaxSize: Long
+) {
+    private val localCache: Cache<String, SearchResult> = Caffeine.newBuilder()
+        .expireAfterWrite(localTtl)
+        .maximumSize(localMaxSize)
+        .build()
+
+    init {
+        bookCacheInvalidation.subscribe(BookCacheInvalidation.SCOPE_SEARCH) { localCache.invalidate(it) }
+    }
+
+    /**
+     * -- 캐시된 검색 결과 --
+     *
+     * @param -- total 전체 검색 결과 수 --
+     * @param -- hits 관련도 순 도서 id와 점수, 최대 book.search.result-max-hits개 --
+     */
+    data class SearchResult(val total: Long, val hits: List<Hit>)
+
+    data class Hit(override val id: Long, override val score: Double) : BookSearchHit
+
+    companion object {
+        private const val RESULT_PREFIX = "search_result:"
+        /** 캐시된 검색어 목록, 만료 시각을 점수로 저장하여 만료된 검색어를 정리한다 */
+        private const val KEYWORDS_KEY = "search_result:keywords"
+        private const val HIT_DELIMITER = ","
+        private const val FIELD_DELIMITER = ":"
+        private val WHITESPACE = Regex("\\s+")
+    }
+
+    /**
+     * -- 검색 결과 조회 메소드 --
+     * 로컬 캐시, Redis 순으로 확인하고 둘 다 없으면 loader로 DB에서 읽어 두 계층에 저장한다
+     *
+     * @param -- keyword 정규화된 검색어 --
+     * @param -- loader DB 조회 함수 --
+     * @return -- SearchResult --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun get(keyword: String, loader: (String) -> SearchResult): SearchResult {
+        return localCache.get(keyword) {
+            loadFromRedis(it) ?: loader(it).also { result -> saveToRedis(it, result) }
+        }
+    }
+
+    /**
+     * -- 저장된 도서에 맞는 검색 결과 제거 메소드 --
+     * 캐시된 검색어의 단어 중 하나라도 새 도서 하나의 제목이나 저자에 들어 있으면 제거한다
+     * 검색 엔진(NATURAL LANGUAGE MODE)이 검색어의 단어 중 하나만 맞아도 결과에 넣으므로 같은 기준으로 제거한다
+     * 두 글자 이상 단어는 글자 2개 단위(ngram 파서와 같은 단위)가 모두 포함되어야 하고 한 글자 단어는 같은 단어가 있어야 한다
+     * 먼저 저장된 도서 전체의 단어로 걸러 대부분의 검색어는 도서마다 비교하지 않는다
+     * 설명에만 맞는 도서는 result-ttl이 지나 다시 조회될 때 반영된다
+     * 트랜잭션 안에서 호출되면 커밋 이후에 제거하여 커밋 전 데이터로 다시 캐시되는 것을 막는다
+     *
+     * @param -- books 새로 저장된 도서 목록 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun evictMatching(books: List<Book>) {
+        if (books.isEmpty()) {
+            return
+        }
+
+        val bookTerms = books.map { BookTerms("${it.title} ${it.author}") }
+        val allTerms = BookTerms(books.joinToString(" ") { "${it.title} ${it.author}" })
+
+        val evictMatched = {
+            redisTemplate.opsForZSet().removeRangeByScore(KEYWORDS_KEY, 0.0, System.currentTimeMillis().toDouble())
+
+            val keywords = redisTemplate.opsForZSet().range(KEYWORDS_KEY, 0, -1).orEmpty() + localCache.asMap().keys
+            keywords.asSequence()
+                .map { keyword -> keyword to keyword.split(" ").filter { it.isNotEmpty() } }
+                .filter { (_, tokens) -> tokens.isNotEmpty() && allTerms.matchesAny(tokens) }
+                .filter { (_, tokens) -> bookTerms.any { it.matchesAny(tokens) } }
+                .forEach { (keyword, _) -> evict(keyword) }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+                override fun afterCommit() = evictMatched()
+            })
+        } else {
+            evictMatched()
+        }
+    }
+
+    /**
+     * -- 검색 결과 제거 메소드 --
+     *
+     * @param -- keyword 정규화된 검색어 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    fun evict(keyword: String) {
+        localCache.invalidate(keyword)
+        redisTemplate.delete(RESULT_PREFIX + keyword)
+        redisTemplate.opsForZSet().remove(KEYWORDS_KEY, keyword)
+        bookCacheInvalidation.publish(BookCacheInvalidation.SCOPE_SEARCH, keyword)
+    }
+
+    /**
+     * -- 도서 제목, 저자의 단어와 글자 2개 단위 --
+     */
+    private class BookTerms(text: String) {
+        private val words = text.lowercase(Locale.ROOT).split(WHITESPACE).filter { it.isNotEmpty() }.toSet()
+        private val bigrams = words.flatMapTo(HashSet()) { if (it.length < 2) emptyList() else it.windowed(2) }
+
+        fun matchesAny(tokens: List<String>): Boolean = tokens.any { token ->
+            if (token.length < 2) token in words else token.windowed(2).all { it in bigrams }
+        }
+    }
+
+    private fun loadFromRedis(keyword: String): SearchResult? {
+        val value = redisTemplate.opsForValue().get(RESULT_PREFIX + keyword) ?: return null
+        val (total, hits) = value.split("|", limit = 2)
+
+        return SearchResult(
+            total.toLong(),
+            hits.split(HIT_DELIMITER).filter { it.isNotEmpty() }.map {
+                val (id, score) = it.split(FIELD_DELIMITER)
+                Hit(id.toLong(), score.toDouble())
+            }
+        )
+    }
+
+    private fun saveToRedis(keyword: String, result: SearchResult) {
+        val value = "${result.total}|" +
+            result.hits.joinToString(HIT_DELIMITER) { "${it.id}$FIELD_DELIMITER${it.score}" }
+
+        redisTemplate.opsForValue().set(RESULT_PREFIX + keyword, value, resultTtl)
+        redisTemplate.opsForZSet().add(KEYWORDS_KEY, keyword, (System.currentTimeMillis() + resultTtl.toMillis()).toDouble())
+    }
+}
@@ -0,0 +1,165 @@
+package com.project.backend.domain.book.service
+
+import com.project.backend.global.redis.service.RedisLease
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import jakarta.annotation.PreDestroy
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.stereotype.Component
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+/**
+ * -- 검색어 단일 실행(single-flight) 클래스 --
+ * 같은 검색어로 동시에 들어온 API 보충 요청을 하나로 합친다
+ * 노드 내부에서는 검색어별 CompletableFuture 하나를 공유하고
+ * 노드 간에는 Redis 임대(lease) 키를 먼저 잡은 노드만 API를 호출하며 나머지는 임대가 풀릴 때까지 기다린다
+ * 임대를 잡은 노드는 보충하는 동안 임대 시간의 1/3마다 임대를 연장하여 보충이 길어져도 다른 노드가 함께 호출하지 않게 한다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 12일 --
+ */
+@Component
+class SearchSingleFlight(
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val redisLease: RedisLease,
+    meterRegistry: MeterRegistry,
+    @Value("\${book.search.lease-ttl:60s}") private val leaseTtl: Duration
+) {
+    private val logger = LoggerFactory.getLogger(SearchSingleFlight::class.java)
+    private val inFlight = ConcurrentHashMap<String, CompletableFuture<Unit>>()
+    private val renewScheduler: ScheduledExecutorService =
+        Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("search-lease-renew").factory())
+
+    private val leaderCounter = flightCounter(meterRegistry, "leader")
+    private val coalescedCounter = flightCounter(meterRegistry, "coalesced")
+    private val remoteCounter = flightCounter(meterRegistry, "remote")
+
+    companion object {
+        private const val LEASE_PREFIX = "search_lease:"
+        private const val POLL_INTERVAL_MILLIS = 200L
+    }
+
+    /**
+     * -- 단일 실행 메소드 --
+     * 해당 key로 진행중인 작업이 있으면 그 future를 그대로 반환하고
+     * 없으면 executor에서 Redis 임대를 잡은 뒤 fetch를 실행한다
+     * 다른 노드가 임대를 가지고 있으면 fetch 없이 임대가 풀릴 때까지 기다린다
+     *
+     * @param -- key 정규화된 검색어 --
+     * @param -- executor fetch를 실행할 executor --
+     * @param -- fetch 실제 API 보충 작업 --
+     * @return -- CompletableFuture<Unit> 작업 완료 future --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 12일 --
+     */
+    fun execute(key: String, executor: Executor, fetch: () -> Unit): CompletableFuture<Unit> {
+        val flight = CompletableFuture<Unit>()
+        inFlight.putIfAbsent(key, flight)?.let {
+            coalescedCounter.increment()
+            return it
+        }
+
+        executor.execute {
+            try {
+                runWithLease(key, fetch)
+                flight.complete(Unit)
+            } catch (e: Throwable) {
+                flight.completeExceptionally(e)
+            } finally {
+                inFlight.remove(key, flight)
+            }
+        }
+        return flight
+    }
+
+    /**
+     * -- 진행중 여부 확인 메소드 --
+     *
+     * @param -- key 정규화된 검색어 --
+     * @return -- Boolean --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 12일 --
+     */
+    fun isInFlight(key: String): Boolean = inFlight.containsKey(key)
+
+    /**
+     * -- Redis 임대 획득 후 실행 메소드 --
+     *
+     * @param -- key 정규화된 검색어 --
+     * @param -- fetch 실제 API 보충 작업 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 12일 --
+     */
+    private fun runWithLease(key: String, fetch: () -> Unit) {
+        val leaseKey = LEASE_PREFIX + key
+
+        if (redisLease.tryAcquire(leaseKey, leaseTtl)) {
+            leaderCounter.increment()
+            val renewPeriod = (leaseTtl.toMillis() / 3).coerceAtLeast(1)
+            val renewal = renewScheduler.scheduleAtFixedRate(
+                { renewLease(leaseKey) }, renewPeriod, renewPeriod, TimeUnit.MILLISECONDS
+            )
+            try {
+                fetch()
+            } finally {
+                renewal.cancel(false)
+                redisLease.release(leaseKey)
+            }
+            return
+        }
+
+        remoteCounter.increment()
+        val deadline = System.currentTimeMillis() + leaseTtl.toMillis()
+        while (redisTemplate.hasKey(leaseKey) == true && System.currentTimeMillis() < deadline) {
+            Thread.sleep(POLL_INTERVAL_MILLIS)
+        }
+    }
+
+    /**
+     * -- 임대 연장 메소드 --
+     * 아직 이 노드의 임대일 때만 임대 시간을 다시 채운다
+     * 연장이 실패해도 보충은 계속하고 기록만 남긴다 (예외를 던지면 이후 연장이 모두 취소됨)
+     *
+     * @param -- leaseKey 임대 키 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    private fun renewLease(leaseKey: String) {
+        try {
+            if (!redisLease.renew(leaseKey, leaseTtl)) {
+                logger.warn("검색어 보충 임대를 잃음: {}", leaseKey)
+            }
+        } catch (e: Exception) {
+            logger.warn("검색어 보충 임대 연장 실패: {}", leaseKey, e)
+        }
+    }
+
+    /**
+     * -- 임대 연장 스레드 종료 메소드 --
+     *
+     * @author -- 정재익 --
+     * @since -- 3월 13일 --
+     */
+    @PreDestroy
+    fun shutdown() {
+        renewScheduler.shutdownNow()
+    }
+
+    private fun flightCounter(meterRegistry: MeterRegistry, role: String): Counter =
+        Counter.builder("book.search.singleflight")
+            .description("검색어 API 보충 요청 처리 방식별 횟수 (coalesced, remote는 합쳐진 요청)")
+            .tag("role", role)
+            .register(meterRegistry)
+}
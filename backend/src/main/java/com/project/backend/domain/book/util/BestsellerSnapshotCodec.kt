@@ -0,0 +1,168 @@
+package com.project.backend.domain.book.util
+
+import java.io.ByteArrayOutputStream
+
+/**
+ * -- 베스트셀러 스냅샷 인코딩 유틸 --
+ * 스냅샷은 순위 순서의 도서 id 배열이며 빈 순위는 0으로 채운다
+ * 모든 정수는 zigzag + varint로 저장하여 작은 값은 1바이트로 줄인다
+ *
+ * 1. 키프레임: 항목 수, 이어서 앞 항목과의 id 차이
+ * 2. 델타: 항목 수, 이어서 직전 스냅샷 기준 토큰 (하위 2비트가 종류)
+ *    - RUN(0): 현재 이동량(직전 스냅샷 위치 - 현재 위치)이 같은 항목 r개, 값 r
+ *    - MOVE(1): 이동량을 바꾸고 한 항목, 값 zigzag(이동량)
+ *    - LITERAL(2): 직전 스냅샷에 없던 도서 한 항목, 값 zigzag(id - 직전 LITERAL id)
+ *    순위가 그대로거나 한 권이 새로 들어와 뒤가 한 칸씩 밀린 경우 토큰 몇 개로 끝난다
+ *
+ * @author -- 정재익 --
+ * @since -- 3월 13일 --
+ */
+object BestsellerSnapshotCodec {
+    private const val RUN = 0L
+    private const val MOVE = 1L
+    private const val LITERAL = 2L
+
+    /**
+     * -- 키프레임 인코딩 메서드 --
+     *
+     * @param -- bookIds 순위 순서의 도서 id, 빈 순위는 0 --
+     * @return -- ByteArray --
+     */
+    @JvmStatic
+    fun encodeKeyframe(bookIds: List<Long>): ByteArray {
+        val out = ByteArrayOutputStream(bookIds.size * 3 + 2)
+        writeVarint(out, bookIds.size.toLong())
+        var last = 0L
+        for (id in bookIds) {
+            writeVarint(out, zigzag(id - last))
+            last = id
+        }
+        return out.toByteArray()
+    }
+
+    /**
+     * -- 델타 인코딩 메서드 --
+     *
+     * @param -- previous 직전 스냅샷의 도서 id --
+     * @param -- bookIds 이번 스냅샷의 도서 id --
+     * @return -- ByteArray --
+     */
+    @JvmStatic
+    fun encodeDelta(previous: List<Long>, bookIds: List<Long>): ByteArray {
+        val previousPositions = HashMap<Long, Int>(previous.size * 2)
+        previous.forEachIndexed { index, id -> if (id != 0L) previousPositions.putIfAbsent(id, index) }
+
+        val out = ByteArrayOutputStream(bookIds.size + 2)
+        writeVarint(out, bookIds.size.toLong())
+        var shift = 0L
+        var run = 0L
+        var lastLiteral = 0L
+
+        for ((index, id) in bookIds.withIndex()) {
+            val previousPosition = if (id == 0L) null else previousPositions[id]
+            if (previousPosition != null && previousPosition - index.toLong() == shift) {
+                run++
+                continue
+            }
+
+            if (run > 0) {
+                writeVarint(out, (run shl 2) or RUN)
+                run = 0
+            }
+            if (previousPosition != null) {
+                shift = previousPosition - index.toLong()
+                writeVarint(out, (zigzag(shift) shl 2) or MOVE)
+            } else {
+                writeVarint(out, (zigzag(id - lastLiteral) shl 2) or LITERAL)
+                lastLiteral = id
+            }
+        }
+        if (run > 0) {
+            writeVarint(out, (run shl 2) or RUN)
+        }
+        return out.toByteArray()
+    }
+
+    /**
+     * -- 키프레임 디코딩 메서드 --
+     *
+     * @param -- payload encodeKeyframe 결과 --
+     * @return -- List<Long> 순위 순서의 도서 id --
+     */
+    @JvmStatic
+    fun decodeKeyframe(payload: ByteArray): List<Long> {
+        val reader = Reader(payload)
+        val size = reader.varint().toInt()
+        val ids = ArrayList<Long>(size)
+        var last = 0L
+        repeat(size) {
+            last += unzigzag(reader.varint())
+            ids.add(last)
+        }
+        return ids
+    }
+
+    /**
+     * -- 델타 디코딩 메서드 --
+     *
+     * @param -- previous 직전 스냅샷의 도서 id --
+     * @param -- payload encodeDelta 결과 --
+     * @return -- List<Long> 순위 순서의 도서 id --
+     */
+    @JvmStatic
+    fun decodeDelta(previous: List<Long>, payload: ByteArray): List<Long> {
+        val reader = Reader(payload)
+        val size = reader.varint().toInt()
+        val ids = ArrayList<Long>(size)
+        var shift = 0L
+        var lastLiteral = 0L
+
+        while (ids.size < size) {
+            val token = reader.varint()
+            val value = token ushr 2
+            when (token and 3L) {
+                RUN -> repeat(value.toInt()) { ids.add(previous[(ids.size + shift).toInt()]) }
+                MOVE -> {
+                    shift = unzigzag(value)
+                    ids.add(previous[(ids.size + shift).toInt()])
+                }
+                LITERAL -> {
+                    lastLiteral += unzigzag(value)
+                    ids.add(lastLiteral)
+                }
+                else -> throw IllegalArgumentException("알 수 없는 스냅샷 토큰: $token")
+            }
+        }
+        return ids
+    }
+
+    private fun zigzag(value: Long): Long = (value shl 1) xor (value shr 63)
+
+    private fun unzigzag(value: Long): Long = (value ushr 1) xor -(value and 1L)
+
+    private fun writeVarint(out: ByteArrayOutputStream, value: Long) {
+        var remaining = value
+        while ((remaining and 0x7FL.inv()) != 0L) {
+            out.write(((remaining and 0x7FL) or 0x80L).toInt())
+            remaining = remaining ushr 7
+        }
+        out.write(remaining.toInt())
+    }
+
+    private class Reader(private val bytes: ByteArray) {
+        private var position = 0
+
+        fun varint(): Long {
+            var result = 0L
+            var shift = 0
+            while (true) {
+                val b = bytes[position++].toLong()
+                result = result or ((b and 0x7FL) shl shift)
+                if ((b and 0x80L) == 0L) {
+                    return result
+                }
+                shift += 7
+            }
+        }
+    }
+}
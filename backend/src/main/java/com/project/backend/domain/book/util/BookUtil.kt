@@ -3,6 +3,8 @@ package com.project.backend.domain.book.util
 import com.project.backend.domain.book.dto.BookDTO
 import com.project.backend.domain.book.entity.Book
 import org.springframework.stereotype.Component
+import java.text.Normalizer
+import java.util.Locale
 
 /**
  * --도서에 쓰이는 유틸관련 클래스--
@@ -12,6 +14,7 @@ import org.springframework.stereotype.Component
  */
 @Component
 object BookUtil {
+    private val WHITESPACE = Regex("\\s+")
 
     /**
      * -- ISBN 정제 메소드 --
@@ -27,6 +30,23 @@ object BookUtil {
         return isbn?.split(" ")?.getOrNull(1) ?: isbn ?: ""
     }
 
+    /**
+     * -- 검색어 정규화 메소드 --
+     * 같은 검색어가 다른 키로 취급되지 않도록
+     * 유니코드 NFC 정규화, 앞뒤 공백 제거, 연속 공백 하나로 축소, 소문자 변환을 적용한다
+     *
+     * @param -- query 검색어 --
+     * @return -- String 정규화된 검색어 --
+     * @author -- 정재익 --
+     * @since -- 3월 12일 --
+     */
+    fun normalizeQuery(query: String): String {
+        return Normalizer.normalize(query, Normalizer.Form.NFC)
+            .trim()
+            .replace(WHITESPACE, " ")
+            .lowercase(Locale.ROOT)
+    }
+
     /**
      * -- 중복 도서 제거 메소드 --
      * ISBN이 동일한 도서가 있을 경우 하나만 남긴다.
@@ -18,6 +18,7 @@ import java.time.LocalDateTime
  * since: 2025-01-27
  */
 @Entity
+@Table(indexes = [Index(name = "idx_follow_following_id_follower_id", columnList = "following_id, follower_id")])
 @EntityListeners(AuditingEntityListener::class)
 @IdClass(Follow.FollowId::class) // 복합 키를 정의하기 위해 IdClass 사용
 class Follow {
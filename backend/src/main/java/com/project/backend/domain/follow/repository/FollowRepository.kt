@@ -3,6 +3,8 @@ package com.project.backend.domain.follow.repository;
 import com.project.backend.domain.follow.entity.Follow;
 import com.project.backend.domain.member.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query
+import org.springframework.data.repository.query.Param
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -29,4 +31,23 @@ interface FollowRepository : JpaRepository<Follow, Follow.FollowId> {
      * @return 회원을 팔로우하는 사람 목록
      */
     fun findByFollowing(following: Member): MutableList<Follow>
+
+    /**
+     * 특정 회원을 팔로우하는 회원 id를 afterId 다음부터 오름차순으로 limit개 조회
+     * (following_id, follower_id) 인덱스만 읽는 키셋 조회라 팔로워가 많아도 묶음마다 비용이 일정함
+     * @param followingId 팔로우 대상 회원 id
+     * @param afterId 이전 묶음의 마지막 팔로워 id, 처음은 0
+     * @param limit 묶음 크기
+     * @return 팔로워 회원 id 목록
+     */
+    @Query(
+        value = "SELECT follower_id FROM follow WHERE following_id = :followingId AND follower_id > :afterId " +
+            "ORDER BY follower_id LIMIT :limit",
+        nativeQuery = true
+    )
+    fun findFollowerIdsAfter(
+        @Param("followingId") followingId: Long,
+        @Param("afterId") afterId: Long,
+        @Param("limit") limit: Int
+    ): List<Long>
 }
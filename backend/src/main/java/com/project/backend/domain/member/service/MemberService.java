@@ -2,6 +2,8 @@ package com.project.backend.domain.member.service;
 
 import com.project.backend.domain.book.repository.BookRepository;
 import com.project.backend.domain.book.repository.FavoriteRepository;
+import com.project.backend.domain.book.service.BookCatalogCache;
+import com.project.backend.domain.book.service.OrphanBookCollector;
 import com.project.backend.domain.follow.service.FollowService;
 import com.project.backend.domain.member.dto.LoginDto;
 import com.project.backend.domain.member.dto.MemberDto;
@@ -36,6 +38,8 @@ public class MemberService {
     private final JwtUtil jwtUtil;
     private final FavoriteRepository favoriteRepository;
     private final BookRepository bookRepository;
+    private final OrphanBookCollector orphanBookCollector;
+    private final BookCatalogCache bookCatalogCache;
     private final RedisTemplate<String, String> redisTemplate;
 
     // FollowService 의존성 추가
@@ -215,9 +219,10 @@ public class MemberService {
 
         // 탈퇴 회원이 찜한 도서 찜 취소 처리 및 도서 테이블 데이터 UPDATE
         List<Long> bookIds = favoriteRepository.findBookIdsByMemberId(member.getId()); // 탈퇴 회원이 찜한 도서 조회
+        bookRepository.decreaseFavoriteCountsByMemberId(member.getId()); // 찜 취소될 도서 favoriteCount를 한 문장으로 감소
         favoriteRepository.deleteByMemberId(member.getId()); // 찜 취소
-        for (Long bookId : bookIds) { bookRepository.decreaseFavoriteCount(bookId); } // 찜 취소된 도서 favoriteCount 감소
-        bookRepository.deleteBooksZeroFavoriteCount(); // 찜 수가 0이라면 도서 테이블에서 삭제
+        bookCatalogCache.evict(bookIds); // 찜 수가 바뀐 도서는 커밋 이후 도서 정보 캐시에서 제거
+        orphanBookCollector.enqueue(bookIds); // 찜 수가 0이 된 도서는 커밋 이후 백그라운드에서 정리
 
         memberRepository.delete(member);
     }
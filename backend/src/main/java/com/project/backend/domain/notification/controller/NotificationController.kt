@@ -5,6 +5,7 @@ import com.project.backend.domain.member.service.MemberService
 import com.project.backend.domain.notification.dto.NotificationDTO
 import com.project.backend.domain.notification.service.NotificationService
 import com.project.backend.global.authority.CustomUserDetails
+import com.project.backend.global.pagination.CursorSliceDTO
 import com.project.backend.global.response.GenericResponse
 import org.springframework.data.domain.Page
 import org.springframework.http.ResponseEntity
@@ -42,6 +43,21 @@ class NotificationController(
         return ResponseEntity.ok(GenericResponse.of(notificationDTOS, "알림 조회 성공"))
     }
 
+    /**
+     * 특정 유저 알림 커서 조회
+     */
+    @GetMapping("/myNotification/cursor")
+    fun getUserIdNotificationByCursor(
+        @AuthenticationPrincipal userDetails: CustomUserDetails,
+        @RequestParam(required = false) cursor: String?,
+        @RequestParam(defaultValue = "10") size: Int,
+        @RequestParam(defaultValue = "false") onlyNotCheck: Boolean
+    ): ResponseEntity<GenericResponse<CursorSliceDTO<NotificationDTO>>> {
+        val memberDto = memberService.getMyProfile(userDetails.username)
+        val slice = notificationService.findByUserCursor(memberDto, cursor, CursorSliceDTO.coerceSize(size), onlyNotCheck)
+        return ResponseEntity.ok(GenericResponse.of(slice, "알림 조회 성공"))
+    }
+
     /**
      * 알림 읽음 상태 변경
      */
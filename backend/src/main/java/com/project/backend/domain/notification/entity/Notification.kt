@@ -5,6 +5,13 @@ import jakarta.persistence.*
 import java.time.LocalDateTime
 
 @Entity
+@Table(
+    indexes = [
+        Index(name = "idx_notification_consumer_created_at_id", columnList = "consumer_member_id, created_at, id"),
+        Index(name = "idx_notification_consumer_check_created_at_id", columnList = "consumer_member_id, is_check, created_at, id"),
+        Index(name = "idx_notification_review_type_consumer", columnList = "review_id, notification_type, consumer_member_id")
+    ]
+)
 class Notification(
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
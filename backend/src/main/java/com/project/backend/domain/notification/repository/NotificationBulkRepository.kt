@@ -0,0 +1,45 @@
+package com.project.backend.domain.notification.repository
+
+import com.project.backend.domain.notification.entity.Notification
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.stereotype.Repository
+import java.sql.Timestamp
+
+/**
+ * 알림 대량 저장소
+ * Notification은 IDENTITY 전략이라 saveAll도 행마다 INSERT가 나가므로 여러 행을 한 문장으로 묶어 저장한다
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@Repository
+class NotificationBulkRepository(private val jdbcTemplate: JdbcTemplate) {
+
+    companion object {
+        private const val INSERT_PREFIX = "INSERT INTO notification (producer_member_id, consumer_member_id, review_id, " +
+            "review_comment_id, is_check, content, notification_type, created_at, modified_at) VALUES "
+        private const val ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?)"
+    }
+
+    /**
+     * 알림 대량 저장
+     * 한 문장이므로 묶음 전체가 저장되거나 전혀 저장되지 않는다
+     *
+     * @param notifications 저장할 알림 목록
+     * @return 저장된 알림 수
+     */
+    fun insertAll(notifications: List<Notification>): Int {
+        if (notifications.isEmpty()) {
+            return 0
+        }
+
+        val sql = INSERT_PREFIX + List(notifications.size) { ROW_PLACEHOLDER }.joinToString(", ")
+        val args = notifications.flatMap {
+            listOf(
+                it.producerMemberId, it.consumerMemberId, it.reviewId, it.reviewCommentId, it.isCheck,
+                it.content, it.notificationType.name, Timestamp.valueOf(it.createdAt), Timestamp.valueOf(it.modifiedAt)
+            )
+        }
+        return jdbcTemplate.update(sql, *args.toTypedArray())
+    }
+}
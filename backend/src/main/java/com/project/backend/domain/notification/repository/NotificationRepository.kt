@@ -1,9 +1,13 @@
 package com.project.backend.domain.notification.repository
 
 import com.project.backend.domain.notification.entity.Notification
+import com.project.backend.domain.notification.entity.NotificationType
 import org.springframework.data.domain.Page
 import org.springframework.data.domain.Pageable
 import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.data.jpa.repository.Query
+import org.springframework.data.repository.query.Param
+import java.time.LocalDateTime
 
 /**
  * 알림 레포지토리
@@ -17,4 +21,50 @@ interface NotificationRepository : JpaRepository<Notification, Long> {
     fun findAllByConsumerMemberIdAndIsCheckFalse(id: Long, pageable: Pageable): Page<Notification>
 
     fun countByConsumerMemberId(memberId: Long): Long
+
+    /**
+     * (createdAt, id) 기준 커서 이후의 알림을 최신순으로 조회
+     */
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.consumerMemberId = :consumerMemberId
+          AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))
+        ORDER BY n.createdAt DESC, n.id DESC
+    """)
+    fun findSliceBefore(
+        @Param("consumerMemberId") consumerMemberId: Long,
+        @Param("createdAt") createdAt: LocalDateTime,
+        @Param("id") id: Long,
+        pageable: Pageable
+    ): List<Notification>
+
+    /**
+     * (createdAt, id) 기준 커서 이후의 읽지 않은 알림을 최신순으로 조회
+     */
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.consumerMemberId = :consumerMemberId
+          AND n.isCheck = false
+          AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))
+        ORDER BY n.createdAt DESC, n.id DESC
+    """)
+    fun findUncheckedSliceBefore(
+        @Param("consumerMemberId") consumerMemberId: Long,
+        @Param("createdAt") createdAt: LocalDateTime,
+        @Param("id") id: Long,
+        pageable: Pageable
+    ): List<Notification>
+
+    /**
+     * 리뷰 알림을 받은 회원 중 가장 큰 회원 id 조회
+     * 팔로워 알림은 회원 id 오름차순으로 묶음마다 저장하므로 중단된 전송을 이어갈 위치가 된다
+     */
+    @Query("""
+        SELECT MAX(n.consumerMemberId) FROM Notification n
+        WHERE n.reviewId = :reviewId AND n.notificationType = :notificationType
+    """)
+    fun findMaxConsumerMemberId(
+        @Param("reviewId") reviewId: Long,
+        @Param("notificationType") notificationType: NotificationType
+    ): Long?
 }
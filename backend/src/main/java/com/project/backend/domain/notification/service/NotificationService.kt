@@ -7,6 +7,8 @@ import com.project.backend.domain.notification.entity.NotificationType
 import com.project.backend.domain.notification.exception.NotificationErrorCode
 import com.project.backend.domain.notification.exception.NotificationException
 import com.project.backend.domain.notification.repository.NotificationRepository
+import com.project.backend.global.pagination.CreatedAtCursor
+import com.project.backend.global.pagination.CursorSliceDTO
 import com.project.backend.global.redis.service.RedisPublisher
 import org.springframework.data.domain.Page
 import org.springframework.data.domain.PageRequest
@@ -62,6 +64,22 @@ class NotificationService(
         return notificationPage.map { NotificationDTO.from(it) }
     }
 
+    /**
+     * 알람 커서 조회
+     * (createdAt, id) 기준으로 커서 이후의 알림을 최신순으로 size개 반환하며 COUNT 쿼리를 실행하지 않는다
+     */
+    fun findByUserCursor(memberDto: MemberDto, cursor: String?, size: Int, onlyNotCheck: Boolean): CursorSliceDTO<NotificationDTO> {
+        val key = CreatedAtCursor.decode(cursor)
+        val pageable = PageRequest.of(0, size + 1)
+
+        val rows = if (onlyNotCheck) {
+            notificationRepository.findUncheckedSliceBefore(memberDto.id, key.createdAt, key.id, pageable)
+        } else {
+            notificationRepository.findSliceBefore(memberDto.id, key.createdAt, key.id, pageable)
+        }
+        return CursorSliceDTO.of(rows, size, { CreatedAtCursor(it.createdAt, it.id!!).encode() }) { NotificationDTO.from(it) }
+    }
+
     /**
      * 알람 읽음 상태 변경
      */
@@ -0,0 +1,169 @@
+package com.project.backend.domain.notification.service
+
+import com.project.backend.domain.follow.repository.FollowRepository
+import com.project.backend.domain.member.service.MemberService
+import com.project.backend.domain.notification.entity.Notification
+import com.project.backend.domain.notification.entity.NotificationType
+import com.project.backend.domain.notification.repository.NotificationBulkRepository
+import com.project.backend.domain.notification.repository.NotificationRepository
+import com.project.backend.domain.review.review.event.ReviewCreatedEvent
+import com.project.backend.global.outbox.service.OutboxEventHandler
+import com.project.backend.global.redis.service.RedisLease
+import com.project.backend.global.redis.service.RedisPublisher
+import jakarta.annotation.PreDestroy
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.scheduling.annotation.Scheduled
+import org.springframework.stereotype.Component
+import java.time.Duration
+import java.time.LocalDateTime
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+/**
+ * 새 리뷰 팔로워 알림 전송기
+ * OutboxRelay가 전달한 ReviewCreatedEvent를 받아 전송할 리뷰를 등록하고 별도 스레드에서 작성자의 팔로워 전체에게 알림을 보낸다
+ * 1. 팔로워 id를 follow 테이블에서 id 오름차순 키셋으로 batch-size개씩 조회
+ * 2. 묶음의 알림을 한 문장으로 저장하고 Redis 발행은 파이프라인 한 번으로 전송
+ * 3. 진행 위치는 이미 저장된 리뷰 알림의 가장 큰 수신자 id이므로 중간에 멈추거나 같은 이벤트를 다시 받아도
+ *    저장된 묶음 다음부터 이어서 전송
+ *
+ * 전송할 리뷰는 Redis notification:fanout:pending에 남겨두고 끝나면 지우며
+ * resume-interval마다 남은 리뷰를 다시 전송하여 노드가 죽어도 알림이 이어서 전송된다
+ * 같은 리뷰는 lease-ttl 임대를 가진 노드 하나만 전송한다
+ * 임대는 RedisLease로 묶음을 저장하기 전마다 자기 임대일 때만 연장하여 저장이 임대 시간 안에 끝나게 하고
+ * 연장에 실패하면(임대를 잃으면) 저장하지 않고 멈추며 해제도 자기 임대일 때만 지운다
+ *
+ * 팔로우는 FollowSyncScheduler가 1분마다 DB에 반영하므로 그 사이에 생긴 팔로우는 알림 대상에서 빠질 수 있다
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@Component
+class ReviewNotificationFanOut(
+    private val followRepository: FollowRepository,
+    private val notificationRepository: NotificationRepository,
+    private val notificationBulkRepository: NotificationBulkRepository,
+    private val notificationService: NotificationService,
+    private val memberService: MemberService,
+    private val redisPublisher: RedisPublisher,
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val redisLease: RedisLease,
+    @Value("\${notification.fanout.batch-size:500}") private val batchSize: Int,
+    @Value("\${notification.fanout.lease-ttl:60s}") private val leaseTtl: Duration
+) : OutboxEventHandler<ReviewCreatedEvent> {
+    private val logger = LoggerFactory.getLogger(ReviewNotificationFanOut::class.java)
+
+    private val fanOutExecutor: ExecutorService = Executors.newVirtualThreadPerTaskExecutor()
+
+    companion object {
+        private const val PENDING_KEY = "notification:fanout:pending"
+        private const val JOB_PREFIX = "notification:fanout:job:"
+        private const val LEASE_PREFIX = "notification:fanout:lease:"
+    }
+
+    override val eventType: String = ReviewCreatedEvent.EVENT_TYPE
+
+    override val payloadType: Class<ReviewCreatedEvent> = ReviewCreatedEvent::class.java
+
+    /**
+     * 리뷰 생성 이벤트 처리
+     * 전송할 리뷰를 등록한 뒤 별도 스레드에서 전송한다
+     * 등록에 실패하면 예외를 던져 OutboxRelay가 다시 전달하게 한다
+     *
+     * @param payloads 리뷰 생성 이벤트 목록
+     */
+    override fun handle(payloads: List<ReviewCreatedEvent>) {
+        payloads.forEach { register(it) }
+        payloads.forEach { event -> fanOutExecutor.execute { fanOut(event.reviewId) } }
+    }
+
+    /**
+     * 남은 알림 전송 재개 스케줄러
+     * handle과 같이 별도 스레드에서 전송하여 팔로워가 많은 리뷰가 스케줄러 스레드를 붙잡지 않게 한다
+     * 다른 노드나 이 노드의 다른 스레드가 전송 중인 리뷰는 임대를 얻지 못해 건너뛴다
+     */
+    @Scheduled(fixedDelayString = "\${notification.fanout.resume-interval-millis:60000}")
+    fun resume() {
+        redisTemplate.opsForSet().members(PENDING_KEY).orEmpty()
+            .mapNotNull { it.toLongOrNull() }
+            .forEach { reviewId -> fanOutExecutor.execute { fanOut(reviewId) } }
+    }
+
+    @PreDestroy
+    fun shutdown() {
+        fanOutExecutor.shutdownNow()
+    }
+
+    private fun register(event: ReviewCreatedEvent) {
+        redisTemplate.opsForHash<String, String>().putAll(
+            JOB_PREFIX + event.reviewId,
+            mapOf(
+                "producerMemberId" to event.authorId.toString(),
+                "content" to notificationService.buildContent(
+                    memberService.getMemberById(event.authorId).userNameK,
+                    NotificationType.REVIEW
+                )
+            )
+        )
+        redisTemplate.opsForSet().add(PENDING_KEY, event.reviewId.toString())
+    }
+
+    private fun fanOut(reviewId: Long) {
+        val leaseKey = LEASE_PREFIX + reviewId
+        if (!redisLease.tryAcquire(leaseKey, leaseTtl)) {
+            return
+        }
+
+        try {
+            val job = redisTemplate.opsForHash<String, String>().entries(JOB_PREFIX + reviewId)
+            val producerMemberId = job["producerMemberId"]?.toLongOrNull()
+            val content = job["content"]
+            if (producerMemberId == null || content == null) {
+                complete(reviewId)
+                return
+            }
+
+            var afterId = notificationRepository.findMaxConsumerMemberId(reviewId, NotificationType.REVIEW) ?: 0L
+            while (redisLease.renew(leaseKey, leaseTtl)) {
+                val followerIds = followRepository.findFollowerIdsAfter(producerMemberId, afterId, batchSize)
+                if (followerIds.isEmpty()) {
+                    complete(reviewId)
+                    break
+                }
+
+                val now = LocalDateTime.now()
+                notificationBulkRepository.insertAll(followerIds.map {
+                    Notification(
+                        producerMemberId = producerMemberId,
+                        consumerMemberId = it,
+                        reviewId = reviewId,
+                        reviewCommentId = null,
+                        isCheck = false,
+                        content = content,
+                        notificationType = NotificationType.REVIEW,
+                        createdAt = now,
+                        modifiedAt = now
+                    )
+                })
+                redisPublisher.publishToUsers(followerIds, content)
+
+                afterId = followerIds.last()
+                if (followerIds.size < batchSize) {
+                    complete(reviewId)
+                    break
+                }
+            }
+        } catch (e: Exception) {
+            logger.warn("리뷰 {} 알림 전송 중단, 다음 재개 때 이어서 전송", reviewId, e)
+        } finally {
+            redisLease.release(leaseKey)
+        }
+    }
+
+    private fun complete(reviewId: Long) {
+        redisTemplate.opsForSet().remove(PENDING_KEY, reviewId.toString())
+        redisTemplate.delete(JOB_PREFIX + reviewId)
+    }
+}
@@ -1,5 +1,9 @@
 package com.project.backend.domain.ranking.controller;
 
+import com.project.backend.domain.book.dto.BestsellerMoverDTO;
+import com.project.backend.domain.book.dto.BestsellerRankPointDTO;
+import com.project.backend.domain.book.service.BestsellerSnapshotService;
+import com.project.backend.domain.book.service.BookService;
 import com.project.backend.domain.ranking.common.RankingType;
 import com.project.backend.domain.ranking.dto.RankingDTO;
 import com.project.backend.domain.ranking.service.RankingService;
@@ -11,8 +15,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -29,6 +35,7 @@ import java.util.List;
 public class RankingController {
 
     private final RankingService rankingService;
+    private final BestsellerSnapshotService bestsellerSnapshotService;
 
     /**
      * 주간 인기 도서 랭킹 조회 API
@@ -74,4 +81,47 @@ public class RankingController {
         List<RankingDTO> ranking = rankingService.getRanking(RankingType.DAILY_REVIEWS);
         return ResponseEntity.ok(GenericResponse.of(ranking));
     }
+
+    /**
+     * 베스트셀러 순위 이력 조회 API
+     *
+     * @param isbn 도서 isbn
+     * @param days 조회 기간 (일, 최대 90)
+     * @param category 베스트셀러 카테고리 번호
+     * @return 스냅샷 시각별 순위 목록
+     *
+     * @author 정재익
+     * @since 2025.03.13
+     */
+    @GetMapping("/bestseller/history")
+    @Operation(summary = "베스트셀러 순위 이력")
+    public ResponseEntity<GenericResponse<List<BestsellerRankPointDTO>>> getBestsellerRankHistory(
+            @RequestParam(name = "isbn") String isbn,
+            @RequestParam(name = "days", defaultValue = "30") long days,
+            @RequestParam(name = "category", defaultValue = BookService.DEFAULT_BESTSELLER_CATEGORY) String category) {
+        List<BestsellerRankPointDTO> history = bestsellerSnapshotService.getRankHistory(category, isbn, days);
+        return ResponseEntity.ok(GenericResponse.of(history));
+    }
+
+    /**
+     * 베스트셀러 순위 급상승 도서 조회 API
+     *
+     * @param hours 비교 기간 (시간, 최대 90일)
+     * @param limit 최대 개수
+     * @param category 베스트셀러 카테고리 번호
+     * @return 순위가 많이 오른 도서 목록
+     *
+     * @author 정재익
+     * @since 2025.03.13
+     */
+    @GetMapping("/bestseller/movers")
+    @Operation(summary = "베스트셀러 순위 급상승 도서")
+    public ResponseEntity<GenericResponse<List<BestsellerMoverDTO>>> getBestsellerMovers(
+            @RequestParam(name = "hours", defaultValue = "24") long hours,
+            @RequestParam(name = "limit", defaultValue = "10") int limit,
+            @RequestParam(name = "category", defaultValue = BookService.DEFAULT_BESTSELLER_CATEGORY) String category) {
+        List<BestsellerMoverDTO> movers = bestsellerSnapshotService.getMovers(
+                category, Duration.ofHours(Math.max(hours, 1)), Math.min(Math.max(limit, 1), 100));
+        return ResponseEntity.ok(GenericResponse.of(movers));
+    }
 }
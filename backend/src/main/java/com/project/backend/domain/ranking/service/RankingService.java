@@ -1,7 +1,8 @@
 package com.project.backend.domain.ranking.service;
 
-import com.project.backend.domain.book.repository.BookRepository;
+import com.project.backend.domain.book.dto.BookDTO;
 import com.project.backend.domain.book.repository.FavoriteRepository;
+import com.project.backend.domain.book.service.BookCatalogCache;
 import com.project.backend.domain.ranking.common.RankingType;
 import com.project.backend.domain.ranking.dto.RankingDTO;
 import com.project.backend.domain.ranking.exception.RankingErrorCode;
@@ -31,9 +32,12 @@ public class RankingService {
     private final ReviewRepository reviewRepository;
     private final ReviewRecommendationRepository reviewRecommendationRepository;
     private final ReviewCommentRepository reviewCommentRepository;
-    private final BookRepository bookRepository;
+    private final BookCatalogCache bookCatalogCache;
     private final RedisTemplate<String, Object> redisTemplate;
 
+    private static final double WEEKLY_BOOKS_FAVORITE_WEIGHT = 0.5;
+    private static final double WEEKLY_BOOKS_REVIEW_WEIGHT = 0.5;
+
     /**
      * 특정 기간 동안의 데이터를 기반으로 랭킹을 업데이트하는 메서드
      *
@@ -53,8 +57,8 @@ public class RankingService {
             case WEEKLY_BOOKS:
                 firstCounts = favoriteRepository.findFavoriteCounts(start, end);
                 secondCounts = reviewRepository.findReviewCounts(start, end);
-                weight1 = 0.5;
-                weight2 = 0.5;
+                weight1 = WEEKLY_BOOKS_FAVORITE_WEIGHT;
+                weight2 = WEEKLY_BOOKS_REVIEW_WEIGHT;
                 break;
 
             case WEEKLY_REVIEWS:
@@ -73,6 +77,22 @@ public class RankingService {
     }
 
 
+    /**
+     * 새 리뷰 수만큼 주간 도서 랭킹 점수를 올리는 메서드
+     * 매시간 DB 기준으로 다시 집계하기 전까지 새 리뷰가 랭킹에 바로 반영되도록 한다
+     *
+     * @param reviewCounts 도서 id별 새 리뷰 수
+     *
+     * @author 정재익
+     * @since 2025.03.13
+     */
+    public void incrementReviewScores(Map<Long, Long> reviewCounts) {
+        reviewCounts.forEach((bookId, count) ->
+                redisTemplate.opsForZSet().incrementScore(
+                        RankingType.WEEKLY_BOOKS.getKey(), String.valueOf(bookId), count * WEEKLY_BOOKS_REVIEW_WEIGHT)
+        );
+    }
+
     /**
      * Redis에 랭킹 데이터를 업데이트하는 메서드
      *
@@ -115,6 +135,10 @@ public class RankingService {
         Set<ZSetOperations.TypedTuple<Object>> rankings = redisTemplate.opsForZSet()
                 .reverseRangeWithScores(rankingType.getKey(), 0, maxRank - 1);
 
+        // 책 제목과 이미지는 도서 정보 캐시에서 한 번에 가져오기
+        List<Long> itemIds = rankings.stream().map(entry -> Long.valueOf(entry.getValue().toString())).toList();
+        Map<Long, BookDTO> books = bookCatalogCache.getAllById(itemIds);
+
         List<RankingDTO> rankingList = new ArrayList<>();
         int rank = 1;
         Double prevScore = null;
@@ -129,9 +153,10 @@ public class RankingService {
             }
 
             // 책 제목과 리뷰 내용 가져오기
-            String title = bookRepository.findTitleById(itemId).orElse("제목 없음");
+            BookDTO book = books.get(itemId);
+            String title = book != null ? book.getTitle() : "제목 없음";
             String content = reviewRepository.findContentById(itemId).orElse("내용 없음");
-            String image = bookRepository.findImageById(itemId).orElse("제목 없음");
+            String image = book != null ? book.getImage() : "제목 없음";
 
             rankingList.add(new RankingDTO(rank, title, content, score, image));
 
@@ -0,0 +1,43 @@
+package com.project.backend.domain.ranking.service;
+
+import com.project.backend.domain.review.review.event.ReviewCreatedEvent;
+import com.project.backend.global.outbox.service.OutboxEventHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * -- 리뷰 랭킹 집계기 --
+ * OutboxRelay가 전달한 리뷰 생성 이벤트를 도서별로 묶어 주간 도서 랭킹 점수에 더한다
+ * OutboxRelay가 처리기별로 전달 여부를 기록하므로 같은 이벤트의 다른 처리기(알림 전송)가 실패해 다시 전달되어도 점수가 다시 더해지지 않는다
+ *
+ * @author -- 정재익 --
+ * @since -- 2025.03.13 --
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewRankingCounter implements OutboxEventHandler<ReviewCreatedEvent> {
+
+    private final RankingService rankingService;
+
+    @Override
+    public String getEventType() {
+        return ReviewCreatedEvent.EVENT_TYPE;
+    }
+
+    @Override
+    public Class<ReviewCreatedEvent> getPayloadType() {
+        return ReviewCreatedEvent.class;
+    }
+
+    @Override
+    public void handle(List<ReviewCreatedEvent> payloads) {
+        Map<Long, Long> reviewCounts = payloads.stream()
+                .collect(Collectors.groupingBy(ReviewCreatedEvent::getBookId, Collectors.counting()));
+
+        rankingService.incrementReviewScores(reviewCounts);
+    }
+}
@@ -3,6 +3,7 @@ package com.project.backend.domain.review.comment.controller
 import com.project.backend.domain.review.comment.dto.ReviewCommentDto
 import com.project.backend.domain.review.comment.service.ReviewCommentService
 import com.project.backend.global.authority.CustomUserDetails
+import com.project.backend.global.pagination.CursorSliceDTO
 import com.project.backend.global.response.GenericResponse
 import io.swagger.v3.oas.annotations.Operation
 import io.swagger.v3.oas.annotations.security.SecurityRequirement
@@ -22,12 +23,18 @@ class ReviewCommentController(
 ) {
 
     /**
-     * 리뷰 코멘트 목록 조회
+     * 리뷰 코멘트 목록 커서 조회
+     * 최상위 댓글을 작성 순으로 조회하며 이전 응답의 nextCursor로 다음 댓글을 이어서 조회함
+     * size는 1 ~ CursorSliceDTO.MAX_SIZE로 맞춤
      */
     @GetMapping
     @Operation(summary = "리뷰 댓글 목록 조회")
-    fun getComments(@PathVariable reviewId: Long): ResponseEntity<GenericResponse<List<ReviewCommentDto>>> {
-        val reviewCommentDtoList = reviewCommentService.findComment(reviewId)
+    fun getComments(
+        @PathVariable reviewId: Long,
+        @RequestParam(required = false) cursor: String?,
+        @RequestParam(defaultValue = "10") size: Int
+    ): ResponseEntity<GenericResponse<CursorSliceDTO<ReviewCommentDto>>> {
+        val reviewCommentDtoList = reviewCommentService.findComment(reviewId, cursor, CursorSliceDTO.coerceSize(size))
         return ResponseEntity.ok(GenericResponse.of(reviewCommentDtoList, "리뷰 코멘트 목록 조회 성공"))
     }
 
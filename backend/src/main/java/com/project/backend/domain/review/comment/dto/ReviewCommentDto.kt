@@ -17,7 +17,9 @@ data class ReviewCommentDto(
     val recommend: Set<MemberDto> = emptySet(),
     val createdAt: LocalDateTime?,
     val modifiedAt: LocalDateTime?,
-    val replies: List<ReviewCommentDto> = emptyList()
+    val replies: List<ReviewCommentDto> = emptyList(),
+    val recommendCount: Int = 0,
+    val replyCount: Int = 0
 ) {
     companion object {
         fun from(reviewComment: ReviewComment): ReviewCommentDto {
@@ -31,7 +33,50 @@ data class ReviewCommentDto(
                 recommend = reviewComment.recommend.map { MemberDto(it) }.toSet(),
                 createdAt = reviewComment.createdAt,
                 modifiedAt = reviewComment.modifiedAt,
-                replies = reviewComment.replies?.map { from(it) } ?: emptyList()
+                replies = reviewComment.replies?.map { from(it) } ?: emptyList(),
+                recommendCount = reviewComment.recommend.size,
+                replyCount = reviewComment.replies.size
+            )
+        }
+
+        /**
+         * 이미 읽어 둔 추천 회원, 대댓글로 변환
+         * 연관 컬렉션에 접근하지 않으므로 추가 쿼리가 나가지 않는다
+         */
+        fun of(reviewComment: ReviewComment, recommend: Set<MemberDto>, replies: List<ReviewCommentDto>): ReviewCommentDto {
+            return ReviewCommentDto(
+                id = reviewComment.id,
+                reviewId = reviewComment.review.id,
+                userId = reviewComment.userId,
+                comment = reviewComment.comment,
+                parentId = reviewComment.parent?.id,
+                depth = reviewComment.depth,
+                recommend = recommend,
+                createdAt = reviewComment.createdAt,
+                modifiedAt = reviewComment.modifiedAt,
+                replies = replies,
+                recommendCount = recommend.size,
+                replyCount = replies.size
+            )
+        }
+
+        /**
+         * 댓글 목록용 요약으로 변환
+         * 추천 회원 대신 추천 수 카운터를 채우고 대댓글은 앞쪽 일부만 담는다
+         */
+        fun summary(reviewComment: ReviewComment, replies: List<ReviewCommentDto>, replyCount: Int): ReviewCommentDto {
+            return ReviewCommentDto(
+                id = reviewComment.id,
+                reviewId = reviewComment.review.id,
+                userId = reviewComment.userId,
+                comment = reviewComment.comment,
+                parentId = reviewComment.parent?.id,
+                depth = reviewComment.depth,
+                createdAt = reviewComment.createdAt,
+                modifiedAt = reviewComment.modifiedAt,
+                replies = replies,
+                recommendCount = reviewComment.recommendCount,
+                replyCount = replyCount
             )
         }
     }
@@ -4,17 +4,25 @@ import com.project.backend.domain.member.entity.Member
 import com.project.backend.domain.review.review.entity.Review
 import com.project.backend.global.baseEntity.BaseEntityK
 import jakarta.persistence.*
+import org.hibernate.annotations.ColumnDefault
 
 /**
  * 댓글 Entity
+ * 리뷰, 부모 댓글은 LAZY로 두고 목록 조회는 ReviewCommentThreadReader로 한 번에 읽는다
  */
 @Entity
+@Table(
+    indexes = [
+        Index(name = "idx_review_comment_review_parent", columnList = "review_id, parent_id"),
+        Index(name = "idx_review_comment_parent_created_at_id", columnList = "parent_id, created_at, id")
+    ]
+)
 class ReviewComment(
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     val id: Long? = null,
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "review_id", nullable = false)
     val review: Review,
 
@@ -22,7 +30,7 @@ class ReviewComment(
 
     var comment: String,
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id")
     var parent: ReviewComment? = null,
 
@@ -35,4 +43,14 @@ class ReviewComment(
 
     @OneToMany(mappedBy = "parent", cascade = [CascadeType.ALL], orphanRemoval = true)
     var replies: MutableList<ReviewComment> = mutableListOf()  // 자식 댓글 (대댓글)
-) : BaseEntityK()
+) : BaseEntityK() {
+
+    /**
+     * 추천 수
+     * 추천, 추천 취소 때 UPDATE 한 문장으로 증감하여 목록 조회에서 추천 회원을 읽지 않는다
+     * 수정, 삭제로 엔티티가 저장될 때 읽어 둔 값으로 덮어써 동시에 반영된 증감이 사라지지 않도록 엔티티로는 갱신하지 않는다
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    var recommendCount: Int = 0
+}
@@ -1,10 +1,12 @@
 package com.project.backend.domain.review.comment.repository
 
 import com.project.backend.domain.review.comment.entity.ReviewComment
-import io.lettuce.core.dynamic.annotation.Param
 import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.data.jpa.repository.Modifying
 import org.springframework.data.jpa.repository.Query
+import org.springframework.data.repository.query.Param
 import org.springframework.stereotype.Repository
+import org.springframework.transaction.annotation.Transactional
 import java.time.LocalDateTime
 
 /**
@@ -34,4 +36,72 @@ interface ReviewCommentRepository : JpaRepository<ReviewComment, Long> {
         @Param("end") end: LocalDateTime
     ): List<Array<Any>>
 
+    /**
+     * 리뷰의 댓글, 대댓글 전체를 작성 순으로 조회
+     * 리뷰, 부모 댓글은 LAZY라 id만 사용하면 추가 쿼리가 나가지 않는다
+     */
+    @Query("SELECT c FROM ReviewComment c WHERE c.review.id = :reviewId ORDER BY c.createdAt ASC, c.id ASC")
+    fun findThreadByReviewId(@Param("reviewId") reviewId: Long): List<ReviewComment>
+
+    /**
+     * 여러 댓글의 대댓글을 작성 순으로 조회
+     */
+    @Query("SELECT c FROM ReviewComment c WHERE c.parent.id IN :parentIds ORDER BY c.createdAt ASC, c.id ASC")
+    fun findRepliesByParentIds(@Param("parentIds") parentIds: Collection<Long>): List<ReviewComment>
+
+    /**
+     * 여러 댓글의 추천 회원을 (댓글 id, 회원) 쌍으로 조회
+     */
+    @Query("SELECT c.id, m FROM ReviewComment c JOIN c.recommend m WHERE c.id IN :commentIds")
+    fun findRecommenders(@Param("commentIds") commentIds: Collection<Long>): List<Array<Any>>
+
+    /**
+     * 리뷰의 최상위 댓글 id 조회
+     */
+    @Query("SELECT c.id FROM ReviewComment c WHERE c.review.id = :reviewId AND c.parent IS NULL")
+    fun findTopLevelIdsByReviewId(@Param("reviewId") reviewId: Long): List<Long>
+
+    /**
+     * 여러 댓글의 대댓글 중 작성 순으로 앞의 limit개씩 조회
+     */
+    @Query(
+        value = "SELECT * FROM (" +
+                "SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.parent_id ORDER BY c.created_at, c.id) AS reply_rank " +
+                "FROM review_comment c WHERE c.parent_id IN (:parentIds)" +
+                ") r WHERE r.reply_rank <= :limit ORDER BY r.created_at, r.id",
+        nativeQuery = true
+    )
+    fun findFirstRepliesByParentIds(
+        @Param("parentIds") parentIds: Collection<Long>,
+        @Param("limit") limit: Int
+    ): List<ReviewComment>
+
+    /**
+     * 여러 댓글의 대댓글 수를 (부모 댓글 id, 대댓글 수) 쌍으로 조회
+     */
+    @Query("SELECT c.parent.id, COUNT(c) FROM ReviewComment c WHERE c.parent.id IN :parentIds GROUP BY c.parent.id")
+    fun countRepliesByParentIds(@Param("parentIds") parentIds: Collection<Long>): List<Array<Any>>
+
+    /**
+     * 추천 수 증감, 0 아래로는 내려가지 않는다
+     *
+     * @return 갱신된 행 수
+     */
+    @Modifying
+    @Query(
+        "UPDATE ReviewComment c SET c.recommendCount = c.recommendCount + :delta " +
+            "WHERE c.id = :commentId AND c.recommendCount + :delta >= 0"
+    )
+    fun addRecommendCount(@Param("commentId") commentId: Long, @Param("delta") delta: Int): Int
+
+    /**
+     * 추천 수를 추천 회원 수로 맞춤
+     * recommend_count 컬럼이 생기기 전의 댓글을 채우기 위해 한 번 실행하며 값이 다른 행만 갱신한다
+     *
+     * @return 갱신된 행 수
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReviewComment c SET c.recommendCount = SIZE(c.recommend) WHERE c.recommendCount <> SIZE(c.recommend)")
+    fun backfillRecommendCounts(): Int
 }
@@ -15,6 +15,9 @@ import com.project.backend.domain.review.review.entity.Review
 import com.project.backend.domain.review.review.repository.ReviewRepository
 import com.project.backend.domain.review.review.service.ReviewService
 import com.project.backend.global.authority.CustomUserDetails
+import com.project.backend.global.pagination.CursorCodec
+import com.project.backend.global.pagination.CursorSliceDTO
+import org.slf4j.LoggerFactory
 import org.springframework.stereotype.Service
 import org.springframework.transaction.annotation.Transactional
 import java.time.LocalDateTime
@@ -26,15 +29,25 @@ class ReviewCommentService(
     private val reviewRepository: ReviewRepository,
     private val memberRepository: MemberRepository,
     private val notificationService: NotificationService,
-    private val memberService: MemberService
+    private val memberService: MemberService,
+    private val reviewCommentThreadReader: ReviewCommentThreadReader,
+    private val reviewCommentThreadCache: ReviewCommentThreadCache
 ) {
-
-    fun findComment(reviewId: Long): List<ReviewCommentDto> {
-        return emptyList()
+    private val logger = LoggerFactory.getLogger(ReviewCommentService::class.java)
+
+    /**
+     * 리뷰 댓글 커서 조회
+     * 최상위 댓글을 작성 순으로 size개 반환하며 각 댓글에는 앞쪽 대댓글 일부, 대댓글 수, 추천 수가 담긴다
+     * 리뷰별 스냅샷 캐시(ReviewCommentThreadCache)에서 읽고 없는 부분만 DB에서 채운다
+     */
+    fun findComment(reviewId: Long, cursor: String?, size: Int): CursorSliceDTO<ReviewCommentDto> {
+        val afterId = if (cursor.isNullOrBlank()) 0L else CursorCodec.decode(cursor) { (id) -> id.toLong() }
+        val rows = reviewCommentThreadCache.findPage(reviewId, afterId, size + 1)
+        return CursorSliceDTO.of(rows, size, { CursorCodec.encode(it.id!!) }) { it }
     }
 
     fun findUserComment(memberId: Long): List<ReviewCommentDto> {
-        return reviewCommentRepository.findAllByUserId(memberId).map { ReviewCommentDto.from(it) }
+        return reviewCommentThreadReader.withReplies(reviewCommentRepository.findAllByUserId(memberId))
     }
 
     @Transactional
@@ -64,6 +77,13 @@ class ReviewCommentService(
         val newReviewComment = reviewCommentRepository.save(reviewComment)
         createCommentNotification(newReviewComment, review, reviewCommentDto)
 
+        val parentId = newReviewComment.parent?.id
+        if (parentId == null) {
+            reviewCommentThreadCache.added(reviewId, newReviewComment.id!!)
+        } else {
+            reviewCommentThreadCache.evict(reviewId, parentId)
+        }
+
         return ReviewCommentDto.from(newReviewComment)
     }
 
@@ -89,6 +109,7 @@ class ReviewCommentService(
     fun modify(reviewId: Long, commentId: Long, reviewCommentDto: ReviewCommentDto): ReviewCommentDto {
         val reviewComment = findCommentById(commentId)
         reviewComment.comment = reviewCommentDto.comment
+        evictThread(reviewComment)
         return ReviewCommentDto.from(reviewCommentRepository.save(reviewComment))
     }
 
@@ -111,7 +132,7 @@ class ReviewCommentService(
         val member = memberRepository.findByUsername(username)
             .orElseThrow { ReviewException(ReviewErrorCode.MEMBER_NOT_FOUND) }
 
-        return if (reviewComment.recommend.contains(member)) {
+        val recommended = if (reviewComment.recommend.contains(member)) {
             reviewComment.recommend.remove(member)
             reviewCommentRepository.save(reviewComment)
             false
@@ -120,15 +141,20 @@ class ReviewCommentService(
             reviewCommentRepository.save(reviewComment)
             true
         }
+        if (reviewCommentRepository.addRecommendCount(commentId, if (recommended) 1 else -1) == 0) {
+            logger.warn("댓글 {} 추천 수가 추천 회원 수와 어긋나 {}를 반영하지 않음", commentId, if (recommended) "증가" else "감소")
+        }
+        evictThread(reviewComment)
+        return recommended
     }
 
     fun findById(commentId: Long): ReviewCommentDto {
-        return ReviewCommentDto.from(findCommentById(commentId))
+        return reviewCommentThreadReader.withReplies(listOf(findCommentById(commentId))).first()
     }
 
     fun findReplies(commentId: Long): List<ReviewCommentDto> {
-        val parent = findCommentById(commentId)
-        return reviewCommentRepository.findByParent(parent).map { ReviewCommentDto.from(it) }
+        findCommentById(commentId)
+        return reviewCommentThreadReader.findReplies(commentId)
     }
 
     private fun findCommentById(commentId: Long): ReviewComment {
@@ -157,6 +183,7 @@ class ReviewCommentService(
         review.comments.remove(comment)
 
         if (comment.replies.isEmpty()) {
+            reviewCommentThreadCache.removed(reviewId, comment.id!!)
             reviewCommentRepository.delete(comment)
             if (review.comments.isEmpty()) {
                 reviewService.reviewDelete(review)
@@ -165,6 +192,7 @@ class ReviewCommentService(
             comment.isDelete = true
             comment.comment = "해당 댓글은 삭제되었습니다"
             reviewCommentRepository.save(comment)
+            reviewCommentThreadCache.evict(reviewId, comment.id!!)
         }
     }
 
@@ -173,9 +201,18 @@ class ReviewCommentService(
         val parent = reply.parent ?: return
         parent.replies.remove(reply)
         reviewCommentRepository.delete(reply)
+        reviewCommentThreadCache.evict(reviewId, parent.id!!)
 
         if (parent.isDelete && parent.replies.isEmpty()) {
             deleteComment(parent, reviewId)
         }
     }
+
+    /**
+     * 댓글이 담긴 최상위 댓글 요약을 스냅샷 캐시에서 제거
+     */
+    private fun evictThread(reviewComment: ReviewComment) {
+        val reviewId = reviewComment.review.id ?: return
+        reviewCommentThreadCache.evict(reviewId, reviewComment.parent?.id ?: reviewComment.id!!)
+    }
 }
@@ -0,0 +1,229 @@
+package com.project.backend.domain.review.comment.service
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.project.backend.domain.review.comment.dto.ReviewCommentDto
+import com.project.backend.domain.review.comment.repository.ReviewCommentRepository
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.context.event.ApplicationReadyEvent
+import org.springframework.context.event.EventListener
+import org.springframework.data.redis.core.RedisOperations
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.core.SessionCallback
+import org.springframework.data.redis.core.ZSetOperations
+import org.springframework.stereotype.Component
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import java.time.Duration
+
+/**
+ * 리뷰별 댓글 스레드 스냅샷 캐시
+ * 리뷰의 댓글 목록을 Redis 두 키에 나누어 저장하고 바뀐 댓글의 요약만 지운다
+ * 1. review:comment-thread:{리뷰 id}:ids - 최상위 댓글 id 정렬 집합 (점수 = 댓글 id)
+ *    스냅샷을 만들었다는 표시로 점수 0의 snapshot 멤버를 함께 저장하여 댓글이 없는 리뷰도 캐시한다
+ * 2. review:comment-thread:{리뷰 id}:entries - 최상위 댓글 id -> 요약 JSON 해시
+ *    요약에는 앞쪽 대댓글 reply-preview-size개, 대댓글 수, 추천 수가 담긴다
+ *
+ * 조각 조회는 정렬 집합에서 커서 다음 id를 읽고 해시에 없는 요약만 ReviewCommentThreadReader로 한 번에 채운다
+ * 댓글 작성, 수정, 삭제, 추천은 커밋 이후 해당 최상위 댓글의 id, 요약만 반영하며
+ * 그 사이에 커밋 전 데이터로 다시 채워진 요약은 ttl이 지나면 사라진다
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@Component
+class ReviewCommentThreadCache(
+    private val reviewCommentRepository: ReviewCommentRepository,
+    private val reviewCommentThreadReader: ReviewCommentThreadReader,
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val objectMapper: ObjectMapper,
+    @Value("\${review.comment-thread.ttl:10m}") private val ttl: Duration,
+    @Value("\${review.comment-thread.reply-preview-size:3}") private val replyPreviewSize: Int
+) {
+    private val logger = LoggerFactory.getLogger(ReviewCommentThreadCache::class.java)
+
+    companion object {
+        private const val KEY_PREFIX = "review:comment-thread:"
+        private const val SNAPSHOT_MEMBER = "snapshot"
+        private const val BACKFILL_KEY = "review:comment-thread:recommend-count-backfilled"
+    }
+
+    /**
+     * 추천 수 카운터 백필
+     * recommend_count 컬럼이 추가되기 전의 추천은 카운터에 없으므로 시작할 때 한 번만 추천 회원 수로 맞춘다
+     * 여러 노드 중 표시 키를 먼저 저장한 노드 하나만 실행하며 실패하면 표시를 지워 다음 시작 때 다시 실행한다
+     */
+    @EventListener(ApplicationReadyEvent::class)
+    fun backfillRecommendCounts() {
+        if (redisTemplate.opsForValue().setIfAbsent(BACKFILL_KEY, System.currentTimeMillis().toString()) != true) {
+            return
+        }
+
+        Thread.ofVirtual().name("review-comment-recommend-backfill").start {
+            try {
+                val updated = reviewCommentRepository.backfillRecommendCounts()
+                logger.info("댓글 추천 수 백필 완료 ({}개)", updated)
+            } catch (e: Exception) {
+                redisTemplate.delete(BACKFILL_KEY)
+                logger.warn("댓글 추천 수 백필 실패", e)
+            }
+        }
+    }
+
+    /**
+     * 최상위 댓글 조각 조회
+     * 스냅샷에 남아 있던 삭제된 댓글은 건너뛰고 그만큼 다음 댓글을 더 읽는다
+     *
+     * @param reviewId 리뷰 id
+     * @param afterId 이 id 다음 댓글부터 조회, 첫 조각은 0
+     * @param limit 최대 개수
+     * @return 작성 순(댓글 id 오름차순) 요약 목록
+     */
+    fun findPage(reviewId: Long, afterId: Long, limit: Int): List<ReviewCommentDto> {
+        val page = ArrayList<ReviewCommentDto>()
+        var cursor = afterId
+        while (page.size < limit) {
+            val want = limit - page.size
+            val ids = pageIds(reviewId, cursor, want)
+            page.addAll(entries(reviewId, ids))
+            if (ids.size < want) {
+                break
+            }
+            cursor = ids.last()
+        }
+        return page
+    }
+
+    /**
+     * 최상위 댓글 작성 반영
+     * 스냅샷이 없으면 표시 멤버가 없으므로 다음 조회 때 DB에서 다시 만들어진다
+     */
+    fun added(reviewId: Long, commentId: Long) {
+        afterCommit {
+            redisTemplate.executePipelined(object : SessionCallback<Any?> {
+                override fun <K, V> execute(operations: RedisOperations<K, V>): Any? {
+                    @Suppress("UNCHECKED_CAST")
+                    val stringOperations = operations as RedisOperations<String, String>
+                    stringOperations.opsForZSet().add(idsKey(reviewId), commentId.toString(), commentId.toDouble())
+                    stringOperations.expire(idsKey(reviewId), ttl)
+                    return null
+                }
+            })
+        }
+    }
+
+    /**
+     * 최상위 댓글 요약 제거
+     * 댓글 수정, 추천, 대댓글 작성, 삭제 때 해당 최상위 댓글 하나만 지운다
+     */
+    fun evict(reviewId: Long, topLevelId: Long) {
+        afterCommit { redisTemplate.opsForHash<String, String>().delete(entriesKey(reviewId), topLevelId.toString()) }
+    }
+
+    /**
+     * 최상위 댓글 삭제 반영
+     */
+    fun removed(reviewId: Long, topLevelId: Long) {
+        afterCommit {
+            redisTemplate.opsForZSet().remove(idsKey(reviewId), topLevelId.toString())
+            redisTemplate.opsForHash<String, String>().delete(entriesKey(reviewId), topLevelId.toString())
+        }
+    }
+
+    /**
+     * 커서 다음 최상위 댓글 id 조회
+     * 스냅샷이 없으면 DB에서 최상위 댓글 id를 읽어 만든다
+     * 지우지 않고 추가만 하므로 만드는 사이에 작성된 댓글이 빠지지 않는다
+     */
+    private fun pageIds(reviewId: Long, afterId: Long, limit: Int): List<Long> {
+        val idsKey = idsKey(reviewId)
+        val results = redisTemplate.executePipelined(object : SessionCallback<Any?> {
+            override fun <K, V> execute(operations: RedisOperations<K, V>): Any? {
+                @Suppress("UNCHECKED_CAST")
+                val zSetOperations = (operations as RedisOperations<String, String>).opsForZSet()
+                zSetOperations.score(idsKey, SNAPSHOT_MEMBER)
+                zSetOperations.rangeByScore(idsKey, (afterId + 1).toDouble(), Double.POSITIVE_INFINITY, 0, limit.toLong())
+                return null
+            }
+        })
+        if (results.getOrNull(0) != null) {
+            return (results.getOrNull(1) as? Collection<*>).orEmpty().mapNotNull { (it as? String)?.toLongOrNull() }
+        }
+
+        val ids = reviewCommentRepository.findTopLevelIdsByReviewId(reviewId).sorted()
+        val tuples = ids.mapTo(HashSet()) { ZSetOperations.TypedTuple.of(it.toString(), it.toDouble()) }
+        tuples.add(ZSetOperations.TypedTuple.of(SNAPSHOT_MEMBER, 0.0))
+        redisTemplate.executePipelined(object : SessionCallback<Any?> {
+            override fun <K, V> execute(operations: RedisOperations<K, V>): Any? {
+                @Suppress("UNCHECKED_CAST")
+                val stringOperations = operations as RedisOperations<String, String>
+                stringOperations.opsForZSet().add(idsKey, tuples)
+                stringOperations.expire(idsKey, ttl)
+                return null
+            }
+        })
+        return ids.filter { it > afterId }.take(limit)
+    }
+
+    /**
+     * 요약 조회, 없는 요약만 DB에서 읽어 채우고 DB에도 없는 댓글은 스냅샷에서 뺀다
+     */
+    private fun entries(reviewId: Long, ids: List<Long>): List<ReviewCommentDto> {
+        if (ids.isEmpty()) {
+            return emptyList()
+        }
+
+        val entriesKey = entriesKey(reviewId)
+        val found = HashMap<Long, ReviewCommentDto>()
+        redisTemplate.opsForHash<String, String>().multiGet(entriesKey, ids.map { it.toString() })
+            .forEachIndexed { index, value -> value?.let { decode(it) }?.let { found[ids[index]] = it } }
+
+        val missing = ids.filter { it !in found }
+        if (missing.isNotEmpty()) {
+            val loaded = reviewCommentThreadReader.findTopLevel(missing, replyPreviewSize)
+            val deleted = missing.filter { it !in loaded }
+            found.putAll(loaded)
+
+            redisTemplate.executePipelined(object : SessionCallback<Any?> {
+                override fun <K, V> execute(operations: RedisOperations<K, V>): Any? {
+                    @Suppress("UNCHECKED_CAST")
+                    val stringOperations = operations as RedisOperations<String, String>
+                    if (loaded.isNotEmpty()) {
+                        stringOperations.opsForHash<String, String>()
+                            .putAll(entriesKey, loaded.entries.associate { (id, dto) -> id.toString() to encode(dto) })
+                        stringOperations.expire(entriesKey, ttl)
+                    }
+                    if (deleted.isNotEmpty()) {
+                        stringOperations.opsForZSet().remove(idsKey(reviewId), *deleted.map { it.toString() }.toTypedArray())
+                    }
+                    return null
+                }
+            })
+        }
+        return ids.mapNotNull { found[it] }
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋 이후에 반영하여 커밋 전 데이터가 캐시되지 않게 한다
+     */
+    private fun afterCommit(action: () -> Unit) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+                override fun afterCommit() {
+                    action()
+                }
+            })
+        } else {
+            action()
+        }
+    }
+
+    private fun encode(comment: ReviewCommentDto): String = objectMapper.writeValueAsString(comment)
+
+    private fun decode(value: String): ReviewCommentDto? =
+        runCatching { objectMapper.readValue(value, ReviewCommentDto::class.java) }.getOrNull()
+
+    private fun idsKey(reviewId: Long): String = "$KEY_PREFIX$reviewId:ids"
+
+    private fun entriesKey(reviewId: Long): String = "$KEY_PREFIX$reviewId:entries"
+}
@@ -0,0 +1,117 @@
+package com.project.backend.domain.review.comment.service
+
+import com.project.backend.domain.member.dto.MemberDto
+import com.project.backend.domain.member.entity.Member
+import com.project.backend.domain.review.comment.dto.ReviewCommentDto
+import com.project.backend.domain.review.comment.entity.ReviewComment
+import com.project.backend.domain.review.comment.repository.ReviewCommentRepository
+import org.springframework.stereotype.Component
+import org.springframework.transaction.annotation.Transactional
+
+/**
+ * 댓글 목록 조회 모델
+ * 댓글마다 대댓글, 추천 회원을 따로 읽지 않고 댓글 수와 상관없이 정해진 수의 쿼리로 댓글 트리를 만든다
+ * - 리뷰의 댓글 트리: 댓글 전체 1번, 추천 회원 1번
+ * - 댓글 목록과 그 대댓글: 댓글 1번(호출하는 쪽), 대댓글 1번, 추천 회원 1번
+ * - 최상위 댓글 요약: 댓글 1번, 앞쪽 대댓글 1번, 대댓글 수 1번 (추천 수는 카운터 사용)
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@Component
+@Transactional(readOnly = true)
+class ReviewCommentThreadReader(
+    private val reviewCommentRepository: ReviewCommentRepository
+) {
+
+    /**
+     * 리뷰의 댓글 트리 조회
+     *
+     * @param reviewId 리뷰 id
+     * @return 최상위 댓글 목록, 대댓글은 각 댓글의 replies
+     */
+    fun findThread(reviewId: Long): List<ReviewCommentDto> {
+        val comments = reviewCommentRepository.findThreadByReviewId(reviewId)
+        val (replies, roots) = comments.partition { it.parent != null }
+        return assemble(roots, replies)
+    }
+
+    /**
+     * 댓글 목록과 각 댓글의 대댓글 조회
+     *
+     * @param comments 이미 읽은 댓글 목록
+     * @return 댓글 목록, 대댓글은 각 댓글의 replies
+     */
+    fun withReplies(comments: List<ReviewComment>): List<ReviewCommentDto> {
+        if (comments.isEmpty()) {
+            return emptyList()
+        }
+        return assemble(comments, reviewCommentRepository.findRepliesByParentIds(comments.mapNotNull { it.id }))
+    }
+
+    /**
+     * 한 댓글의 대댓글 조회
+     *
+     * @param commentId 부모 댓글 id
+     * @return 대댓글 목록
+     */
+    fun findReplies(commentId: Long): List<ReviewCommentDto> {
+        return withReplies(reviewCommentRepository.findRepliesByParentIds(listOf(commentId)))
+    }
+
+    /**
+     * 최상위 댓글 요약 조회
+     * 각 댓글에 앞쪽 대댓글 replyPreviewSize개와 대댓글 수를 채우며 추천 회원은 읽지 않는다
+     *
+     * @param commentIds 최상위 댓글 id 목록
+     * @param replyPreviewSize 댓글마다 담을 대댓글 수
+     * @return 댓글 id별 요약, 없거나 최상위가 아닌 댓글은 빠짐
+     */
+    fun findTopLevel(commentIds: Collection<Long>, replyPreviewSize: Int): Map<Long, ReviewCommentDto> {
+        if (commentIds.isEmpty()) {
+            return emptyMap()
+        }
+
+        val comments = reviewCommentRepository.findAllById(commentIds).filter { it.parent == null }
+        val ids = comments.mapNotNull { it.id }
+        if (ids.isEmpty()) {
+            return emptyMap()
+        }
+
+        val previews = if (replyPreviewSize > 0) {
+            reviewCommentRepository.findFirstRepliesByParentIds(ids, replyPreviewSize).groupBy { it.parent?.id }
+        } else {
+            emptyMap()
+        }
+        val replyCounts = reviewCommentRepository.countRepliesByParentIds(ids)
+            .associate { (it[0] as Long) to (it[1] as Long).toInt() }
+
+        return comments.associate { comment ->
+            val replies = previews[comment.id].orEmpty().map { ReviewCommentDto.summary(it, emptyList(), 0) }
+            comment.id!! to ReviewCommentDto.summary(comment, replies, replyCounts[comment.id] ?: 0)
+        }
+    }
+
+    private fun assemble(comments: List<ReviewComment>, replies: List<ReviewComment>): List<ReviewCommentDto> {
+        val recommenders = findRecommenders((comments + replies).mapNotNull { it.id })
+        val repliesByParent = replies.groupBy { it.parent?.id }
+
+        return comments.map { comment ->
+            val children = repliesByParent[comment.id].orEmpty()
+                .map { ReviewCommentDto.of(it, recommenders[it.id].orEmpty(), emptyList()) }
+            ReviewCommentDto.of(comment, recommenders[comment.id].orEmpty(), children)
+        }
+    }
+
+    private fun findRecommenders(commentIds: List<Long>): Map<Long, Set<MemberDto>> {
+        if (commentIds.isEmpty()) {
+            return emptyMap()
+        }
+
+        val recommenders = HashMap<Long, MutableSet<MemberDto>>()
+        reviewCommentRepository.findRecommenders(commentIds).forEach { row ->
+            recommenders.getOrPut(row[0] as Long) { LinkedHashSet() }.add(MemberDto(row[1] as Member))
+        }
+        return recommenders
+    }
+}
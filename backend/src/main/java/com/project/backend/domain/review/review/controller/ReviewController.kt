@@ -4,6 +4,7 @@ import com.project.backend.domain.member.service.MemberService
 import com.project.backend.domain.review.review.reviewDTO.ReviewsDTO
 import com.project.backend.domain.review.review.service.ReviewService
 import com.project.backend.global.authority.CustomUserDetails
+import com.project.backend.global.pagination.CursorSliceDTO
 import com.project.backend.global.response.GenericResponse
 import io.swagger.v3.oas.annotations.Operation
 import io.swagger.v3.oas.annotations.security.SecurityRequirement
@@ -51,6 +52,30 @@ class ReviewController(
         )
     }
 
+    /**
+     * 리뷰 목록을 커서 기반으로 조회
+     * @param cursor 이전 응답의 nextCursor, 첫 조회는 생략
+     * @param size
+     * @return ResponseEntity<GenericResponse<CursorSliceDTO<ReviewsDTO>>>
+     *
+     * @author 정재익
+     * @since 25.03.13
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "리뷰 목록 (커서)")
+    fun getReviewsByCursor(
+        @RequestParam(value = "cursor", required = false) cursor: String?,
+        @RequestParam(value = "size", defaultValue = "10") size: Int
+    ): ResponseEntity<GenericResponse<CursorSliceDTO<ReviewsDTO>>> {
+        val slice = reviewService.findAllByCursor(cursor, CursorSliceDTO.coerceSize(size))
+        return ResponseEntity.ok(
+            GenericResponse.of(
+                slice,
+                "리뷰 목록 반환 성공"
+            )
+        )
+    }
+
     /**
      * 특정 유저의 리뷰 목록 조회
      * @param userDetails
@@ -98,6 +123,32 @@ class ReviewController(
         )
     }
 
+    /**
+     * bookId 기반 리뷰 커서 조회
+     * @param bookId
+     * @param cursor 이전 응답의 nextCursor, 첫 조회는 생략
+     * @param size
+     * @return ResponseEntity<GenericResponse<CursorSliceDTO<ReviewsDTO>>>
+     *
+     * @author 정재익
+     * @since 25.03.13
+     */
+    @GetMapping("/books/{bookId}/cursor")
+    fun getBookIdReviewsByCursor(
+        @PathVariable("bookId") bookId: Long,
+        @RequestParam(value = "cursor", required = false) cursor: String?,
+        @RequestParam(value = "size", defaultValue = "10") size: Int
+    ): ResponseEntity<GenericResponse<CursorSliceDTO<ReviewsDTO>>> {
+        val slice = reviewService.getBookIdReviewsByCursor(bookId, cursor, CursorSliceDTO.coerceSize(size))
+
+        return ResponseEntity.ok(
+            GenericResponse.of(
+                slice,
+                "리뷰 조회 성공"
+            )
+        )
+    }
+
 
     /**
      * 리뷰 추가
@@ -0,0 +1,36 @@
+package com.project.backend.domain.review.review.entity
+
+import jakarta.persistence.Entity
+import jakarta.persistence.Id
+import jakarta.persistence.Table
+
+/**
+ * 도서별 리뷰 집계
+ * 삭제되지 않은 리뷰의 수, 평점 합, 평점(0~10)별 리뷰 수(h0~h10)를 미리 계산해 둔다
+ * 리뷰 작성, 수정, 삭제와 같은 트랜잭션에서 BookReviewStatsRepository.applyDelta로 증감하고
+ * BookReviewStatsService.rebuild가 review 테이블에서 다시 계산한다
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@Entity
+@Table(name = "book_review_stats")
+class BookReviewStats(
+    @Id
+    val bookId: Long,
+
+    val reviewCount: Long = 0,
+    val ratingSum: Long = 0,
+
+    val h0: Long = 0,
+    val h1: Long = 0,
+    val h2: Long = 0,
+    val h3: Long = 0,
+    val h4: Long = 0,
+    val h5: Long = 0,
+    val h6: Long = 0,
+    val h7: Long = 0,
+    val h8: Long = 0,
+    val h9: Long = 0,
+    val h10: Long = 0
+)
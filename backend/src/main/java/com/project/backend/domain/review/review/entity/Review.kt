@@ -20,7 +20,12 @@ import lombok.*
  * @since 25.02.04
  */
 @Entity
-
+@Table(
+    indexes = [
+        Index(name = "idx_review_created_at_id", columnList = "created_at, id"),
+        Index(name = "idx_review_book_id_created_at_id", columnList = "book_id, created_at, id")
+    ]
+)
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
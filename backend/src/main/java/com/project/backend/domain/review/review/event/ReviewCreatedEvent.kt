@@ -0,0 +1,18 @@
+package com.project.backend.domain.review.review.event
+
+/**
+ * 리뷰 생성 이벤트
+ * 리뷰와 같은 트랜잭션으로 아웃박스에 저장되고 OutboxRelay가 팔로워 알림 전송, 랭킹 집계 등 후속 작업에 전달한다
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+data class ReviewCreatedEvent(
+    val reviewId: Long,
+    val bookId: Long,
+    val authorId: Long
+) {
+    companion object {
+        const val EVENT_TYPE = "REVIEW_CREATED"
+    }
+}
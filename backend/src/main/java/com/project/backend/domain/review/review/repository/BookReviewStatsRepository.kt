@@ -0,0 +1,137 @@
+package com.project.backend.domain.review.review.repository
+
+import com.project.backend.domain.review.review.reviewDTO.BookReviewStatsDTO
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.stereotype.Repository
+
+/**
+ * 도서별 리뷰 집계 레포지토리
+ * 증감은 행을 읽지 않고 INSERT ... ON DUPLICATE KEY UPDATE 한 문장으로 더하므로 같은 도서에 리뷰가 동시에 들어와도 틀어지지 않는다
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@Repository
+class BookReviewStatsRepository(private val jdbcTemplate: JdbcTemplate) {
+
+    companion object {
+        private val HISTOGRAM_COLUMNS = (0..BookReviewStatsDTO.MAX_RATING).map { "h$it" }
+        private val COLUMNS = listOf("book_id", "review_count", "rating_sum") + HISTOGRAM_COLUMNS
+        private val UPDATED_COLUMNS = COLUMNS.drop(1)
+
+        private val APPLY_DELTA_SQL = "INSERT INTO book_review_stats (${COLUMNS.joinToString(", ")}) " +
+            "VALUES (${COLUMNS.joinToString(", ") { "?" }}) ON DUPLICATE KEY UPDATE " +
+            UPDATED_COLUMNS.joinToString(", ") { "$it = $it + VALUES($it)" }
+
+        private val RECOMPUTE_SELECT = "SELECT book_id, COUNT(*), SUM(rating), " +
+            (0..BookReviewStatsDTO.MAX_RATING).joinToString(", ") { "SUM(rating = $it)" } +
+            " FROM review WHERE is_delete = false AND book_id IN (%s) GROUP BY book_id"
+    }
+
+    /**
+     * 리뷰 집계 증감
+     *
+     * @param bookId 도서 id
+     * @param countDelta 리뷰 수 증감
+     * @param ratingSumDelta 평점 합 증감
+     * @param histogramDelta 평점별 리뷰 수 증감 (0~10 인덱스)
+     */
+    fun applyDelta(bookId: Long, countDelta: Int, ratingSumDelta: Int, histogramDelta: IntArray) {
+        jdbcTemplate.update(APPLY_DELTA_SQL, bookId, countDelta, ratingSumDelta, *histogramDelta.toTypedArray())
+    }
+
+    /**
+     * 도서들의 리뷰 집계 조회
+     * 집계 행이 없는 도서는 결과에서 빠진다
+     *
+     * @param bookIds 도서 id 목록
+     * @return 리뷰 집계 목록
+     */
+    fun findAllByBookIds(bookIds: Collection<Long>): List<BookReviewStatsDTO> {
+        if (bookIds.isEmpty()) {
+            return emptyList()
+        }
+
+        val placeholders = List(bookIds.size) { "?" }.joinToString(", ")
+        return jdbcTemplate.query(
+            "SELECT ${COLUMNS.joinToString(", ")} FROM book_review_stats WHERE book_id IN ($placeholders)",
+            { rs, _ ->
+                BookReviewStatsDTO(
+                    rs.getLong("book_id"),
+                    rs.getLong("review_count"),
+                    rs.getLong("rating_sum"),
+                    HISTOGRAM_COLUMNS.map { rs.getLong(it) }
+                )
+            },
+            *bookIds.toTypedArray()
+        )
+    }
+
+    /**
+     * afterBookId 다음으로 리뷰가 있는 도서 id를 오름차순으로 limit개 조회
+     */
+    fun findReviewedBookIdsAfter(afterBookId: Long, limit: Int): List<Long> {
+        return jdbcTemplate.queryForList(
+            "SELECT DISTINCT book_id FROM review WHERE book_id > ? AND is_delete = false ORDER BY book_id LIMIT ?",
+            Long::class.javaObjectType,
+            afterBookId,
+            limit
+        )
+    }
+
+    /**
+     * (afterBookId, upToBookId] 범위에서 집계 행은 있지만 리뷰가 없는 도서 id 조회
+     * upToBookId가 null이면 afterBookId 이후 전체
+     */
+    fun findStaleBookIds(afterBookId: Long, upToBookId: Long?, reviewedBookIds: Collection<Long>): List<Long> {
+        val sql = StringBuilder("SELECT book_id FROM book_review_stats WHERE book_id > ?")
+        val args = mutableListOf<Any>(afterBookId)
+        if (upToBookId != null) {
+            sql.append(" AND book_id <= ?")
+            args.add(upToBookId)
+        }
+        if (reviewedBookIds.isNotEmpty()) {
+            sql.append(" AND book_id NOT IN (${List(reviewedBookIds.size) { "?" }.joinToString(", ")})")
+            args.addAll(reviewedBookIds)
+        }
+        return jdbcTemplate.queryForList(sql.toString(), Long::class.javaObjectType, *args.toTypedArray())
+    }
+
+    /**
+     * 도서들의 리뷰 집계를 review 테이블에서 다시 계산해 덮어씀
+     * INSERT ... SELECT가 읽은 리뷰 행을 잠그므로 그 사이 같은 도서의 리뷰 작성, 증감은 끝날 때까지 기다린다
+     *
+     * @param bookIds 리뷰가 있는 도서 id 목록
+     */
+    fun recompute(bookIds: Collection<Long>) {
+        if (bookIds.isEmpty()) {
+            return
+        }
+
+        val placeholders = List(bookIds.size) { "?" }.joinToString(", ")
+        jdbcTemplate.update(
+            "INSERT INTO book_review_stats (${COLUMNS.joinToString(", ")}) " + RECOMPUTE_SELECT.format(placeholders) +
+                " ON DUPLICATE KEY UPDATE " + UPDATED_COLUMNS.joinToString(", ") { "$it = VALUES($it)" },
+            *bookIds.toTypedArray()
+        )
+    }
+
+    /**
+     * 리뷰가 없는 도서의 집계 행 삭제
+     */
+    fun deleteAllByBookIds(bookIds: Collection<Long>) {
+        if (bookIds.isEmpty()) {
+            return
+        }
+
+        val placeholders = List(bookIds.size) { "?" }.joinToString(", ")
+        jdbcTemplate.update("DELETE FROM book_review_stats WHERE book_id IN ($placeholders)", *bookIds.toTypedArray())
+    }
+
+    /**
+     * 집계 행이 하나라도 있는지 확인
+     */
+    fun isEmpty(): Boolean {
+        return jdbcTemplate.queryForList("SELECT book_id FROM book_review_stats LIMIT 1", Long::class.javaObjectType).isEmpty()
+    }
+}
@@ -14,6 +14,54 @@ interface ReviewRepository : JpaRepository<Review,Long>{
     fun findAllByBookId(bookId: Long,pageable : Pageable): Page<Review>
     fun findAllByUserIdOrderByBookIdDesc(userId: Long): List<Review>
 
+    /**
+     * (createdAt, id) 기준 커서 이후의 리뷰를 최신순으로 조회
+     * 첫 조각은 커서 대신 최대값을 넘긴다
+     *
+     * @param createdAt 커서의 작성 시각
+     * @param id 커서의 리뷰 id
+     * @param pageable 조회 개수 (count 쿼리 없음)
+     * @return List<Review>
+     *
+     * @author 정재익
+     * @since 25.03.13
+     */
+    @Query("""
+        SELECT r FROM Review r
+        WHERE r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)
+        ORDER BY r.createdAt DESC, r.id DESC
+    """)
+    fun findSliceBefore(
+        @Param("createdAt") createdAt: LocalDateTime,
+        @Param("id") id: Long,
+        pageable: Pageable
+    ): List<Review>
+
+    /**
+     * 책 id 기반 (createdAt, id) 기준 커서 이후의 리뷰를 최신순으로 조회
+     *
+     * @param bookId 책 id
+     * @param createdAt 커서의 작성 시각
+     * @param id 커서의 리뷰 id
+     * @param pageable 조회 개수 (count 쿼리 없음)
+     * @return List<Review>
+     *
+     * @author 정재익
+     * @since 25.03.13
+     */
+    @Query("""
+        SELECT r FROM Review r
+        WHERE r.bookId = :bookId
+          AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+        ORDER BY r.createdAt DESC, r.id DESC
+    """)
+    fun findSliceByBookIdBefore(
+        @Param("bookId") bookId: Long,
+        @Param("createdAt") createdAt: LocalDateTime,
+        @Param("id") id: Long,
+        pageable: Pageable
+    ): List<Review>
+
     /**
      * 특정 기간 동안 작성된 리뷰 수를 도서별로 집계하여 조회하는 메서드
      *
@@ -0,0 +1,24 @@
+package com.project.backend.domain.review.review.reviewDTO
+
+/**
+ * 도서별 리뷰 집계 DTO
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+data class BookReviewStatsDTO(
+    val bookId: Long,
+    val reviewCount: Long,
+    val ratingSum: Long,
+    val histogram: List<Long>
+) {
+    /** 평균 평점, 리뷰가 없으면 null */
+    val ratingAverage: Double?
+        get() = if (reviewCount > 0) ratingSum.toDouble() / reviewCount else null
+
+    companion object {
+        const val MAX_RATING = 10
+
+        fun empty(bookId: Long) = BookReviewStatsDTO(bookId, 0, 0, List(MAX_RATING + 1) { 0L })
+    }
+}
@@ -0,0 +1,234 @@
+package com.project.backend.domain.review.review.service
+
+import com.project.backend.domain.book.dto.BookDTO
+import com.project.backend.domain.review.review.repository.BookReviewStatsRepository
+import com.project.backend.domain.review.review.reviewDTO.BookReviewStatsDTO
+import com.project.backend.global.redis.service.RedisLease
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.context.event.ApplicationReadyEvent
+import org.springframework.context.event.EventListener
+import org.springframework.data.redis.core.RedisOperations
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.core.SessionCallback
+import org.springframework.scheduling.annotation.Scheduled
+import org.springframework.stereotype.Service
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import org.springframework.transaction.support.TransactionTemplate
+import java.time.Duration
+import java.util.UUID
+
+/**
+ * 도서별 리뷰 집계 서비스
+ * 1. 리뷰 작성, 수정, 삭제 때 같은 트랜잭션에서 book_review_stats에 증감만 반영하고 커밋 이후 Redis 캐시를 지움
+ * 2. 조회는 Redis book:review-stats:{도서 id}를 MGET 한 번으로 읽고 없는 도서만 DB에서 읽어 캐시하며
+ *    리뷰가 없는 도서도 0으로 캐시하여 검색 결과마다 DB를 다시 읽지 않음
+ * 3. 매일 rebuild-cron에 review 테이블에서 rebuild-chunk-size개 도서씩 다시 계산하여 증감이 틀어진 집계를 바로잡음
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@Service
+class BookReviewStatsService(
+    private val bookReviewStatsRepository: BookReviewStatsRepository,
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val redisLease: RedisLease,
+    transactionManager: PlatformTransactionManager,
+    @Value("\${review.stats.ttl:1h}") private val ttl: Duration,
+    @Value("\${review.stats.rebuild-chunk-size:500}") private val rebuildChunkSize: Int
+) {
+    private val logger = LoggerFactory.getLogger(BookReviewStatsService::class.java)
+
+    private val transactionTemplate = TransactionTemplate(transactionManager)
+
+    companion object {
+        private const val KEY_PREFIX = "book:review-stats:"
+        private const val REBUILD_LOCK_KEY = "book:review-stats:rebuild-lock"
+        private val REBUILD_LOCK_TTL: Duration = Duration.ofHours(1)
+    }
+
+    /**
+     * 리뷰 작성 반영
+     *
+     * @param bookId 도서 id
+     * @param rating 평점
+     */
+    fun recordWrite(bookId: Long, rating: Int) {
+        applyDelta(bookId, 1, rating, histogramDelta(rating to 1))
+    }
+
+    /**
+     * 리뷰 평점 수정 반영
+     *
+     * @param bookId 도서 id
+     * @param oldRating 수정 전 평점
+     * @param newRating 수정 후 평점
+     */
+    fun recordModify(bookId: Long, oldRating: Int, newRating: Int) {
+        if (oldRating == newRating) {
+            return
+        }
+        applyDelta(bookId, 0, newRating - oldRating, histogramDelta(oldRating to -1, newRating to 1))
+    }
+
+    /**
+     * 리뷰 삭제 반영
+     *
+     * @param bookId 도서 id
+     * @param rating 삭제된 리뷰의 평점
+     */
+    fun recordDelete(bookId: Long, rating: Int) {
+        applyDelta(bookId, -1, -rating, histogramDelta(rating to -1))
+    }
+
+    /**
+     * 도서들의 리뷰 집계 조회
+     *
+     * @param bookIds 도서 id 목록
+     * @return 도서 id별 리뷰 집계, 리뷰가 없는 도서는 0
+     */
+    fun getAll(bookIds: Collection<Long>): Map<Long, BookReviewStatsDTO> {
+        val ids = bookIds.distinct()
+        if (ids.isEmpty()) {
+            return emptyMap()
+        }
+
+        val found = HashMap<Long, BookReviewStatsDTO>()
+        redisTemplate.opsForValue().multiGet(ids.map { KEY_PREFIX + it }).orEmpty()
+            .forEachIndexed { index, value -> value?.let { decode(ids[index], it) }?.let { found[ids[index]] = it } }
+
+        val missing = ids.filter { it !in found }
+        if (missing.isNotEmpty()) {
+            val loaded = bookReviewStatsRepository.findAllByBookIds(missing).associateBy { it.bookId }
+            missing.forEach { found[it] = loaded[it] ?: BookReviewStatsDTO.empty(it) }
+            redisTemplate.executePipelined(object : SessionCallback<Any?> {
+                override fun <K, V> execute(operations: RedisOperations<K, V>): Any? {
+                    @Suppress("UNCHECKED_CAST")
+                    val valueOperations = (operations as RedisOperations<String, String>).opsForValue()
+                    missing.forEach { valueOperations.set(KEY_PREFIX + it, encode(found.getValue(it)), ttl) }
+                    return null
+                }
+            })
+        }
+        return found
+    }
+
+    /**
+     * 도서 목록에 평균 평점과 리뷰 수를 채우는 메소드
+     *
+     * @param books 도서 목록
+     * @return 평균 평점과 리뷰 수를 채운 목록
+     */
+    fun overlay(books: List<BookDTO>): List<BookDTO> {
+        val stats = getAll(books.mapNotNull { it.id })
+        if (stats.isEmpty()) {
+            return books
+        }
+        return books.map { book ->
+            stats[book.id]?.let { book.copy(ratingAverage = it.ratingAverage, reviewCount = it.reviewCount) } ?: book
+        }
+    }
+
+    /**
+     * 리뷰 집계 재계산 스케줄러
+     * 여러 노드 중 잠금을 얻은 노드 하나만 실행하며 도서 묶음마다 별도 트랜잭션으로 다시 계산한다
+     * 잠금은 RedisLease로 실행마다 새 토큰을 소유자로 잡고 자기 토큰일 때만 풀어 만료 뒤 다른 노드가 잡은 잠금을 지우지 않는다
+     */
+    @Scheduled(cron = "\${review.stats.rebuild-cron:0 30 4 * * *}")
+    fun rebuild() {
+        val token = UUID.randomUUID().toString()
+        if (!redisLease.tryAcquire(REBUILD_LOCK_KEY, REBUILD_LOCK_TTL, token)) {
+            return
+        }
+
+        try {
+            var afterBookId = 0L
+            var rebuilt = 0
+            while (true) {
+                val next = transactionTemplate.execute { rebuildChunk(afterBookId) } ?: break
+                rebuilt += next.second
+                afterBookId = next.first
+            }
+            logger.info("도서 리뷰 집계 재계산 완료 ({}권)", rebuilt)
+        } catch (e: Exception) {
+            logger.warn("도서 리뷰 집계 재계산 실패", e)
+        } finally {
+            redisLease.release(REBUILD_LOCK_KEY, token)
+        }
+    }
+
+    /**
+     * 집계 테이블이 비어 있으면 시작할 때 한 번 다시 계산
+     */
+    @EventListener(ApplicationReadyEvent::class)
+    fun rebuildIfEmpty() {
+        if (bookReviewStatsRepository.isEmpty()) {
+            Thread.ofVirtual().name("review-stats-rebuild").start { rebuild() }
+        }
+    }
+
+    /**
+     * afterBookId 다음 묶음 재계산
+     *
+     * @return (마지막 도서 id, 재계산한 도서 수), 더 없으면 null
+     */
+    private fun rebuildChunk(afterBookId: Long): Pair<Long, Int>? {
+        val bookIds = bookReviewStatsRepository.findReviewedBookIdsAfter(afterBookId, rebuildChunkSize)
+        val upToBookId = bookIds.lastOrNull()
+
+        val staleBookIds = bookReviewStatsRepository.findStaleBookIds(afterBookId, upToBookId, bookIds)
+        bookReviewStatsRepository.deleteAllByBookIds(staleBookIds)
+        bookReviewStatsRepository.recompute(bookIds)
+        evict(bookIds + staleBookIds)
+
+        return upToBookId?.let { it to bookIds.size }
+    }
+
+    private fun applyDelta(bookId: Long, countDelta: Int, ratingSumDelta: Int, histogramDelta: IntArray) {
+        bookReviewStatsRepository.applyDelta(bookId, countDelta, ratingSumDelta, histogramDelta)
+        evict(listOf(bookId))
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋 이후에 캐시를 지워 커밋 전 집계가 다시 캐시되지 않게 한다
+     */
+    private fun evict(bookIds: Collection<Long>) {
+        if (bookIds.isEmpty()) {
+            return
+        }
+
+        val delete = { redisTemplate.delete(bookIds.map { KEY_PREFIX + it }) }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+                override fun afterCommit() {
+                    delete()
+                }
+            })
+        } else {
+            delete()
+        }
+    }
+
+    private fun histogramDelta(vararg deltas: Pair<Int, Int>): IntArray {
+        val histogram = IntArray(BookReviewStatsDTO.MAX_RATING + 1)
+        deltas.forEach { (rating, delta) ->
+            if (rating in histogram.indices) {
+                histogram[rating] += delta
+            }
+        }
+        return histogram
+    }
+
+    private fun encode(stats: BookReviewStatsDTO): String =
+        (listOf(stats.reviewCount, stats.ratingSum) + stats.histogram).joinToString(",")
+
+    private fun decode(bookId: Long, value: String): BookReviewStatsDTO? {
+        val values = value.split(",").map { it.toLongOrNull() ?: return null }
+        if (values.size != BookReviewStatsDTO.MAX_RATING + 3) {
+            return null
+        }
+        return BookReviewStatsDTO(bookId, values[0], values[1], values.drop(2))
+    }
+}
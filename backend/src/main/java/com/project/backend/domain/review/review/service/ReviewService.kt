@@ -1,20 +1,20 @@
 package com.project.backend.domain.review.review.service
 
-import com.project.backend.domain.follow.service.FollowService
 import com.project.backend.domain.member.entity.Member
 import com.project.backend.domain.member.repository.MemberRepository
 import com.project.backend.domain.member.service.MemberService
-import com.project.backend.domain.notification.dto.NotificationDTO
-import com.project.backend.domain.notification.entity.NotificationType
-import com.project.backend.domain.notification.service.NotificationService
 import com.project.backend.domain.review.exception.ReviewErrorCode
 import com.project.backend.domain.review.exception.ReviewException
 import com.project.backend.domain.review.recommendation.entity.ReviewRecommendation
 import com.project.backend.domain.review.recommendation.repository.ReviewRecommendationRepository
 import com.project.backend.domain.review.review.entity.Review
+import com.project.backend.domain.review.review.event.ReviewCreatedEvent
 import com.project.backend.domain.review.review.repository.ReviewRepository
 import com.project.backend.domain.review.review.reviewDTO.ReviewsDTO
 import com.project.backend.global.authority.CustomUserDetails
+import com.project.backend.global.outbox.service.OutboxService
+import com.project.backend.global.pagination.CreatedAtCursor
+import com.project.backend.global.pagination.CursorSliceDTO
 import jakarta.transaction.Transactional
 import lombok.RequiredArgsConstructor
 import org.springframework.data.domain.*
@@ -34,8 +34,8 @@ import java.util.stream.Collectors
 class ReviewService(  private val reviewRepository: ReviewRepository,
                       private val memberRepository: MemberRepository,
                       private val memberService: MemberService,
-                      private val notificationService: NotificationService,
-                      private val followService: FollowService,
+                      private val outboxService: OutboxService,
+                      private val bookReviewStatsService: BookReviewStatsService,
                       private val reviewRecommendationRepository: ReviewRecommendationRepository
 
 ) {
@@ -80,6 +80,38 @@ class ReviewService(  private val reviewRepository: ReviewRepository,
         return reviewsDTOPage
     }
 
+    /**
+     * 리뷰 전체 커서 조회
+     * (createdAt, id) 기준으로 커서 이후의 리뷰를 최신순으로 size개 반환하며 COUNT 쿼리를 실행하지 않는다
+     * @param cursor 이전 조각의 nextCursor, 첫 조각은 null
+     * @param size
+     * @return CursorSliceDTO<ReviewsDTO>
+     *
+     * @author 정재익
+     * @since 25.03.13
+     */
+    fun findAllByCursor(cursor: String?, size: Int): CursorSliceDTO<ReviewsDTO> {
+        val key = CreatedAtCursor.decode(cursor)
+        val rows = reviewRepository.findSliceBefore(key.createdAt, key.id, PageRequest.of(0, size + 1))
+        return CursorSliceDTO.of(rows, size, { CreatedAtCursor(it.createdAt, it.id!!).encode() }) { ReviewsDTO.from(it) }
+    }
+
+    /**
+     * 책id 기반 리뷰 커서 조회
+     * @param bookId
+     * @param cursor 이전 조각의 nextCursor, 첫 조각은 null
+     * @param size
+     * @return CursorSliceDTO<ReviewsDTO>
+     *
+     * @author 정재익
+     * @since 25.03.13
+     */
+    fun getBookIdReviewsByCursor(bookId: Long, cursor: String?, size: Int): CursorSliceDTO<ReviewsDTO> {
+        val key = CreatedAtCursor.decode(cursor)
+        val rows = reviewRepository.findSliceByBookIdBefore(bookId, key.createdAt, key.id, PageRequest.of(0, size + 1))
+        return CursorSliceDTO.of(rows, size, { CreatedAtCursor(it.createdAt, it.id!!).encode() }) { ReviewsDTO.from(it) }
+    }
+
     /**
      * userid 기반 리뷰 찾기
      * @param memberId
@@ -93,6 +125,8 @@ class ReviewService(  private val reviewRepository: ReviewRepository,
 
     /**
      * 리뷰 생성
+     * 리뷰, 도서 리뷰 집계 증감, ReviewCreatedEvent 아웃박스 행을 한 트랜잭션으로 저장하고
+     * 팔로워 알림, 랭킹 집계 등 후속 작업은 OutboxRelay가 커밋된 이벤트를 읽어 따로 처리한다
      * @param memberId
      * @param reviewsDTO
      *
@@ -101,37 +135,20 @@ class ReviewService(  private val reviewRepository: ReviewRepository,
      */
     @Transactional
     fun write(memberId: Long, reviewsDTO: ReviewsDTO) {
-       val review= Review(
+       val review= reviewRepository.save(Review(
            bookId = reviewsDTO.bookId,
            userId = memberId,
            content = reviewsDTO.content,
            rating = reviewsDTO.rating,
            isDelete = false
-       )
-
-
-        val memberDto = memberService.getMemberById(memberId) //리뷰 작성자
-        val followers = followService.getFollowers(memberDto.userNameK) // 리뷰 작성자를 팔로우 하고 있는 팔로워 목록
-
-
-
-        for (followDto in followers) {
-            val follower = memberService.getMyProfile(followDto.username) // 리뷰 작성자를 팔로우 하는 팔로워
-            val notificationDTO = NotificationDTO(
-                producerMemberId=memberId,
-                consumerMemberId=follower.id,
-                reviewId=review.id,
-                isCheck=false,
-                content=notificationService.buildContent(memberDto.userNameK, NotificationType.REVIEW),
-                notificationType=NotificationType.REVIEW,
-                createdAt = LocalDateTime.now(),
-                id = null,
-                reviewCommentId = null
-            )
-
-
-            notificationService.create(notificationDTO)
-        }
+       ))
+        bookReviewStatsService.recordWrite(review.bookId, review.rating)
+
+        outboxService.append(
+            ReviewCreatedEvent.EVENT_TYPE,
+            review.id!!,
+            ReviewCreatedEvent(review.id, review.bookId, memberId)
+        )
     }
 
     /**
@@ -145,6 +162,9 @@ class ReviewService(  private val reviewRepository: ReviewRepository,
     @Transactional
     fun modify(reviewsDTO: ReviewsDTO, reviewId: Long, memberId: Long) {
         val review = findById(reviewId)
+        if (!review.isDelete) {
+            bookReviewStatsService.recordModify(review.bookId, review.rating, reviewsDTO.rating)
+        }
         review.content = reviewsDTO.content
         review.rating = reviewsDTO.rating
         reviewRepository.save(review)
@@ -161,6 +181,9 @@ class ReviewService(  private val reviewRepository: ReviewRepository,
     @Transactional
     fun delete(reviewId: Long, memberId: Long?): ReviewsDTO {
         val review = findById(reviewId)
+        if (!review.isDelete) {
+            bookReviewStatsService.recordDelete(review.bookId, review.rating)
+        }
         if(review.comments.isEmpty()){
             reviewRepository.delete(review)
         }else{
@@ -180,6 +203,9 @@ class ReviewService(  private val reviewRepository: ReviewRepository,
      * @since 25.02.11
      */
     fun reviewDelete(review: Review) {
+        if (!review.isDelete) {
+            bookReviewStatsService.recordDelete(review.bookId, review.rating)
+        }
         println("review1")
         reviewRepository.delete(review)
         println("review2")
@@ -4,6 +4,7 @@ import com.project.backend.domain.book.exception.BookException;
 import com.project.backend.domain.follow.exception.FollowException;
 import com.project.backend.domain.member.exception.MemberException;
 import com.project.backend.global.exception.GlobalErrorCode;
+import com.project.backend.global.exception.GlobalException;
 import com.project.backend.global.response.ErrorDetail;
 import com.project.backend.global.response.HttpErrorInfo;
 import jakarta.servlet.http.HttpServletRequest;
@@ -69,6 +70,28 @@ public class GlobalControllerAdvice {
 
     }
 
+    /**
+     * GlobalException 발생 시 처리하는 핸들러
+     * @param ex 발생한 예외
+     * @param request HttpServletRequest
+     * @return {@link HttpErrorInfo} 에러 정보
+     * @author 정재익
+     * @since 2025.03.13
+     */
+    @ExceptionHandler(GlobalException.class)
+    public ResponseEntity<HttpErrorInfo> handleGlobalException(
+            GlobalException ex,
+            HttpServletRequest request
+    ) {
+        return ResponseEntity.status(ex.getStatus())
+                .body(HttpErrorInfo.of(
+                                ex.getCode(),
+                                request.getRequestURI(),
+                                ex.getMessage()
+                        )
+                );
+    }
+
     /**
      * MemberException 발생 시 처리하는 핸들러
      * @param ex 발생한 예외
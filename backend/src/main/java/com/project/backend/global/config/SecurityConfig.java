@@ -57,12 +57,14 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // GET 요청은 모두 허용(책 목록, 리뷰 조회 등)
                         .requestMatchers(HttpMethod.GET, "/book","/book/{id}","/book/favorite").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/review").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/review/books/{bookId}").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/book/search/partial").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/review", "/review/cursor").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/review/books/{bookId}", "/review/books/{bookId}/cursor").permitAll()
                         .requestMatchers(HttpMethod.GET, "/review/{reviewId}/comments").permitAll()
                         .requestMatchers(HttpMethod.GET, "/ranking/weekly/book").permitAll()
                         .requestMatchers(HttpMethod.GET, "/ranking/weekly/review").permitAll()
                         .requestMatchers(HttpMethod.GET, "/ranking/daily/review").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/ranking/bestseller/history", "/ranking/bestseller/movers").permitAll()
 
                         // 로그인 및 회원가입은 인증 없이 허용
                         .requestMatchers("/members/login",
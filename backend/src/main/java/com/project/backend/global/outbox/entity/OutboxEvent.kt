@@ -0,0 +1,44 @@
+package com.project.backend.global.outbox.entity
+
+import jakarta.persistence.*
+import java.time.LocalDateTime
+
+/**
+ * 아웃박스 이벤트
+ * 도메인 변경과 같은 트랜잭션으로 저장되고 OutboxRelay가 커밋된 행만 읽어 후속 작업에 전달한 뒤 지운다
+ * 전달에 실패하면 attempts를 올리고 availableAt 이후에 다시 전달한다
+ * 성공한 처리기 이름은 deliveredTo에 쉼표로 이어 기록하여 다시 전달할 때 실패한 처리기에만 전달한다
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@Entity
+@Table(name = "outbox_event")
+class OutboxEvent(
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    val id: Long? = null,
+
+    @Column(length = 50, nullable = false)
+    val eventType: String,
+
+    val aggregateId: Long,
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    val payload: String,
+
+    var attempts: Int = 0,
+
+    var availableAt: LocalDateTime,
+
+    val createdAt: LocalDateTime,
+
+    @Column(nullable = false)
+    var deliveredTo: String = ""
+) {
+    fun isDeliveredTo(handlerName: String): Boolean = handlerName in deliveredTo.split(',')
+
+    fun markDelivered(handlerName: String) {
+        deliveredTo = if (deliveredTo.isEmpty()) handlerName else "$deliveredTo,$handlerName"
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.backend.global.outbox.repository
+
+import com.project.backend.global.outbox.entity.OutboxEvent
+import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.data.jpa.repository.Modifying
+import org.springframework.data.jpa.repository.Query
+import org.springframework.data.repository.query.Param
+import java.time.LocalDateTime
+
+/**
+ * 아웃박스 이벤트 레포지토리
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+interface OutboxEventRepository : JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * 전달할 이벤트를 오래된 순으로 limit개 잠그고 조회
+     * 다른 노드가 잠근 행은 기다리지 않고 건너뛰므로 여러 노드가 서로 다른 묶음을 동시에 전달한다
+     */
+    @Query(
+        value = "SELECT * FROM outbox_event WHERE attempts < :maxAttempts AND available_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+        nativeQuery = true
+    )
+    fun lockPending(
+        @Param("maxAttempts") maxAttempts: Int,
+        @Param("now") now: LocalDateTime,
+        @Param("limit") limit: Int
+    ): List<OutboxEvent>
+
+    /**
+     * 전달에 실패한 이벤트의 시도 횟수를 올리고 다음 전달 시각을 미룸
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.availableAt = :availableAt WHERE e.id IN :ids")
+    fun markFailed(@Param("ids") ids: List<Long>, @Param("availableAt") availableAt: LocalDateTime): Int
+}
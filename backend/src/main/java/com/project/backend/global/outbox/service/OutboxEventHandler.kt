@@ -0,0 +1,26 @@
+package com.project.backend.global.outbox.service
+
+/**
+ * 아웃박스 이벤트 처리기
+ * 같은 eventType의 처리기가 여러 개면 OutboxRelay가 묶음마다 모두에게 전달한다
+ * 전달은 최소 한 번이므로 같은 이벤트를 다시 받아도 결과가 틀어지지 않도록 처리해야 한다
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+interface OutboxEventHandler<T> {
+
+    /** 처리할 이벤트 종류 */
+    val eventType: String
+
+    /** payload를 역직렬화할 타입 */
+    val payloadType: Class<T>
+
+    /**
+     * 이벤트 묶음 처리
+     * 예외를 던지면 묶음 전체가 나중에 이 처리기에만 다시 전달된다 (같은 종류의 다른 처리기에는 다시 전달되지 않음)
+     *
+     * @param payloads 저장된 순서의 이벤트 목록
+     */
+    fun handle(payloads: List<@JvmSuppressWildcards T>)
+}
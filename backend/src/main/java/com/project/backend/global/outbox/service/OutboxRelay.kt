@@ -0,0 +1,109 @@
+package com.project.backend.global.outbox.service
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.project.backend.global.outbox.entity.OutboxEvent
+import com.project.backend.global.outbox.repository.OutboxEventRepository
+import org.slf4j.LoggerFactory
+import org.springframework.aop.support.AopUtils
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.scheduling.annotation.Scheduled
+import org.springframework.stereotype.Component
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import java.time.Duration
+import java.time.LocalDateTime
+
+/**
+ * 아웃박스 전달기
+ * interval마다 커밋된 아웃박스 이벤트를 batch-size개씩 잠그고 이벤트 종류별 처리기에 묶음으로 전달한다
+ * 1. 잠금, 전달, 삭제를 한 트랜잭션에서 처리하여 전달 도중 노드가 죽으면 잠금이 풀리고 다른 노드가 다시 전달
+ * 2. 처리기가 실패한 종류의 이벤트만 attempts를 올리고 retry-backoff 뒤에 다시 전달하며 max-attempts번 실패하면 더 전달하지 않음
+ *    성공한 처리기는 이벤트에 기록하여 다시 전달할 때는 실패한 처리기에만 전달 (다른 처리기의 실패로 점수 등이 거듭 반영되지 않음)
+ * 3. 묶음이 가득 차면 쌓인 이벤트가 더 있는 것으로 보고 바로 다음 묶음을 전달
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@Component
+class OutboxRelay(
+    private val outboxEventRepository: OutboxEventRepository,
+    private val objectMapper: ObjectMapper,
+    handlers: List<OutboxEventHandler<*>>,
+    transactionManager: PlatformTransactionManager,
+    @Value("\${outbox.relay.batch-size:200}") private val batchSize: Int,
+    @Value("\${outbox.relay.max-attempts:10}") private val maxAttempts: Int,
+    @Value("\${outbox.relay.retry-backoff:30s}") private val retryBackoff: Duration
+) {
+    private val logger = LoggerFactory.getLogger(OutboxRelay::class.java)
+
+    private val handlersByType = handlers.groupBy { it.eventType }
+    private val transactionTemplate = TransactionTemplate(transactionManager)
+
+    /**
+     * 아웃박스 전달 스케줄러
+     */
+    @Scheduled(fixedDelayString = "\${outbox.relay.interval-millis:1000}")
+    fun relay() {
+        try {
+            while (transactionTemplate.execute { relayBatch() } == batchSize) {
+                continue
+            }
+        } catch (e: Exception) {
+            logger.warn("아웃박스 전달 실패", e)
+        }
+    }
+
+    private fun relayBatch(): Int {
+        val now = LocalDateTime.now()
+        val events = outboxEventRepository.lockPending(maxAttempts, now, batchSize)
+        if (events.isEmpty()) {
+            return 0
+        }
+
+        val delivered = ArrayList<Long>(events.size)
+        events.groupBy { it.eventType }.forEach { (eventType, group) ->
+            val ids = group.map { it.id!! }
+            val handlers = handlersByType[eventType]
+            if (handlers == null) {
+                logger.warn("처리기가 없는 아웃박스 이벤트 {}건 삭제 ({})", group.size, eventType)
+            }
+
+            var failed = false
+            handlers.orEmpty().forEach { handler ->
+                val handlerName = handlerName(handler)
+                val pending = group.filter { !it.isDeliveredTo(handlerName) }
+                if (pending.isEmpty()) {
+                    return@forEach
+                }
+                try {
+                    dispatch(handler, pending)
+                    pending.forEach { it.markDelivered(handlerName) }
+                } catch (e: Exception) {
+                    failed = true
+                    logger.warn(
+                        "아웃박스 이벤트 {}건 전달 실패 ({}, {}), {} 뒤에 다시 전달",
+                        pending.size, eventType, handlerName, retryBackoff, e
+                    )
+                }
+            }
+
+            if (failed) {
+                outboxEventRepository.markFailed(ids, now.plus(retryBackoff))
+            } else {
+                delivered += ids
+            }
+        }
+
+        if (delivered.isNotEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(delivered)
+        }
+        return events.size
+    }
+
+    /** 프록시가 아닌 실제 클래스 이름, 이벤트의 deliveredTo에 기록된다 */
+    private fun handlerName(handler: OutboxEventHandler<*>): String = AopUtils.getTargetClass(handler).simpleName
+
+    private fun <T> dispatch(handler: OutboxEventHandler<T>, events: List<OutboxEvent>) {
+        handler.handle(events.map { objectMapper.readValue(it.payload, handler.payloadType) })
+    }
+}
@@ -0,0 +1,44 @@
+package com.project.backend.global.outbox.service
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.project.backend.global.outbox.entity.OutboxEvent
+import com.project.backend.global.outbox.repository.OutboxEventRepository
+import org.springframework.stereotype.Service
+import org.springframework.transaction.annotation.Propagation
+import org.springframework.transaction.annotation.Transactional
+import java.time.LocalDateTime
+
+/**
+ * 아웃박스 서비스
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@Service
+class OutboxService(
+    private val outboxEventRepository: OutboxEventRepository,
+    private val objectMapper: ObjectMapper
+) {
+
+    /**
+     * 아웃박스 이벤트 추가
+     * 호출한 트랜잭션에 참여하여 도메인 변경과 함께 커밋되거나 함께 롤백된다
+     *
+     * @param eventType 이벤트 종류
+     * @param aggregateId 이벤트가 발생한 엔티티 id
+     * @param payload JSON으로 저장할 이벤트
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    fun append(eventType: String, aggregateId: Long, payload: Any) {
+        val now = LocalDateTime.now()
+        outboxEventRepository.save(
+            OutboxEvent(
+                eventType = eventType,
+                aggregateId = aggregateId,
+                payload = objectMapper.writeValueAsString(payload),
+                availableAt = now,
+                createdAt = now
+            )
+        )
+    }
+}
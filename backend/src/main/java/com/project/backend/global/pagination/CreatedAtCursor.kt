@@ -0,0 +1,34 @@
+package com.project.backend.global.pagination
+
+import java.time.LocalDateTime
+
+/**
+ * (createdAt, id) 최신순 커서
+ * 리뷰, 알림처럼 작성 시각 내림차순으로 보여주는 목록에서 사용한다
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+data class CreatedAtCursor(val createdAt: LocalDateTime, val id: Long) {
+
+    fun encode(): String = CursorCodec.encode(createdAt, id)
+
+    companion object {
+        /** 첫 조각 조회용 커서, 모든 데이터보다 뒤에 있는 값 (MySQL DATETIME 최대값) */
+        private val FIRST = CreatedAtCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE)
+
+        /**
+         * 커서 문자열을 디코딩, null이거나 비어 있으면 첫 조각 커서를 반환
+         * @param cursor 커서 문자열
+         * @return CreatedAtCursor
+         */
+        fun decode(cursor: String?): CreatedAtCursor {
+            if (cursor.isNullOrBlank()) {
+                return FIRST
+            }
+            return CursorCodec.decode(cursor) { (createdAt, id) ->
+                CreatedAtCursor(LocalDateTime.parse(createdAt), id.toLong())
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.project.backend.global.pagination
+
+import com.project.backend.global.exception.GlobalErrorCode
+import com.project.backend.global.exception.GlobalException
+import java.nio.charset.StandardCharsets
+import java.util.Base64
+
+/**
+ * 커서 인코딩 유틸
+ * 정렬 키 값들을 구분자로 이어 URL-safe Base64로 감싸 클라이언트가 내부 구조에 의존하지 않도록 한다
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+object CursorCodec {
+    private const val DELIMITER = "|"
+
+    /**
+     * 정렬 키 값들을 커서로 인코딩
+     * @param keys 정렬 키 값 (toString 결과가 사용된다)
+     * @return 커서 문자열
+     */
+    fun encode(vararg keys: Any): String {
+        val raw = keys.joinToString(DELIMITER) { it.toString() }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toByteArray(StandardCharsets.UTF_8))
+    }
+
+    /**
+     * 커서를 정렬 키 값들로 디코딩
+     * 형식이 맞지 않으면 GlobalErrorCode.INVALID_CURSOR 예외를 던진다
+     *
+     * @param cursor 커서 문자열
+     * @param parser 분리된 정렬 키 값으로 객체를 만드는 함수
+     * @return 파싱된 정렬 키
+     */
+    fun <T> decode(cursor: String, parser: (List<String>) -> T): T {
+        return try {
+            val raw = String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+            parser(raw.split(DELIMITER))
+        } catch (e: RuntimeException) {
+            throw GlobalException(GlobalErrorCode.INVALID_CURSOR)
+        }
+    }
+}
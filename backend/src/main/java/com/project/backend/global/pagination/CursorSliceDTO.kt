@@ -0,0 +1,48 @@
+package com.project.backend.global.pagination
+
+/**
+ * 커서 기반 페이지 응답 DTO
+ * 전체 개수를 세지 않으며 nextCursor를 그대로 다음 요청의 cursor로 넘기면 이어서 조회된다
+ *
+ * @param content 현재 조각의 데이터
+ * @param nextCursor 다음 조각 조회용 커서, 마지막 조각이면 null
+ * @param hasNext 다음 조각 존재 여부
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+data class CursorSliceDTO<T>(
+    val content: List<T>,
+    val nextCursor: String?,
+    val hasNext: Boolean
+) {
+    companion object {
+        /** 한 조각의 최대 크기 */
+        const val MAX_SIZE = 100
+
+        /**
+         * 요청한 조각 크기를 1 ~ MAX_SIZE로 맞춘다
+         * 0 이하는 빈 조각에서 커서를 만들 수 없고 너무 큰 값은 한 번에 읽는 양이 끝없이 커지므로 컨트롤러에서 호출한다
+         *
+         * @param size 요청한 조각 크기
+         * @return 1 ~ MAX_SIZE 사이의 조각 크기
+         */
+        fun coerceSize(size: Int): Int = size.coerceIn(1, MAX_SIZE)
+
+        /**
+         * size + 1개 조회한 결과로 조각을 만든다
+         * 초과분이 있으면 다음 조각이 있는 것으로 보고 마지막 항목으로 커서를 만든다
+         *
+         * @param rows size + 1개까지 조회된 데이터
+         * @param size 요청한 조각 크기
+         * @param cursorOf 항목의 정렬 키로 커서를 만드는 함수
+         * @param mapper 응답 DTO 변환 함수
+         */
+        fun <E, T> of(rows: List<E>, size: Int, cursorOf: (E) -> String, mapper: (E) -> T): CursorSliceDTO<T> {
+            val content = rows.take(size.coerceAtLeast(0))
+            val hasNext = rows.size > content.size && content.isNotEmpty()
+            val nextCursor = if (hasNext) cursorOf(content.last()) else null
+            return CursorSliceDTO(content.map(mapper), nextCursor, hasNext)
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.project.backend.global.redis;
 
+import com.project.backend.domain.book.service.BookCacheInvalidation;
 import com.project.backend.global.redis.service.RedisSubscriber;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
@@ -55,20 +57,24 @@ public class RedisConfig {
     /**
      * redis Pub/Sub 메시지를 수신하는 리스너
      * 특정 체널(notification 으로 시작하는 채널) 메시지를 구독하고, 수신된 메시지를 처리
+     * 도서 로컬 캐시 무효화 채널(book:cache-invalidation)도 함께 구독
      *
      * @param connectionFactory - Redis 연결 팩토리
      * @param listenerAdapter - Redis 메시지를 처리하는 이스너 어댑터
+     * @param bookCacheInvalidation - 도서 로컬 캐시 무효화 메시지 리스너
      * @return RedisMessageListenerContainer
      * @author 이광석
      * @since 25.02.26
      */
     @Bean
     public RedisMessageListenerContainer redisContainer(RedisConnectionFactory connectionFactory,
-                                                        MessageListenerAdapter listenerAdapter){
+                                                        MessageListenerAdapter listenerAdapter,
+                                                        BookCacheInvalidation bookCacheInvalidation){
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
 
         container.addMessageListener(listenerAdapter,new PatternTopic("notification*"));
+        container.addMessageListener(bookCacheInvalidation, new ChannelTopic(BookCacheInvalidation.CHANNEL));
         return container;
     }
 
@@ -0,0 +1,64 @@
+package com.project.backend.global.redis.service
+
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.core.script.DefaultRedisScript
+import org.springframework.stereotype.Component
+import java.time.Duration
+import java.util.UUID
+
+/**
+ * Redis 임대(lease)
+ * 여러 노드 중 하나만 작업하도록 SET NX PX로 임대 키를 잡고
+ * 연장과 해제는 키 값이 자기 소유자 값일 때만 하는 스크립트로 처리하여 만료 뒤 다른 노드가 잡은 임대를 건드리지 않는다
+ * 소유자 값을 주지 않으면 노드마다 하나인 id를 쓴다
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@Component
+class RedisLease(private val redisTemplate: RedisTemplate<String, String>) {
+    private val nodeId = UUID.randomUUID().toString()
+
+    companion object {
+        private val RENEW_SCRIPT = DefaultRedisScript(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long::class.javaObjectType
+        )
+        private val RELEASE_SCRIPT = DefaultRedisScript(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long::class.javaObjectType
+        )
+    }
+
+    /**
+     * 임대 획득
+     *
+     * @param key 임대 키
+     * @param ttl 임대 시간
+     * @param owner 소유자 값
+     * @return 임대를 얻었으면 true
+     */
+    fun tryAcquire(key: String, ttl: Duration, owner: String = nodeId): Boolean =
+        redisTemplate.opsForValue().setIfAbsent(key, owner, ttl) == true
+
+    /**
+     * 자기 임대일 때만 ttl로 연장
+     *
+     * @param key 임대 키
+     * @param ttl 임대 시간
+     * @param owner 소유자 값
+     * @return 임대를 가지고 있어 연장했으면 true
+     */
+    fun renew(key: String, ttl: Duration, owner: String = nodeId): Boolean =
+        redisTemplate.execute(RENEW_SCRIPT, listOf(key), owner, ttl.toMillis().toString()) == 1L
+
+    /**
+     * 자기 임대일 때만 해제
+     *
+     * @param key 임대 키
+     * @param owner 소유자 값
+     * @return 임대를 가지고 있어 해제했으면 true
+     */
+    fun release(key: String, owner: String = nodeId): Boolean =
+        redisTemplate.execute(RELEASE_SCRIPT, listOf(key), owner) == 1L
+}
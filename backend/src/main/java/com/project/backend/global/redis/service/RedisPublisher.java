@@ -2,9 +2,13 @@ package com.project.backend.global.redis.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
 /**
  * RedisPublisher
  * Redis에 데이터를 송신하는 서비스
@@ -30,4 +34,37 @@ public class RedisPublisher {
     public void publishToUser(Long memberId,String message){
         redisTemplate.convertAndSend("notification:"+memberId,message);
     }
+
+    /**
+     * 특정 유저에게 이름이 있는 SSE 이벤트를 전송
+     * "notification:{memberId}:{eventName}" 채널로 메시지를 발행
+     * @param memberId - 이벤트를 받을 유저
+     * @param eventName - SSE 이벤트 이름
+     * @param message - 이벤트 내용
+     *
+     * @author 정재익
+     * @since 25.03.12
+     */
+    public void publishEventToUser(Long memberId, String eventName, String message){
+        redisTemplate.convertAndSend("notification:"+memberId+":"+eventName,message);
+    }
+
+    /**
+     * 여러 유저에게 같은 알림 메시지를 전송
+     * 유저마다 "notification:{memberId}" 채널로 발행하는 명령을 파이프라인 한 번으로 보낸다
+     * @param memberIds - 알람을 받을 유저 목록
+     * @param message - 알람 내용
+     *
+     * @author 정재익
+     * @since 25.03.13
+     */
+    public void publishToUsers(Collection<Long> memberIds, String message){
+        byte[] body = message.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long memberId : memberIds) {
+                connection.publish(("notification:" + memberId).getBytes(StandardCharsets.UTF_8), body);
+            }
+            return null;
+        });
+    }
 }
@@ -44,9 +44,12 @@ public class RedisSubscriber implements MessageListener {
 
         if(list.length<2) {
             sseService.broadcastNotification(msg); // 모든 SSE 연결에 전송
-        }else{
+        }else if(list.length<3){
             Long memberId = Long.parseLong(list[1].trim());
             sseService.sendNotificationToUser(memberId,msg);
+        }else{
+            Long memberId = Long.parseLong(list[1].trim());
+            sseService.sendEventToUser(memberId,list[2].trim(),msg); // 이름이 있는 이벤트 전송
         }
     }
 
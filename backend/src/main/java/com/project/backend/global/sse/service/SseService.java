@@ -88,4 +88,25 @@ public class SseService {
         }
     }
 
+    /**
+     * 이름이 있는 이벤트를 특정 사용자에게 전달하는 메서드
+     * @param memberId - 수신자 memberId
+     * @param eventName - SSE 이벤트 이름
+     * @param message - 메시지 내용
+     * @author 정재익
+     * @since 25.03.12
+     */
+    public void sendEventToUser(Long memberId, String eventName, String message) {
+        SseEmitter emitter = emitterRepository.findById(memberId);
+        if (emitter != null) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(eventName)
+                        .data(message));
+            } catch (IOException e) {
+                emitterRepository.deleteById(memberId);
+            }
+        }
+    }
+
 }
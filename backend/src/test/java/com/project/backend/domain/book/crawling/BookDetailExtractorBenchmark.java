@@ -0,0 +1,138 @@
+package com.project.backend.domain.book.crawling;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 상세페이지 파서 벤치마크 (JMH)
+ * 저장된 상세페이지 100개를 파싱하는 시간과 기존 선택자 방식, BookDetailExtractor 한 번 순회 방식의 추출 시간을 비교
+ * -Dbenchmark=true 일 때만 실행하며 -Dcrawling.snapshot-dir로 실제 페이지를 저장한 디렉터리를 지정할 수 있음
+ * (지정하지 않으면 src/test/resources/crawling의 페이지를 반복해서 100개를 채움)
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookDetailExtractorBenchmark {
+    private static final int PAGES = 100;
+
+    private List<String> htmls;
+    private List<Document> docs;
+
+    @Setup
+    public void setUp() {
+        htmls = loadDetailPages();
+        docs = htmls.stream().map(html -> Jsoup.parse(html, "https://www.yes24.com")).toList();
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String html : htmls) {
+            blackhole.consume(Jsoup.parse(html, "https://www.yes24.com"));
+        }
+    }
+
+    @Benchmark
+    public void selectors(Blackhole blackhole) {
+        for (Document doc : docs) {
+            blackhole.consume(extractWithSelectors(doc));
+        }
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        for (Document doc : docs) {
+            blackhole.consume(BookDetailExtractor.extract(doc));
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("상세페이지 100개 파싱, 선택자 추출, 한 번 순회 추출 시간 비교")
+    void runBenchmark() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BookDetailExtractorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * 변경 전 CrawlingService와 같은 방식: 항목마다 선택자로 문서 전체를 조회하고 ISBN은 :has, :contains 의사 선택자로 찾음
+     */
+    static BookDetailExtractor.BookDetail extractWithSelectors(Document doc) {
+        Element tableScope = doc.selectFirst("div.infoSetCont_wrap .b_size");
+        Element isbnCell = tableScope == null ? null : tableScope.selectFirst("tr:has(th:contains(ISBN13)) td");
+        String isbn = isbnCell == null || isbnCell.text().isBlank() ? null : isbnCell.text();
+        Element image = doc.selectFirst("img.gImg");
+
+        return new BookDetailExtractor.BookDetail(
+                isbn,
+                text(doc.selectFirst("h2.gd_name")),
+                text(doc.selectFirst("span.gd_auth")),
+                text(doc.selectFirst("div#infoset_introduce div.infoWrap_txtInner")),
+                image == null ? null : image.attr("src"));
+    }
+
+    static List<Path> fixturePages() {
+        try (Stream<Path> files = Files.list(Path.of(Objects.requireNonNull(
+                BookDetailExtractorBenchmark.class.getResource("/crawling")).toURI()))) {
+            return files.filter(path -> path.getFileName().toString().contains("_Product_Goods_")).sorted().toList();
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String text(Element element) {
+        return element == null ? null : element.text();
+    }
+
+    private static List<String> loadDetailPages() {
+        String snapshotDir = System.getProperty("crawling.snapshot-dir");
+        List<Path> files;
+        if (snapshotDir == null) {
+            files = fixturePages();
+        } else {
+            try (Stream<Path> list = Files.list(Path.of(snapshotDir))) {
+                files = list.filter(path -> path.getFileName().toString().contains("_Product_Goods_")).sorted().toList();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        List<String> pages = new ArrayList<>(PAGES);
+        for (int i = 0; i < PAGES; i++) {
+            try {
+                pages.add(Files.readString(files.get(i % files.size())));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return pages;
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.backend.domain.book.crawling;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * yes24 상세페이지 추출 회귀 테스트
+ * src/test/resources/crawling에 저장된 페이지로 네트워크 없이 추출 결과를 확인
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+class BookDetailExtractorTest {
+
+    @Test
+    @DisplayName("저장된 상세페이지에서 도서 정보 추출")
+    void extract() throws Exception {
+        BookDetailExtractor.BookDetail detail = BookDetailExtractor.extract(load("https://www.yes24.com/Product/Goods/1001"));
+
+        assertThat(detail.getIsbn()).isEqualTo("9788936434120");
+        assertThat(detail.getTitle()).isEqualTo("소년이 온다");
+        assertThat(detail.getAuthor()).isEqualTo("한강 저");
+        assertThat(detail.getDescription()).startsWith("1980년 5월 18일부터");
+        assertThat(detail.getImage()).isEqualTo("https://image.yes24.com/goods/1001/XL");
+        assertThat(detail.isComplete()).isTrue();
+    }
+
+    @Test
+    @DisplayName("ISBN13은 :contains와 같이 대소문자 구분 없이 처음 포함된 행을 사용")
+    void isbnRowMatchesContainsSemantics() throws Exception {
+        BookDetailExtractor.BookDetail detail = BookDetailExtractor.extract(load("https://www.yes24.com/Product/Goods/1002"));
+
+        assertThat(detail.getIsbn()).isEqualTo("9788901234567");
+        assertThat(detail.getTitle()).isEqualTo("R & D 실전 가이드");
+    }
+
+    @Test
+    @DisplayName("책 소개가 없는 페이지는 불완전한 페이지로 판단")
+    void incompletePage() throws Exception {
+        BookDetailExtractor.BookDetail detail = BookDetailExtractor.extract(load("https://www.yes24.com/Product/Goods/1003"));
+
+        assertThat(detail.getIsbn()).isEqualTo("9791100000003");
+        assertThat(detail.getDescription()).isNull();
+        assertThat(detail.isComplete()).isFalse();
+    }
+
+    @Test
+    @DisplayName("모든 저장된 페이지에서 기존 선택자 방식과 같은 결과")
+    void sameAsSelectors() throws IOException {
+        for (Path page : BookDetailExtractorBenchmark.fixturePages()) {
+            Document doc = Jsoup.parse(page.toFile(), "UTF-8", "https://www.yes24.com");
+
+            assertThat(BookDetailExtractor.extract(doc))
+                    .as(page.getFileName().toString())
+                    .isEqualTo(BookDetailExtractorBenchmark.extractWithSelectors(doc));
+        }
+    }
+
+    private Document load(String url) throws IOException, URISyntaxException {
+        Path dir = Path.of(Objects.requireNonNull(getClass().getResource("/crawling")).toURI());
+        return Jsoup.parse(dir.resolve(SnapshotPageSource.fileName(url)).toFile(), "UTF-8", url);
+    }
+}
@@ -0,0 +1,117 @@
+package com.project.backend.domain.book.service;
+
+import com.project.backend.domain.book.dto.BookDTO;
+import com.project.backend.domain.book.entity.Book;
+import com.project.backend.domain.book.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 도서 저장 벤치마크
+ * API 결과 10,000건을 기존 persist 반복 방식과 여러 행 INSERT 대량 저장 방식으로 저장하여 초당 저장 행 수를 비교
+ * MySQL이 필요하므로 -Dbenchmark=true 일 때만 실행
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BookSaveBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(BookSaveBenchmarkTest.class);
+    private static final int ROWS = 10_000;
+    private static final String ISBN_PREFIX = "BENCH-";
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM book WHERE isbn LIKE ?", ISBN_PREFIX + "%");
+    }
+
+    @Test
+    @DisplayName("persist 반복 방식과 여러 행 INSERT 대량 저장 방식의 초당 저장 행 수 비교")
+    void compareSaveBooks() {
+        List<BookDTO> books = apiResults();
+
+        long legacyNanos = measure(() -> legacySaveBooks(books));
+        cleanUp();
+        long bulkNanos = measure(() -> bookService.saveBooks(books));
+
+        log.info("persist 반복: {} rows/s", String.format("%,.0f", ROWS / (legacyNanos / 1e9)));
+        log.info("여러 행 INSERT 대량 저장: {} rows/s", String.format("%,.0f", ROWS / (bulkNanos / 1e9)));
+
+        List<String> isbns = books.stream().map(BookDTO::getIsbn).toList();
+        assertThat(bookRepository.findExistingIsbns(isbns)).hasSize(ROWS);
+
+        // 같은 결과가 다시 들어와도 중복 저장되지 않아야 함
+        bookService.saveBooks(books);
+        assertThat(bookRepository.findExistingIsbns(isbns)).hasSize(ROWS);
+    }
+
+    /**
+     * 변경 전 saveBooks와 같은 방식: 중복 isbn IN 조회 후 엔티티마다 persist
+     */
+    private void legacySaveBooks(List<BookDTO> books) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> existing = Set.copyOf(bookRepository.findExistingIsbns(
+                    books.stream().map(BookDTO::getIsbn).toList()));
+
+            List<Book> toSave = books.stream()
+                    .filter(dto -> !existing.contains(dto.getIsbn()))
+                    .map(dto -> new Book(null, dto.getTitle(), dto.getAuthor(), dto.getDescription(),
+                            dto.getImage(), dto.getIsbn(), null, 0))
+                    .collect(Collectors.toList());
+
+            for (int from = 0; from < toSave.size(); from += 1000) {
+                toSave.subList(from, Math.min(from + 1000, toSave.size())).forEach(entityManager::persist);
+                entityManager.flush();
+                entityManager.clear();
+            }
+        });
+    }
+
+    private List<BookDTO> apiResults() {
+        return IntStream.range(0, ROWS)
+                .mapToObj(i -> new BookDTO(null, "벤치마크 도서 " + i, "저자 " + i, "벤치마크용 도서 설명 " + i,
+                        "https://image.example/" + i, ISBN_PREFIX + i, null, 0))
+                .toList();
+    }
+
+    private long measure(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+}
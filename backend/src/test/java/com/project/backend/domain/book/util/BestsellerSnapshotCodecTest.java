@@ -0,0 +1,66 @@
+package com.project.backend.domain.book.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 베스트셀러 스냅샷 인코딩 테스트
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+class BestsellerSnapshotCodecTest {
+
+    private final List<Long> previous = LongStream.rangeClosed(1, 100).map(i -> 10_000 + i * 37).boxed().toList();
+
+    @Test
+    @DisplayName("키프레임은 인코딩 전과 같은 순서로 풀림")
+    void keyframeRoundTrip() {
+        byte[] payload = BestsellerSnapshotCodec.encodeKeyframe(previous);
+
+        assertThat(BestsellerSnapshotCodec.decodeKeyframe(payload)).isEqualTo(previous);
+    }
+
+    @Test
+    @DisplayName("순위가 그대로면 델타는 몇 바이트")
+    void unchangedDelta() {
+        byte[] payload = BestsellerSnapshotCodec.encodeDelta(previous, previous);
+
+        assertThat(payload.length).isLessThanOrEqualTo(3);
+        assertThat(BestsellerSnapshotCodec.decodeDelta(previous, payload)).isEqualTo(previous);
+    }
+
+    @Test
+    @DisplayName("새 도서가 진입해 뒤 순위가 밀려도 토큰 몇 개로 인코딩")
+    void insertionDelta() {
+        List<Long> current = new ArrayList<>(previous.subList(0, 99));
+        current.add(4, 999_999L);
+
+        byte[] payload = BestsellerSnapshotCodec.encodeDelta(previous, current);
+
+        assertThat(payload.length).isLessThan(16);
+        assertThat(BestsellerSnapshotCodec.decodeDelta(previous, payload)).isEqualTo(current);
+    }
+
+    @Test
+    @DisplayName("순서가 크게 바뀌고 빈 순위가 있어도 그대로 풀림")
+    void shuffledDeltaWithGaps() {
+        List<Long> current = new ArrayList<>(previous);
+        Collections.shuffle(current, new Random(13));
+        current.set(10, 0L);
+        current.set(50, 123L);
+        current.add(0L);
+
+        byte[] payload = BestsellerSnapshotCodec.encodeDelta(previous, current);
+
+        assertThat(BestsellerSnapshotCodec.decodeDelta(previous, payload)).isEqualTo(current);
+    }
+}
@@ -0,0 +1,161 @@
+package com.project.backend.domain.review.comment.service;
+
+import com.project.backend.domain.member.entity.Member;
+import com.project.backend.domain.review.comment.dto.ReviewCommentDto;
+import com.project.backend.domain.review.comment.entity.ReviewComment;
+import com.project.backend.domain.review.review.entity.Review;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 댓글 목록 조회 모델 테스트
+ * 댓글, 대댓글, 추천 수가 늘어나도 조회 쿼리 수가 늘지 않는지 Hibernate 통계로 확인
+ *
+ * @author 정재익
+ * @since 25.03.13
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@Import(ReviewCommentThreadReader.class)
+class ReviewCommentThreadReaderTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReviewCommentThreadReader reviewCommentThreadReader;
+
+    private Statistics statistics;
+    private int memberSequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("댓글 트리가 커져도 조회 쿼리 수는 같음")
+    void queryCountIsConstant() {
+        long small = countQueries(thread(2, 1, 1));
+        long large = countQueries(thread(20, 5, 4));
+
+        assertThat(small).isEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    @DisplayName("대댓글, 대댓글 수, 추천 수를 함께 채움")
+    void assemblesTree() {
+        Long reviewId = thread(3, 2, 2);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ReviewCommentDto> comments = reviewCommentThreadReader.findThread(reviewId);
+
+        assertThat(comments).hasSize(3);
+        assertThat(comments).allSatisfy(comment -> {
+            assertThat(comment.getParentId()).isNull();
+            assertThat(comment.getReplyCount()).isEqualTo(2);
+            assertThat(comment.getRecommendCount()).isEqualTo(2);
+            assertThat(comment.getReplies()).allSatisfy(reply -> {
+                assertThat(reply.getParentId()).isEqualTo(comment.getId());
+                assertThat(reply.getRecommend()).hasSize(2);
+            });
+        });
+    }
+
+    @Test
+    @DisplayName("최상위 댓글 요약은 댓글 수와 상관없이 쿼리 3번, 대댓글은 앞쪽 일부만 담음")
+    void topLevelSummary() {
+        Long reviewId = thread(20, 5, 4);
+        List<Long> commentIds = topLevelIds(reviewId);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Map<Long, ReviewCommentDto> comments = reviewCommentThreadReader.findTopLevel(commentIds, 3);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(comments).hasSize(20);
+        assertThat(comments.values()).allSatisfy(comment -> {
+            assertThat(comment.getReplyCount()).isEqualTo(5);
+            assertThat(comment.getReplies()).hasSize(3);
+            assertThat(comment.getRecommend()).isEmpty();
+        });
+    }
+
+    private long countQueries(Long reviewId) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        reviewCommentThreadReader.findThread(reviewId);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Long> topLevelIds(Long reviewId) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT c.id FROM ReviewComment c WHERE c.review.id = :reviewId AND c.parent IS NULL", Long.class)
+                .setParameter("reviewId", reviewId)
+                .getResultList();
+    }
+
+    /**
+     * 댓글 comments개, 댓글마다 대댓글 replies개, 모든 댓글에 추천 recommenders개인 리뷰 생성
+     */
+    private Long thread(int comments, int replies, int recommenders) {
+        Member author = member();
+        Set<Member> recommend = new HashSet<>();
+        for (int i = 0; i < recommenders; i++) {
+            recommend.add(member());
+        }
+
+        Review review = entityManager.persist(
+                new Review(null, 1L, author.getId(), "리뷰", 8, new ArrayList<>(), new ArrayList<>(), false));
+
+        for (int i = 0; i < comments; i++) {
+            ReviewComment comment = entityManager.persist(comment(review, null, recommend));
+            for (int j = 0; j < replies; j++) {
+                entityManager.persist(comment(review, comment, recommend));
+            }
+        }
+        return review.getId();
+    }
+
+    private ReviewComment comment(Review review, ReviewComment parent, Set<Member> recommend) {
+        return new ReviewComment(null, review, review.getUserId(), "댓글", parent, parent == null ? 0 : 1,
+                new HashSet<>(recommend), false, new ArrayList<>());
+    }
+
+    private Member member() {
+        int sequence = ++memberSequence;
+        return entityManager.persist(Member.builder()
+                .username("member" + sequence)
+                .email("member" + sequence + "@test.com")
+                .nickname("회원" + sequence)
+                .build());
+    }
+}